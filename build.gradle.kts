@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,8 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,13 +34,41 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark tasks (./gradlew jmh)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(3)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// 포인트 내역 저장소 메모리 사용량 비교 (./gradlew historyFootprint -Pentries=10000000)
+tasks.register<JavaExec>("historyFootprint") {
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.benchmark.HistoryFootprint")
+    args(project.findProperty("entries")?.toString() ?: "10000000")
+    jvmArgs("-Xmx6g", "-XX:+UseParallelGC")
+}
+
+// 잔액 저장소 사용자당 메모리 사용량 비교 (./gradlew balanceFootprint -Pusers=10000000)
+tasks.register<JavaExec>("balanceFootprint") {
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.benchmark.BalanceFootprint")
+    args(project.findProperty("users")?.toString() ?: "10000000")
+    jvmArgs("-Xmx4g", "-XX:+UseParallelGC")
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
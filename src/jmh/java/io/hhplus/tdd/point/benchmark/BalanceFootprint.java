@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.repository.PrimitivePointRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 잔액 저장소의 사용자당 메모리 사용량 비교.
+ * - table : UserPointTable 과 같은 HashMap&lt;Long, UserPoint&gt;
+ * - primitive : PrimitivePointRepository (UserBalanceMap). 미리 크기를 정하지 않고 두 배씩 늘린 경우이다.
+ * 실행 : ./gradlew balanceFootprint -Pusers=10000000
+ */
+public class BalanceFootprint {
+
+    public static void main(String[] args) {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        long now = System.currentTimeMillis();
+
+        long before = usedHeap();
+        Map<Long, UserPoint> table = new HashMap<>();
+        for (long id = 1; id <= users; id++) {
+            table.put(id, new UserPoint(id, id % 10_000, now));
+        }
+        long tableBytes = usedHeap() - before;
+        report("table", users, tableBytes, table.size());
+        table = null;
+
+        before = usedHeap();
+        PrimitivePointRepository primitive = new PrimitivePointRepository(new PointRepositoryImpl(0));
+        for (long id = 1; id <= users; id++) {
+            primitive.insertOrUpdate(id, id % 10_000);
+        }
+        long primitiveBytes = usedHeap() - before;
+        report("primitive", users, primitiveBytes, primitive.size());
+        System.out.printf("primitive/table = %.2f%n", (double) primitiveBytes / tableBytes);
+    }
+
+    private static void report(String name, int users, long bytes, int reachable) {
+        System.out.printf("%-9s users=%,d heap=%,d MB bytes/user=%.1f (%d)%n",
+                name, users, bytes / (1024 * 1024), (double) bytes / users, reachable);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
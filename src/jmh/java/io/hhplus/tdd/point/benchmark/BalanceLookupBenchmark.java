@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.repository.PrimitivePointRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 수별 잔액 조회 지연 시간 비교 벤치마크.
+ * - table : UserPointTable 과 같은 HashMap&lt;Long, UserPoint&gt; 조회 (테이블의 무작위 지연은 제외한다)
+ * - primitive : PrimitivePointRepository.selectById (읽기 락 + UserBalanceMap 조회 + 반환할 UserPoint 생성)
+ * - 무작위 사용자를 조회하므로 사용자가 많아 캐시에 담기지 않으면 메모리 접근 지연이 함께 측정된다.
+ * - 사용자당 메모리는 BalanceFootprint 로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class BalanceLookupBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int userCount;
+
+    @Param({"table", "primitive"})
+    public String store;
+
+    private Map<Long, UserPoint> table;
+    private PrimitivePointRepository primitive;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        if ("table".equals(store)) {
+            table = new HashMap<>();
+            for (long id = 1; id <= userCount; id++) {
+                table.put(id, new UserPoint(id, id % 10_000, now));
+            }
+        } else {
+            primitive = new PrimitivePointRepository(new PointRepositoryImpl(0));
+            for (long id = 1; id <= userCount; id++) {
+                primitive.insertOrUpdate(id, id % 10_000);
+            }
+        }
+    }
+
+    @Benchmark
+    public long selectById() {
+        long id = ThreadLocalRandom.current().nextLong(1, userCount + 1);
+        return table != null ? table.get(id).point() : primitive.selectById(id).point();
+    }
+}
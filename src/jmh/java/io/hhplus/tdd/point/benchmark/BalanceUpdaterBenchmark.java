@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.hhplus.tdd.point.repository.PointShardRing;
+import io.hhplus.tdd.point.repository.ShardedPointRepository;
+import io.hhplus.tdd.point.service.BalanceUpdater;
+import io.hhplus.tdd.point.service.CoalescingBalanceUpdater;
+import io.hhplus.tdd.point.service.LockingBalanceUpdater;
+import io.hhplus.tdd.point.service.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.service.PointMetrics;
+import io.hhplus.tdd.point.service.RingBufferBalanceUpdater;
+import io.hhplus.tdd.point.service.ShardedBalanceUpdater;
+import io.hhplus.tdd.point.service.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 락(lock), 낙관적 갱신(optimistic), 요청 묶음 처리(coalescing), 샤드별 단일 스레드(sharded),
+ * 고리 버퍼 단일 작성 스레드(ring)의 충전 처리량 비교 벤치마크.
+ * - sharded 는 shardCount 개의 샤드로 나눈다. 다른 모드에서는 shardCount 를 사용하지 않으므로 샤드 수별 비교는
+ *   -p mode=sharded -p shardCount=1,2,4,8 처럼 따로 실행한다.
+ * - 경합 정도는 요청이 분산되는 사용자 수(userCount)로 조절한다. 1 이면 모든 스레드가 한 사용자에 몰린다.
+ * - 내역 저장 비용을 제외하기 위해 BalanceUpdater 를 직접 호출한다.
+ * - 요청당 할당량과 GC 빈도는 -prof gc 로 함께 측정한다. (gc.alloc.rate.norm, gc.count)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public abstract class BalanceUpdaterBenchmark {
+
+    @Param({"lock", "optimistic", "coalescing", "sharded", "ring"})
+    public String mode;
+
+    @Param({"8"})
+    public int shardCount;
+
+    @Param({"1", "16", "10000"})
+    public int userCount;
+
+    private BalanceUpdater balanceUpdater;
+    private ShardedBalanceUpdater shardedBalanceUpdater;
+    private RingBufferBalanceUpdater ringBufferBalanceUpdater;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryPointRepository pointRepository = new InMemoryPointRepository();
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        balanceUpdater = switch (mode) {
+            case "optimistic" -> new OptimisticBalanceUpdater(pointRepository, pointMetrics, Integer.MAX_VALUE); // 재시도 거절 없이 처리량만 측정한다.
+            case "coalescing" -> new CoalescingBalanceUpdater(pointRepository, new UserLockManager(false), pointMetrics, 256);
+            case "sharded" -> shardedBalanceUpdater = createSharded(pointMetrics);
+            case "ring" -> ringBufferBalanceUpdater = new RingBufferBalanceUpdater(pointRepository, 1024, 256);
+            default -> new LockingBalanceUpdater(pointRepository, new UserLockManager(false), pointMetrics);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (shardedBalanceUpdater != null) {
+            shardedBalanceUpdater.shutdown();
+        }
+        if (ringBufferBalanceUpdater != null) {
+            ringBufferBalanceUpdater.shutdown();
+        }
+    }
+
+    @Benchmark
+    public UserPoint chargePoint() {
+        long id = ThreadLocalRandom.current().nextInt(userCount);
+        return balanceUpdater.update(id, point -> point + 1, userPoint -> {});
+    }
+
+    private ShardedBalanceUpdater createSharded(PointMetrics pointMetrics) {
+        PointShardRing ring = new PointShardRing(shardCount);
+        List<PointRepository> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new InMemoryPointRepository());
+        }
+        return new ShardedBalanceUpdater(new ShardedPointRepository(ring, shards), ring, pointMetrics, 10_000);
+    }
+
+    @Threads(8)
+    public static class EightThreads extends BalanceUpdaterBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends BalanceUpdaterBenchmark {
+    }
+}
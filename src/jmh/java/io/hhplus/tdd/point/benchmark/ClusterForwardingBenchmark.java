@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.cluster.PointCluster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 클러스터 요청 전달 비용 벤치마크.
+ * - 같은 프로세스에 두 노드를 띄우고, 모든 요청을 첫 번째 노드로 보낸다.
+ * - local: 첫 번째 노드가 담당하는 사용자 조회, forwarded: 두 번째 노드가 담당해 한 번 전달되는 사용자 조회
+ * - 두 결과의 차이가 전달 한 번(요청 본문 복사와 노드 간 HTTP 왕복)의 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+public class ClusterForwardingBenchmark {
+
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+    private HttpClient httpClient;
+    private HttpRequest localRequest;
+    private HttpRequest forwardedRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int firstPort = freePort();
+        int secondPort = freePort();
+        List<String> nodes = List.of("http://localhost:" + firstPort, "http://localhost:" + secondPort);
+        first = start(firstPort, nodes);
+        second = start(secondPort, nodes);
+
+        PointCluster cluster = first.getBean(PointCluster.class);
+        long localId = LongStream.range(1, 1_000).filter(cluster::isLocal).findFirst().orElseThrow();
+        long remoteId = LongStream.range(1, 1_000).filter(id -> !cluster.isLocal(id)).findFirst().orElseThrow();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        localRequest = HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/" + localId)).GET().build();
+        forwardedRequest = HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/" + remoteId)).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        first.close();
+        second.close();
+    }
+
+    @Benchmark
+    public String local() throws IOException, InterruptedException {
+        return httpClient.send(localRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String forwarded() throws IOException, InterruptedException {
+        return httpClient.send(forwardedRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private ConfigurableApplicationContext start(int port, List<String> nodes) {
+        return new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=" + port,
+                        "point.cluster.enabled=true",
+                        "point.cluster.self=http://localhost:" + port,
+                        "point.cluster.nodes=" + String.join(",", nodes))
+                .run();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
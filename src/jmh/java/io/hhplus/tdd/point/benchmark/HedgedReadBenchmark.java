@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.HedgingPointRepository;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 조회 지연 시간 분포 벤치마크.
+ * - table: 캐시를 끈 PointRepositoryImpl 로 매 조회가 UserPointTable 의 무작위 지연(0~200ms 균등 분포)을 그대로 겪도록 한다.
+ * - long-tail: 대부분 1~5ms 에 끝나고 2% 의 조회만 200ms 가 걸리는, 꼬리가 긴 저장소를 흉내 낸다.
+ * - hedge 가 off 이면 그대로 조회하고, 숫자이면 최근 지연 시간의 그 백분위수만큼 기다린 뒤 두 번째 조회를 보낸다.
+ * - SampleTime 모드의 p0.99 값으로 꼬리 지연을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+public class HedgedReadBenchmark {
+
+    private static final int USER_COUNT = 1_000;
+
+    @Param({"table", "long-tail"})
+    public String storage;
+
+    @Param({"off", "0.95", "0.5"})
+    public String hedge;
+
+    private PointRepository pointRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointRepository storageRepository = "table".equals(storage)
+                ? new PointRepositoryImpl(0)
+                : new LongTailPointRepository();
+        pointRepository = "off".equals(hedge)
+                ? storageRepository
+                : new HedgingPointRepository(storageRepository, Double.parseDouble(hedge), 100);
+    }
+
+    @Benchmark
+    public UserPoint selectById() {
+        return pointRepository.selectById(ThreadLocalRandom.current().nextLong(USER_COUNT));
+    }
+
+    /**
+     * 조회의 2% 만 200ms 가 걸리는 저장소
+     */
+    static class LongTailPointRepository extends InMemoryPointRepository {
+
+        @Override
+        public UserPoint selectById(long id) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delayMicros = random.nextDouble() < 0.02 ? 200_000 : random.nextLong(1_000, 5_000);
+            try {
+                TimeUnit.MICROSECONDS.sleep(delayMicros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.selectById(id);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.repository.PointHistoryIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 포인트 내역 저장소의 메모리 사용량 비교.
+ * - table : PointHistoryTable 과 같은 PointHistory 목록 + 사용자별 색인(PointHistoryIndex). 현재 기본 저장소의 구조이다.
+ * - columnar : ColumnarPointHistoryStore
+ * 실행 : ./gradlew historyFootprint -Pentries=10000000
+ */
+public class HistoryFootprint {
+
+    private static final int USER_COUNT = 100_000;
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        long[] userIds = new long[entries];
+        for (int i = 0; i < entries; i++) {
+            userIds[i] = ThreadLocalRandom.current().nextLong(USER_COUNT);
+        }
+
+        long before = usedHeap();
+        List<PointHistory> table = new ArrayList<>();
+        PointHistoryIndex index = new PointHistoryIndex();
+        for (int i = 0; i < entries; i++) {
+            PointHistory pointHistory = new PointHistory(i + 1L, userIds[i], 100L, TransactionType.CHARGE, i);
+            table.add(pointHistory);
+            index.add(pointHistory);
+        }
+        long tableBytes = usedHeap() - before;
+        report("table", entries, tableBytes, table.size() + index.findAllByUserId(0).size());
+        table = null;
+        index = null;
+
+        before = usedHeap();
+        ColumnarPointHistoryStore columnar = new ColumnarPointHistoryStore();
+        for (int i = 0; i < entries; i++) {
+            columnar.insert(userIds[i], 100L, TransactionType.CHARGE, i);
+        }
+        long columnarBytes = usedHeap() - before;
+        report("columnar", entries, columnarBytes, columnar.size());
+        System.out.printf("columnar/table = %.2f%n", (double) columnarBytes / tableBytes);
+    }
+
+    private static void report(String name, int entries, long bytes, int reachable) {
+        System.out.printf("%-8s entries=%,d heap=%,d MB bytes/entry=%.1f (%d)%n",
+                name, entries, bytes / (1024 * 1024), (double) bytes / entries, reachable);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
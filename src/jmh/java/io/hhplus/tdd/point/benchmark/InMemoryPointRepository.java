@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryIndex;
+import io.hhplus.tdd.point.repository.PointLeaderboard;
+import io.hhplus.tdd.point.repository.PointRepository;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블의 지연(throttle) 없이 동작하는 벤치마크용 저장소.
+ * 락과 자료구조 자체의 비용만 측정하기 위해 사용한다.
+ */
+public class InMemoryPointRepository implements PointRepository {
+
+    private final ConcurrentHashMap<Long, UserPoint> userPoints = new ConcurrentHashMap<>();
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointLeaderboard pointLeaderboard = new PointLeaderboard();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        userPoints.put(id, userPoint);
+        pointLeaderboard.update(id, amount);
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = userPoints.get(id);
+        return userPoint == null ? UserPoint.empty(id) : userPoint;
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return pointHistoryIndex.findAllByUserId(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return pointHistoryIndex.find(id, query);
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), id, amount, type, updateMillis);
+        pointHistoryIndex.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return pointLeaderboard.top(limit);
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return pointLeaderboard.rank(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return pointLeaderboard.countAhead(point, userId);
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PointJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 저널의 레코드 추가 비용 벤치마크.
+ * fsync 정책(none/interval/always)별로 레코드 하나를 추가하는 평균 시간을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointJournalBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    @Param({"none", "interval", "always"})
+    public String fsync;
+
+    private Path directory;
+    private PointJournal pointJournal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-journal-benchmark");
+        pointJournal = new PointJournal(directory, SEGMENT_SIZE, PointJournal.FsyncPolicy.valueOf(fsync.toUpperCase()), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pointJournal.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void appendHistory() {
+        pointJournal.appendHistory(ThreadLocalRandom.current().nextLong(10_000), 1, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.PointHistoryWriter;
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 주요 메서드의 처리량 벤치마크.
+ * - 테이블 지연이 없는 InMemoryPointRepository 를 사용해 락과 자료구조 비용만 측정한다.
+ * - 스레드 수(1/8/64)는 하위 클래스로, 사용자 ID 분포(uniform/skewed)는 파라미터로 구분한다.
+ * - 결과는 build/results/jmh/results.json 에 저장된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public abstract class PointServiceBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+    private static final long INITIAL_POINT = Long.MAX_VALUE / 4; // 사용 벤치마크 중 잔액이 부족해지지 않도록 충분히 충전해둔다.
+    private static final PointHistoryQuery HISTORY_QUERY = new PointHistoryQuery(null, null, null, null, 20);
+
+    @Param({"uniform", "skewed"})
+    public String distribution;
+
+    private PointService pointService;
+    private PointHistoryWriter pointHistoryWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryPointRepository pointRepository = new InMemoryPointRepository();
+        pointHistoryWriter = new PointHistoryWriter(pointRepository, PointHistoryWriter.DEFAULT_QUEUE_CAPACITY);
+        pointService = PointService.builder(pointRepository)
+                .pointHistoryWriter(pointHistoryWriter)
+                .build();
+        for (long id = 0; id < USER_COUNT; id++) {
+            pointRepository.insertOrUpdate(id, INITIAL_POINT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointHistoryWriter.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint chargePoint() {
+        return pointService.chargePoint(nextUserId(), 1);
+    }
+
+    @Benchmark
+    public UserPoint usePoint() {
+        return pointService.usePoint(nextUserId(), 1);
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistory() {
+        return pointService.getHistory(nextUserId(), HISTORY_QUERY);
+    }
+
+    /**
+     * uniform 은 모든 사용자를 같은 확률로, skewed 는 소수의 사용자에 요청이 몰리도록 고른다.
+     * skewed 는 [0, 1) 난수를 네제곱해 작은 ID 쪽으로 치우치게 만들며, 요청의 절반이 상위 약 6% 사용자에 몰린다.
+     */
+    private long nextUserId() {
+        double random = ThreadLocalRandom.current().nextDouble();
+        if ("skewed".equals(distribution)) {
+            random = random * random * random * random;
+        }
+        return (long) (random * USER_COUNT);
+    }
+
+    @Threads(1)
+    public static class SingleThread extends PointServiceBenchmark {
+    }
+
+    @Threads(8)
+    public static class EightThreads extends PointServiceBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends PointServiceBenchmark {
+    }
+}
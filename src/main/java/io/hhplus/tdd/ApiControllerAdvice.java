@@ -1,12 +1,31 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.domain.DeadlineExceededException;
+import io.hhplus.tdd.point.domain.IdempotencyKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    @ExceptionHandler(value = DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(DeadlineExceededException e) {
+        return ResponseEntity.status(504).body(new ErrorResponse("504", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = IdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyException(IdempotencyKeyException e) {
+        return ResponseEntity.status(422).body(new ErrorResponse("422", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
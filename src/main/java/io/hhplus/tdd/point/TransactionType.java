@@ -5,7 +5,9 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 이체로 보낸 포인트 (보낸 사용자의 내역)
+ * - TRANSFER_IN : 이체로 받은 포인트 (받은 사용자의 내역)
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.repository.PointShardRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * 여러 애플리케이션 노드에 사용자를 나눠 맡기는 클러스터 구성. (point.cluster.enabled=true)
+ * - 노드마다 잔액과 내역을 메모리에 따로 가지므로, 한 사용자의 요청은 항상 같은 노드(담당 노드)에서 처리되어야 한다.
+ * - 설정된 노드 목록으로 consistent hash ring 을 만들어 사용자마다 담당 노드를 정한다.
+ * - 링의 가상 노드는 노드 주소의 해시로 위치를 정하므로, 모든 노드에 같은 주소 집합만 설정하면 순서와 관계없이 같은 담당 노드를 고른다.
+ *   노드를 추가하거나 빼면 그 노드가 가져가거나 내놓는 사용자만 옮겨진다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class PointCluster {
+
+    // 샤드 링과 다른 값을 섞어, 한 노드가 맡은 사용자가 그 노드의 샤드에 고르게 나뉘도록 한다.
+    private static final long RING_SEED = 0x636c7573746572L;
+
+    private final URI self;
+    private final List<URI> nodes;
+    private final PointShardRing ring;
+
+    /**
+     * @param self 이 노드의 주소 (예: http://localhost:8080)
+     * @param nodes 클러스터의 모든 노드 주소. 이 노드도 포함한다.
+     * @param virtualNodes 노드마다 링에 올릴 가상 노드 수
+     */
+    public PointCluster(@Value("${point.cluster.self}") String self,
+                        @Value("${point.cluster.nodes}") List<String> nodes,
+                        @Value("${point.cluster.virtual-nodes:128}") int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("클러스터 노드 목록이 비어있습니다.");
+        }
+        this.self = normalize(self);
+        this.nodes = nodes.stream().map(PointCluster::normalize).toList();
+        if (new HashSet<>(this.nodes).size() != this.nodes.size()) {
+            throw new IllegalArgumentException("클러스터 노드 목록에 중복된 주소가 있습니다.");
+        }
+        if (!this.nodes.contains(this.self)) {
+            throw new IllegalArgumentException("point.cluster.self 는 point.cluster.nodes 에 포함되어야 합니다.");
+        }
+        this.ring = new PointShardRing(this.nodes.stream().mapToLong(PointCluster::addressKey).toArray(), virtualNodes, RING_SEED);
+    }
+
+    /**
+     * 사용자의 담당 노드 주소
+     * @param userId 사용자 ID
+     */
+    public URI ownerOf(long userId) {
+        return nodes.get(ring.shardOf(userId));
+    }
+
+    /**
+     * 이 노드가 사용자의 담당 노드인지 확인한다.
+     * @param userId 사용자 ID
+     */
+    public boolean isLocal(long userId) {
+        return self.equals(ownerOf(userId));
+    }
+
+    public URI self() {
+        return self;
+    }
+
+    public List<URI> nodes() {
+        return nodes;
+    }
+
+    // 노드 주소의 64비트 해시 (FNV-1a). 링이 이 값에서 가상 노드의 위치를 정한다.
+    private static long addressKey(URI address) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : address.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // 끝의 / 유무와 관계없이 같은 주소로 취급한다.
+    private static URI normalize(String address) {
+        String trimmed = address.trim();
+        return URI.create(trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed);
+    }
+}
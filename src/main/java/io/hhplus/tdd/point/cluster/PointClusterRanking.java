@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.dto.PointRankDTO;
+import io.hhplus.tdd.point.dto.UserPointDTO;
+import io.hhplus.tdd.point.service.PointService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 클러스터 전체의 잔액 순위를 계산한다. (point.cluster.enabled=true)
+ * 노드마다 자신이 담당하는 사용자의 잔액만 가지므로, 순위는 모든 노드에 물어 합친다.
+ * - 상위 목록: 노드마다 상위 limit 명을 받아 (잔액 내림차순, 사용자 ID 오름차순)으로 합친 뒤 limit 명을 자른다.
+ * - 사용자 순위: 담당 노드에서 잔액을 읽고, 노드마다 그 잔액보다 앞선 사용자 수를 받아 더한다.
+ * 다른 노드에는 X-Point-Forwarded-By 헤더를 붙여 보내, 받은 노드는 다시 합치지 않고 자신의 결과만 반환한다.
+ * 다른 노드에 보내는 요청은 동시에 보내므로, 응답 시간은 가장 느린 노드의 응답 시간과 비슷하다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class PointClusterRanking {
+
+    private final PointCluster pointCluster;
+    private final PointService pointService;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    public PointClusterRanking(PointCluster pointCluster, PointService pointService, ObjectMapper objectMapper,
+                               @Value("${point.cluster.forward-timeout-ms:3000}") long timeoutMillis) {
+        this.pointCluster = pointCluster;
+        this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * 클러스터 전체에서 잔액이 많은 순으로 상위 사용자를 조회한다.
+     * @param limit 최대 조회 건수 (1 ~ PointService.MAX_LEADERBOARD_SIZE)
+     * @throws IOException 다른 노드의 결과를 받지 못한 경우
+     */
+    public List<PointRank> leaderboard(int limit) throws IOException {
+        List<PointRank> merged = new ArrayList<>(pointService.getLeaderboard(limit)); // 조회 건수는 여기서 검증한다.
+        for (PointRankDTO[] ranks : getFromOthers("/point/leaderboard?limit=" + limit, PointRankDTO[].class)) {
+            for (PointRankDTO rank : ranks) {
+                merged.add(new PointRank(0, rank.getUserId(), rank.getPoint()));
+            }
+        }
+        merged.sort(Comparator.comparingLong(PointRank::point).reversed().thenComparingLong(PointRank::userId));
+        List<PointRank> top = new ArrayList<>(Math.min(limit, merged.size()));
+        for (int i = 0; i < limit && i < merged.size(); i++) {
+            top.add(new PointRank(i + 1, merged.get(i).userId(), merged.get(i).point()));
+        }
+        return top;
+    }
+
+    /**
+     * 클러스터 전체에서 사용자의 잔액 순위를 조회한다.
+     * @param id 사용자 ID
+     * @throws IOException 담당 노드나 다른 노드의 결과를 받지 못한 경우
+     */
+    public PointRank rank(long id) throws IOException {
+        long point = pointCluster.isLocal(id)
+                ? pointService.getPoint(id).point()
+                : join(send(pointCluster.ownerOf(id), "/point/" + id, UserPointDTO.class)).getPoint();
+        long ahead = pointService.countAhead(point, id);
+        for (Long count : getFromOthers("/point/ranks/ahead?point=" + point + "&userId=" + id, Long.class)) {
+            ahead += count;
+        }
+        return new PointRank(ahead + 1, id, point);
+    }
+
+    // 이 노드를 뺀 모든 노드에 같은 요청을 동시에 보내고 모든 응답을 기다린다.
+    private <T> List<T> getFromOthers(String path, Class<T> type) throws IOException {
+        List<CompletableFuture<T>> responses = pointCluster.nodes().stream()
+                .filter(node -> !node.equals(pointCluster.self()))
+                .map(node -> send(node, path, type))
+                .toList();
+        List<T> results = new ArrayList<>(responses.size());
+        for (CompletableFuture<T> response : responses) {
+            results.add(join(response));
+        }
+        return results;
+    }
+
+    private <T> CompletableFuture<T> send(URI node, String path, Class<T> type) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header(PointForwardingFilter.FORWARDED_BY, pointCluster.self().toString())
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new CompletionException(new IOException(
+                        "노드가 순위 조회에 실패했습니다. node=" + node + ", status=" + response.statusCode()));
+            }
+            try {
+                return objectMapper.readValue(response.body(), type);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> response) throws IOException {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.dto.PointOperationDTO;
+import io.hhplus.tdd.point.dto.PointRankDTO;
+import io.hhplus.tdd.point.dto.PointTransferRequestDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 이 노드가 담당하지 않는 사용자의 요청을 담당 노드로 전달하는 필터. (point.cluster.enabled=true)
+ * - /point/{id} 로 시작하는 요청은 경로의 사용자 ID 로, 이체와 일괄 처리 요청은 본문의 사용자 ID 로 담당 노드를 정한다.
+ * - 담당 노드가 자신이면 그대로 처리하고, 아니면 같은 메서드와 본문으로 담당 노드에 보낸 뒤 응답을 그대로 돌려준다.
+ * - 한 요청의 사용자들을 서로 다른 노드가 담당하면 처리하지 않고 400 으로 응답한다.
+ * - 전달한 요청에는 X-Point-Forwarded-By 헤더를 붙이고, 이 헤더가 있는 요청은 다시 전달하지 않는다.
+ *   노드 목록이 잠시 어긋나도 요청이 노드 사이를 계속 돌지 않는다.
+ * - 잔액 순위 조회(/point/leaderboard, /point/{id}/rank)는 한 노드로 전달하지 않고, PointClusterRanking 으로 모든 노드의 결과를 합쳐 응답한다.
+ *   다른 노드의 결과를 받지 못하면 502 로 응답한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class PointForwardingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointForwardingFilter.class);
+    public static final String FORWARDED_BY = "X-Point-Forwarded-By";
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d{1,18})(/.*)?$");
+    private static final Pattern RANK_PATH = Pattern.compile("^/point/(\\d{1,18})/rank$");
+    private static final int DEFAULT_LEADERBOARD_LIMIT = 100; // PointController.leaderboard 의 기본값과 같다.
+    private static final List<String> FORWARDED_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key");
+
+    private final PointCluster pointCluster;
+    private final PointClusterRanking pointClusterRanking;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final Timer forwardedTimer;
+    private final Timer failedTimer;
+
+    public PointForwardingFilter(PointCluster pointCluster, PointClusterRanking pointClusterRanking, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry, @Value("${point.cluster.forward-timeout-ms:3000}") long timeoutMillis) {
+        this.pointCluster = pointCluster;
+        this.pointClusterRanking = pointClusterRanking;
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.forwardedTimer = meterRegistry.timer("point.cluster.forward", "result", "success");
+        this.failedTimer = meterRegistry.timer("point.cluster.forward", "result", "failure");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getHeader(FORWARDED_BY) != null) {
+            filterChain.doFilter(request, response); // 다른 노드가 담당 노드로 보고 전달한 요청
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("GET".equals(request.getMethod()) && ("/point/leaderboard".equals(path) || RANK_PATH.matcher(path).matches())) {
+            writeRanks(request, response, path);
+            return;
+        }
+        byte[] body = null;
+        Set<Long> userIds;
+        Matcher matcher = USER_PATH.matcher(path);
+        if (matcher.matches()) {
+            userIds = Set.of(Long.parseLong(matcher.group(1)));
+        } else if ("POST".equals(request.getMethod()) && ("/point/transfer".equals(path) || "/point/batch".equals(path))) {
+            body = request.getInputStream().readAllBytes();
+            userIds = userIdsOf(path, body);
+        } else {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Set<URI> owners = userIds.stream().map(pointCluster::ownerOf).collect(Collectors.toSet());
+        if (owners.size() > 1) {
+            writeError(response, 400, "서로 다른 노드가 담당하는 사용자를 한 요청에서 처리할 수 없습니다.");
+            return;
+        }
+        URI owner = owners.isEmpty() ? pointCluster.self() : owners.iterator().next();
+        HttpServletRequest local = body == null ? request : new CachedBodyRequest(request, body);
+        if (owner.equals(pointCluster.self())) {
+            filterChain.doFilter(local, response);
+            return;
+        }
+        forward(local, response, owner);
+    }
+
+    /**
+     * 본문에서 요청 대상 사용자 ID 를 꺼낸다. 본문을 읽을 수 없으면 이 노드에서 처리해 컨트롤러가 오류를 응답하도록 빈 집합을 반환한다.
+     */
+    private Set<Long> userIdsOf(String path, byte[] body) {
+        try {
+            if ("/point/transfer".equals(path)) {
+                PointTransferRequestDTO transfer = objectMapper.readValue(body, PointTransferRequestDTO.class);
+                return Set.of(transfer.getFromUserId(), transfer.getToUserId());
+            }
+            PointOperationDTO[] operations = objectMapper.readValue(body, PointOperationDTO[].class);
+            return Arrays.stream(operations).map(PointOperationDTO::getUserId).collect(Collectors.toCollection(HashSet::new));
+        } catch (IOException | RuntimeException e) {
+            return Set.of();
+        }
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, URI owner) throws IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        String query = request.getQueryString();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query)))
+                .timeout(timeout)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_BY, pointCluster.self().toString());
+        for (String name : FORWARDED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.header(name, value);
+            }
+        }
+        long start = System.nanoTime();
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.warn("담당 노드에 요청을 전달하지 못했습니다. owner={}, path={}", owner, request.getRequestURI(), e);
+            writeError(response, 502, "담당 노드에 요청을 전달하지 못했습니다.");
+            return;
+        }
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        try (InputStream in = forwarded.body()) {
+            in.transferTo(response.getOutputStream()); // 내역 스트림처럼 긴 응답도 메모리에 모으지 않고 흘려보낸다.
+        }
+        forwardedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 모든 노드의 순위를 합쳐 응답한다. 응답 형식은 PointController 의 leaderboard, rank 와 같다.
+     */
+    private void writeRanks(HttpServletRequest request, HttpServletResponse response, String path) throws IOException {
+        Object ranks;
+        try {
+            Matcher rank = RANK_PATH.matcher(path);
+            if (rank.matches()) {
+                ranks = toPointRankDTO(pointClusterRanking.rank(Long.parseLong(rank.group(1))));
+            } else {
+                String limit = request.getParameter("limit");
+                ranks = pointClusterRanking.leaderboard(limit == null ? DEFAULT_LEADERBOARD_LIMIT : Integer.parseInt(limit)).stream()
+                        .map(PointForwardingFilter::toPointRankDTO)
+                        .toList();
+            }
+        } catch (IllegalArgumentException e) {
+            writeError(response, 400, e.getMessage());
+            return;
+        } catch (IOException e) {
+            log.warn("다른 노드의 잔액 순위를 받지 못했습니다. path={}", path, e);
+            writeError(response, 502, "다른 노드의 잔액 순위를 받지 못했습니다.");
+            return;
+        }
+        response.setStatus(200);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(ranks));
+    }
+
+    private static PointRankDTO toPointRankDTO(PointRank pointRank) {
+        return new PointRankDTO(pointRank.rank(), pointRank.userId(), pointRank.point());
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(new ErrorResponse(String.valueOf(status), message)));
+    }
+
+    /**
+     * 담당 노드를 정하려고 먼저 읽은 본문을 컨트롤러가 다시 읽을 수 있도록 보관하는 요청
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("비동기 읽기는 지원하지 않습니다.");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package io.hhplus.tdd.point.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointRank;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.dto.PointHistoryDTO;
+import io.hhplus.tdd.point.dto.PointOperationDTO;
+import io.hhplus.tdd.point.dto.PointOperationResultDTO;
+import io.hhplus.tdd.point.dto.PointRankDTO;
+import io.hhplus.tdd.point.dto.PointStatsDTO;
+import io.hhplus.tdd.point.dto.PointTransferDTO;
+import io.hhplus.tdd.point.dto.PointTransferRequestDTO;
 import io.hhplus.tdd.point.dto.UserPointDTO;
+import io.hhplus.tdd.point.service.IdempotencyCache;
 import io.hhplus.tdd.point.service.PointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
@@ -17,64 +36,210 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
     private final PointService pointService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache idempotencyCache;
 
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, ObjectMapper objectMapper, IdempotencyCache idempotencyCache) {
         this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.idempotencyCache = idempotencyCache;
     }
     /**
      * 특정 유저의 포인트를 조회하는 기능
+     * 조회는 비동기 실행기에서 처리되고, 요청 스레드는 결과를 기다리지 않고 반환된다.
      * @param id 사용자 ID
      * @return 사용자의 포인트 정보 반환
      */
     @GetMapping("{id}")
-    public UserPointDTO point(
+    public CompletableFuture<UserPointDTO> point(
             @PathVariable long id
     ) {
-        UserPoint userPoint = pointService.getPoint(id);
-        return new UserPointDTO(userPoint.id(), userPoint.point(), userPoint.updateMillis());
+        return pointService.getPointAsync(id).thenApply(this::toUserPointDTO);
     }
 
     /**
      * 특정 유저의 포인트 충전/이용 내역을 조회하는 기능
+     * 조건을 지정하지 않으면 전체 내역을 반환한다. 다음 페이지는 마지막 내역의 id 를 afterId 로 전달해 조회한다.
      * @param id 사용자 ID
+     * @param limit 최대 조회 건수
+     * @param afterId 이 ID 이후의 내역만 조회 (커서)
+     * @param from 이 시간(millis) 이후의 내역만 조회
+     * @param to 이 시간(millis) 이전의 내역만 조회
+     * @param type 거래 유형 (CHARGE/USE/TRANSFER_OUT/TRANSFER_IN)
      * @return 사용자의 포인트 충전/이용 내역 반환
      */
     @GetMapping("{id}/histories")
-    public List<PointHistoryDTO> history(
-            @PathVariable long id
+    public CompletableFuture<List<PointHistoryDTO>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
     ) {
-        return pointService.getHistory(id).stream()
+        PointHistoryQuery query = new PointHistoryQuery(afterId, from, to, type, limit);
+        return pointService.getHistoryAsync(id, query).thenApply(histories -> histories.stream()
                 .map(history -> new PointHistoryDTO(history.id(), history.userId(), history.amount(), history.type(), history.updateMillis()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 특정 유저의 포인트 거래 집계(충전/사용 합계, 유형별 거래 수, 첫/마지막 거래 시간)를 조회하는 기능
+     * 집계는 내역이 저장될 때 함께 갱신되므로 내역 전체를 다시 읽지 않는다.
+     * @param id 사용자 ID
+     * @return 사용자의 포인트 거래 집계 반환
+     */
+    @GetMapping("{id}/stats")
+    public CompletableFuture<PointStatsDTO> stats(
+            @PathVariable long id
+    ) {
+        return pointService.getStatsAsync(id).thenApply(stats -> new PointStatsDTO(stats.userId(), stats.totalCharged(),
+                stats.totalUsed(), stats.totalTransferredIn(), stats.totalTransferredOut(), stats.counts(),
+                stats.firstActivityMillis(), stats.lastActivityMillis()));
+    }
+
+    /**
+     * 잔액이 많은 순으로 상위 유저를 조회하는 기능
+     * @param limit 최대 조회 건수 (기본 100)
+     * @return 잔액 순위 목록 반환
+     */
+    @GetMapping("leaderboard")
+    public CompletableFuture<List<PointRankDTO>> leaderboard(
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return pointService.getLeaderboardAsync(limit).thenApply(ranks -> ranks.stream()
+                .map(this::toPointRankDTO)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 특정 유저의 잔액 순위를 조회하는 기능
+     * @param id 사용자 ID
+     * @return 사용자의 잔액 순위 반환
+     */
+    @GetMapping("{id}/rank")
+    public CompletableFuture<PointRankDTO> rank(
+            @PathVariable long id
+    ) {
+        return pointService.getRankAsync(id).thenApply(this::toPointRankDTO);
+    }
+
+    /**
+     * 잔액 순위에서 (point, userId) 보다 앞선 유저 수를 조회하는 기능
+     * 클러스터에서 노드마다 구한 값을 더해 전체 순위를 계산할 때 사용한다.
+     * @param point 잔액
+     * @param userId 사용자 ID
+     * @return 이 노드에서 앞선 유저 수 반환
+     */
+    @GetMapping("ranks/ahead")
+    public long countAhead(
+            @RequestParam long point,
+            @RequestParam long userId
+    ) {
+        return pointService.countAhead(point, userId);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 전체를 NDJSON(한 줄에 하나의 JSON)으로 내보내는 기능
+     * 내역을 페이지 단위로 읽으면서 바로 응답에 쓰기 때문에 내역이 많아도 메모리 사용량이 일정하다.
+     * @param id 사용자 ID
+     * @return 사용자의 포인트 충전/이용 내역 스트림 반환
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historyStream(
+            @PathVariable long id
+    ) {
+        Stream<PointHistory> histories = pointService.streamHistory(id); // 사용자 검증은 응답을 쓰기 전에 끝낸다.
+        StreamingResponseBody body = outputStream -> {
+            int written = 0;
+            Iterator<PointHistory> iterator = histories.iterator();
+            while (iterator.hasNext()) {
+                PointHistory history = iterator.next();
+                outputStream.write(objectMapper.writeValueAsBytes(new PointHistoryDTO(history.id(), history.userId(), history.amount(), history.type(), history.updateMillis())));
+                outputStream.write('\n');
+                if (++written % PointService.HISTORY_STREAM_PAGE_SIZE == 0) {
+                    outputStream.flush(); // 페이지마다 내보내 첫 바이트가 마지막 내역을 읽기 전에 도착하도록 한다.
+                }
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
      * 특정 유저의 포인트를 충전하는 기능
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 충전하지 않고 처음 결과를 반환한다.
      * @param id 사용자 ID
      * @param amount 충전할 포인트
+     * @param idempotencyKey 재시도를 구분하는 키 (선택)
      * @return 충전 후 사용자의 포인트 정보 반환
      */
     @PatchMapping("{id}/charge")
-    public UserPointDTO charge(
+    public CompletableFuture<UserPointDTO> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        UserPoint userPoint = pointService.chargePoint(id, amount);
-        return new UserPointDTO(userPoint.id(), userPoint.point(), userPoint.updateMillis());
+        return idempotencyCache.execute(idempotencyKey, id, TransactionType.CHARGE, amount,
+                () -> pointService.chargePointAsync(id, amount)).thenApply(this::toUserPointDTO);
     }
 
     /**
      * 특정 유저의 포인트를 사용하는 기능
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 사용하지 않고 처음 결과를 반환한다.
      * @param id 사용자 ID
      * @param amount 사용할 포인트
+     * @param idempotencyKey 재시도를 구분하는 키 (선택)
      * @return 사용 후 사용자의 포인트 정보 반환
      */
     @PatchMapping("{id}/use")
-    public UserPointDTO use(
+    public CompletableFuture<UserPointDTO> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return idempotencyCache.execute(idempotencyKey, id, TransactionType.USE, amount,
+                () -> pointService.usePointAsync(id, amount)).thenApply(this::toUserPointDTO);
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체하는 기능
+     * 보내는 유저의 차감과 받는 유저의 적립은 함께 반영되며, 잔액이 부족하면 어느 쪽도 반영되지 않는다.
+     * @param request 이체 요청 (fromUserId, toUserId, amount)
+     * @return 이체 후 두 사용자의 포인트 정보 반환
+     */
+    @PostMapping("transfer")
+    public CompletableFuture<PointTransferDTO> transfer(
+            @RequestBody PointTransferRequestDTO request
+    ) {
+        return pointService.transferPointAsync(request.getFromUserId(), request.getToUserId(), request.getAmount())
+                .thenApply(transfer -> new PointTransferDTO(toUserPointDTO(transfer.from()), toUserPointDTO(transfer.to())));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 일괄 처리하는 기능
+     * @param operations 처리할 작업 목록 (userId, type, amount)
+     * @return 요청 순서대로 작업별 처리 결과 반환
+     */
+    @PostMapping("batch")
+    public List<PointOperationResultDTO> batch(
+            @RequestBody List<PointOperationDTO> operations
     ) {
-        UserPoint userPoint = pointService.usePoint(id, amount);
+        List<PointOperation> pointOperations = operations.stream()
+                .map(operation -> new PointOperation(operation.getUserId(), operation.getType(), operation.getAmount()))
+                .collect(Collectors.toList());
+        return pointService.applyBatch(pointOperations).stream()
+                .map(result -> new PointOperationResultDTO(result.userId(), result.type(), result.amount(), result.success(), result.point(), result.updateMillis(), result.message()))
+                .collect(Collectors.toList());
+    }
+
+    private UserPointDTO toUserPointDTO(UserPoint userPoint) {
         return new UserPointDTO(userPoint.id(), userPoint.point(), userPoint.updateMillis());
     }
+
+    private PointRankDTO toPointRankDTO(PointRank pointRank) {
+        return new PointRankDTO(pointRank.rank(), pointRank.userId(), pointRank.point());
+    }
 }
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 요청 처리 기한.
+ * - run 으로 실행한 작업 안에서는 current() 로 기한을 꺼낼 수 있어, 메서드 시그니처를 바꾸지 않고도
+ *   서비스 → 락 대기 → 저장소 조회까지 같은 기한이 전달된다.
+ * - 기한이 지나면 DeadlineExceededException 으로 즉시 실패해, 응답을 기다리는 클라이언트가 없는 요청이 락 뒤에 줄 서지 않도록 한다.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 지금부터 timeout 뒤에 끝나는 기한
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 작업의 기한. 기한 없이 실행 중이면 null 을 반환한다.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드에 기한이 있고 이미 지났으면 DeadlineExceededException 을 던진다.
+     */
+    public static void checkCurrent() {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException();
+        }
+    }
+
+    /**
+     * 이 기한을 현재 스레드에 묶은 상태에서 작업을 실행한다. 이미 기한이 지났으면 실행하지 않는다.
+     * @param action 실행할 작업
+     * @return 작업 결과
+     */
+    public <T> T run(Supplier<T> action) {
+        check();
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
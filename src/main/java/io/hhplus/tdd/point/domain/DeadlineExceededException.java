@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 요청 처리 기한이 지나 작업을 중단했을 때 발생하는 예외
+ */
+public class DeadlineExceededException extends IllegalStateException {
+
+    public DeadlineExceededException() {
+        super("요청 처리 시간이 초과되었습니다.");
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * Idempotency-Key 를 처리할 수 없을 때 발생하는 예외. (키가 너무 길거나, 같은 키로 다른 요청을 보낸 경우)
+ */
+public class IdempotencyKeyException extends IllegalArgumentException {
+
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
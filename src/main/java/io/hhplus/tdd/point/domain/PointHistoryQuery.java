@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 내역 조회 조건. 값이 null 인 조건은 적용하지 않는다.
+ * @param afterId 이 ID 이후의 내역만 조회한다.(커서)
+ * @param from 이 시간(millis) 이후의 내역만 조회한다.(포함)
+ * @param to 이 시간(millis) 이전의 내역만 조회한다.(포함)
+ * @param type 거래 유형
+ * @param limit 최대 조회 건수
+ */
+public record PointHistoryQuery(
+        Long afterId,
+        Long from,
+        Long to,
+        TransactionType type,
+        Integer limit
+) {
+
+    public PointHistoryQuery {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("조회 건수는 0보다 커야 합니다.");
+        }
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("조회 시작 시간은 종료 시간보다 클 수 없습니다.");
+        }
+    }
+
+    public static PointHistoryQuery all() {
+        return new PointHistoryQuery(null, null, null, null, null);
+    }
+
+    /**
+     * 커서를 제외한 조건(시간, 거래 유형)에 맞는 내역인지 확인한다.
+     */
+    public boolean matches(PointHistory pointHistory) {
+        return (from == null || pointHistory.updateMillis() >= from)
+                && (to == null || pointHistory.updateMillis() <= to)
+                && (type == null || pointHistory.type() == type);
+    }
+
+    /**
+     * ID 순으로 정렬된 내역에서 조건에 맞는 구간만 골라낸다.
+     */
+    public List<PointHistory> apply(List<PointHistory> histories) {
+        List<PointHistory> result = new ArrayList<>();
+        for (PointHistory pointHistory : histories) {
+            if (limit != null && result.size() >= limit) {
+                break;
+            }
+            if ((afterId == null || pointHistory.id() > afterId) && matches(pointHistory)) {
+                result.add(pointHistory);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 일괄 처리 요청에 포함된 단건 포인트 작업
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
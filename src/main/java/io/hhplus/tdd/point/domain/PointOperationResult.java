@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 일괄 처리 요청의 단건 처리 결과
+ * - 성공 시 point 는 해당 작업이 반영된 직후의 잔액이다.
+ * - 실패 시 message 에 실패 사유가 담긴다.
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        long point,
+        long updateMillis,
+        String message
+) {
+
+    public static PointOperationResult succeeded(PointOperation operation, long point, long updateMillis) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, point, updateMillis, null);
+    }
+
+    public static PointOperationResult failed(PointOperation operation, long point, String message) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, point, 0, message);
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 잔액 순위
+ * @param rank 순위 (1부터 시작, 잔액이 같으면 사용자 ID 가 작은 사용자가 앞선다)
+ * @param userId 사용자 ID
+ * @param point 잔액
+ */
+public record PointRank(
+        long rank,
+        long userId,
+        long point
+) {
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 사용자별 포인트 거래 집계
+ * @param userId 사용자 ID
+ * @param totalCharged 충전한 포인트 합계
+ * @param totalUsed 사용한 포인트 합계
+ * @param totalTransferredIn 이체로 받은 포인트 합계
+ * @param totalTransferredOut 이체로 보낸 포인트 합계
+ * @param counts 거래 유형별 거래 수
+ * @param firstActivityMillis 첫 거래 시간. 거래가 없으면 null
+ * @param lastActivityMillis 마지막 거래 시간. 거래가 없으면 null
+ */
+public record PointStats(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long totalTransferredIn,
+        long totalTransferredOut,
+        Map<TransactionType, Long> counts,
+        Long firstActivityMillis,
+        Long lastActivityMillis
+) {
+
+    public PointStats {
+        counts = Collections.unmodifiableMap(new EnumMap<>(counts));
+    }
+
+    public static PointStats empty(long userId) {
+        Map<TransactionType, Long> counts = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            counts.put(type, 0L);
+        }
+        return new PointStats(userId, 0, 0, 0, 0, counts, null, null);
+    }
+
+    /**
+     * 거래 하나를 반영한 새 집계를 반환한다.
+     */
+    public PointStats plus(long amount, TransactionType type, long updateMillis) {
+        Map<TransactionType, Long> nextCounts = new EnumMap<>(counts);
+        nextCounts.merge(type, 1L, Long::sum);
+        return new PointStats(
+                userId,
+                type == TransactionType.CHARGE ? totalCharged + amount : totalCharged,
+                type == TransactionType.USE ? totalUsed + amount : totalUsed,
+                type == TransactionType.TRANSFER_IN ? totalTransferredIn + amount : totalTransferredIn,
+                type == TransactionType.TRANSFER_OUT ? totalTransferredOut + amount : totalTransferredOut,
+                nextCounts,
+                firstActivityMillis == null ? updateMillis : Math.min(firstActivityMillis, updateMillis),
+                lastActivityMillis == null ? updateMillis : Math.max(lastActivityMillis, updateMillis));
+    }
+
+    public PointStats plus(PointHistory pointHistory) {
+        return plus(pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+}
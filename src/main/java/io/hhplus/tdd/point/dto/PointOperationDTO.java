@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * PointOperationDTO는 일괄 처리 요청의 단건 포인트 작업을 전달하기 위한 데이터 전송 객체
+ */
+public class PointOperationDTO {
+    private long userId;
+    private TransactionType type;
+    private long amount;
+
+    public PointOperationDTO() {
+    }
+
+    public PointOperationDTO(long userId, TransactionType type, long amount) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * PointOperationResultDTO는 일괄 처리 요청의 단건 처리 결과를 전달하기 위한 데이터 전송 객체
+ */
+public class PointOperationResultDTO {
+    private long userId;
+    private TransactionType type;
+    private long amount;
+    private boolean success;
+    private long point;
+    private long updateMillis;
+    private String message;
+
+    public PointOperationResultDTO() {
+    }
+
+    public PointOperationResultDTO(long userId, TransactionType type, long amount, boolean success, long point, long updateMillis, String message) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+        this.success = success;
+        this.point = point;
+        this.updateMillis = updateMillis;
+        this.message = message;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public long getPoint() {
+        return point;
+    }
+
+    public void setPoint(long point) {
+        this.point = point;
+    }
+
+    public long getUpdateMillis() {
+        return updateMillis;
+    }
+
+    public void setUpdateMillis(long updateMillis) {
+        this.updateMillis = updateMillis;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.dto;
+
+/**
+ * PointRankDTO는 사용자 포인트 잔액 순위를 전달하기 위한 데이터 전송 객체
+ */
+public class PointRankDTO {
+    private long rank;
+    private long userId;
+    private long point;
+
+    public PointRankDTO() {
+    }
+
+    public PointRankDTO(long rank, long userId, long point) {
+        this.rank = rank;
+        this.userId = userId;
+        this.point = point;
+    }
+
+    public long getRank() {
+        return rank;
+    }
+
+    public void setRank(long rank) {
+        this.rank = rank;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public long getPoint() {
+        return point;
+    }
+
+    public void setPoint(long point) {
+        this.point = point;
+    }
+}
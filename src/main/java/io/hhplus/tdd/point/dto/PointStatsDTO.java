@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Map;
+
+/**
+ * PointStatsDTO는 사용자 포인트 거래 집계를 전달하기 위한 데이터 전송 객체
+ */
+public class PointStatsDTO {
+    private long userId;
+    private long totalCharged;
+    private long totalUsed;
+    private long totalTransferredIn;
+    private long totalTransferredOut;
+    private Map<TransactionType, Long> counts;
+    private Long firstActivityMillis;
+    private Long lastActivityMillis;
+
+    public PointStatsDTO() {
+    }
+
+    public PointStatsDTO(long userId, long totalCharged, long totalUsed, long totalTransferredIn, long totalTransferredOut,
+                         Map<TransactionType, Long> counts, Long firstActivityMillis, Long lastActivityMillis) {
+        this.userId = userId;
+        this.totalCharged = totalCharged;
+        this.totalUsed = totalUsed;
+        this.totalTransferredIn = totalTransferredIn;
+        this.totalTransferredOut = totalTransferredOut;
+        this.counts = counts;
+        this.firstActivityMillis = firstActivityMillis;
+        this.lastActivityMillis = lastActivityMillis;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public long getTotalCharged() {
+        return totalCharged;
+    }
+
+    public void setTotalCharged(long totalCharged) {
+        this.totalCharged = totalCharged;
+    }
+
+    public long getTotalUsed() {
+        return totalUsed;
+    }
+
+    public void setTotalUsed(long totalUsed) {
+        this.totalUsed = totalUsed;
+    }
+
+    public long getTotalTransferredIn() {
+        return totalTransferredIn;
+    }
+
+    public void setTotalTransferredIn(long totalTransferredIn) {
+        this.totalTransferredIn = totalTransferredIn;
+    }
+
+    public long getTotalTransferredOut() {
+        return totalTransferredOut;
+    }
+
+    public void setTotalTransferredOut(long totalTransferredOut) {
+        this.totalTransferredOut = totalTransferredOut;
+    }
+
+    public Map<TransactionType, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<TransactionType, Long> counts) {
+        this.counts = counts;
+    }
+
+    public Long getFirstActivityMillis() {
+        return firstActivityMillis;
+    }
+
+    public void setFirstActivityMillis(Long firstActivityMillis) {
+        this.firstActivityMillis = firstActivityMillis;
+    }
+
+    public Long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    public void setLastActivityMillis(Long lastActivityMillis) {
+        this.lastActivityMillis = lastActivityMillis;
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.dto;
+
+/**
+ * PointTransferDTO는 포인트 이체 후 두 사용자의 포인트 정보를 전달하기 위한 데이터 전송 객체
+ */
+public class PointTransferDTO {
+    private UserPointDTO from;
+    private UserPointDTO to;
+
+    public PointTransferDTO() {
+    }
+
+    public PointTransferDTO(UserPointDTO from, UserPointDTO to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public UserPointDTO getFrom() {
+        return from;
+    }
+
+    public void setFrom(UserPointDTO from) {
+        this.from = from;
+    }
+
+    public UserPointDTO getTo() {
+        return to;
+    }
+
+    public void setTo(UserPointDTO to) {
+        this.to = to;
+    }
+}
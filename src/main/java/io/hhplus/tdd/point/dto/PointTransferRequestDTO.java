@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.dto;
+
+/**
+ * PointTransferRequestDTO는 포인트 이체 요청을 전달하기 위한 데이터 전송 객체
+ */
+public class PointTransferRequestDTO {
+    private long fromUserId;
+    private long toUserId;
+    private long amount;
+
+    public PointTransferRequestDTO() {
+    }
+
+    public PointTransferRequestDTO(long fromUserId, long toUserId, long amount) {
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.amount = amount;
+    }
+
+    public long getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(long fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
+    public long getToUserId() {
+        return toUserId;
+    }
+
+    public void setToUserId(long toUserId) {
+        this.toUserId = toUserId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+}
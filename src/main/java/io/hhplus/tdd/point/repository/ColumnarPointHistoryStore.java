@@ -0,0 +1,155 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역을 컬럼별 기본형 배열에 저장하는 저장소.
+ * - 내역 하나를 객체로 두지 않고 userId, amount, updateMillis 는 long 배열에, 거래 유형은 byte 배열에 나눠 담는다.
+ *   ID 는 저장 순서(행 번호 + 1)이므로 따로 저장하지 않는다.
+ * - 배열은 CHUNK_SIZE 행 단위 청크로 늘려, 커질 때 전체를 복사하지 않는다.
+ * - 사용자별로 행 번호(int) 목록을 유지해 사용자 내역만 읽고, PointHistory 는 조회 결과로 반환할 때만 만든다.
+ * - 추가는 락 안에서 한 번에 하나씩 하고, 조회는 락 없이 이미 공개된 행만 읽는다.
+ */
+public class ColumnarPointHistoryStore {
+
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserRows> userRows = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size; // 조회에 공개된 행 수. 행을 모두 쓴 뒤에 늘린다.
+
+    /**
+     * 내역을 추가한다.
+     * @return 저장된 포인트 내역
+     */
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        appendLock.lock();
+        try {
+            int row = size;
+            if (row == Integer.MAX_VALUE) {
+                throw new IllegalStateException("저장할 수 있는 내역 수를 넘었습니다.");
+            }
+            Chunk chunk = chunkFor(row);
+            int offset = row & CHUNK_MASK;
+            chunk.userIds[offset] = userId;
+            chunk.amounts[offset] = amount;
+            chunk.updateMillis[offset] = updateMillis;
+            chunk.types[offset] = (byte) type.ordinal();
+            userRows.computeIfAbsent(userId, key -> new UserRows()).add(row);
+            size = row + 1;
+            return new PointHistory(row + 1L, userId, amount, type, updateMillis);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 사용자의 내역을 저장된 순서대로 반환한다.
+     */
+    public List<PointHistory> findAllByUserId(long userId) {
+        return find(userId, PointHistoryQuery.all());
+    }
+
+    /**
+     * 사용자의 내역 중 조건에 맞는 구간만 반환한다. 커서 위치는 이진 탐색으로 찾고, 조건은 기본형 값으로 비교한다.
+     */
+    public List<PointHistory> find(long userId, PointHistoryQuery query) {
+        UserRows rows = userRows.get(userId);
+        if (rows == null) {
+            return List.of();
+        }
+        int count = rows.count; // count 를 먼저 읽어야 그만큼 채워진 배열을 읽는다.
+        int[] rowNumbers = rows.rows;
+        Chunk[] snapshot = chunks;
+        int start = query.afterId() == null ? 0 : indexAfter(rowNumbers, count, query.afterId());
+        int typeOrdinal = query.type() == null ? -1 : query.type().ordinal();
+        List<PointHistory> result = new ArrayList<>();
+        for (int i = start; i < count; i++) {
+            if (query.limit() != null && result.size() >= query.limit()) {
+                break;
+            }
+            int row = rowNumbers[i];
+            Chunk chunk = snapshot[row >>> CHUNK_SHIFT];
+            int offset = row & CHUNK_MASK;
+            long updateMillis = chunk.updateMillis[offset];
+            if ((query.from() != null && updateMillis < query.from())
+                    || (query.to() != null && updateMillis > query.to())
+                    || (typeOrdinal >= 0 && chunk.types[offset] != typeOrdinal)) {
+                continue;
+            }
+            result.add(new PointHistory(row + 1L, userId, chunk.amounts[offset], TYPES[chunk.types[offset]], updateMillis));
+        }
+        return result;
+    }
+
+    /**
+     * 저장된 내역 수
+     */
+    public int size() {
+        return size;
+    }
+
+    private Chunk chunkFor(int row) {
+        int index = row >>> CHUNK_SHIFT;
+        Chunk[] current = chunks;
+        if (index < current.length) {
+            return current[index];
+        }
+        Chunk[] grown = Arrays.copyOf(current, index + 1);
+        grown[index] = new Chunk();
+        chunks = grown;
+        return grown[index];
+    }
+
+    // id 보다 큰 첫 번째 내역의 위치. 행 번호는 오름차순이고 ID 는 행 번호 + 1 이다.
+    private static int indexAfter(int[] rows, int count, long id) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows[mid] + 1L <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Chunk {
+        private final long[] userIds = new long[CHUNK_SIZE];
+        private final long[] amounts = new long[CHUNK_SIZE];
+        private final long[] updateMillis = new long[CHUNK_SIZE];
+        private final byte[] types = new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * 사용자의 행 번호 목록. 추가 락 안에서만 변경한다.
+     */
+    private static final class UserRows {
+        private volatile int[] rows = new int[4];
+        private volatile int count;
+
+        private void add(int row) {
+            int[] current = rows;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                rows = current;
+            }
+            current[count] = row;
+            count = count + 1;
+        }
+    }
+}
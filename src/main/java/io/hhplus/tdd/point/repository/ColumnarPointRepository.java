@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포인트는 기존 저장소에 맡기고, 내역은 ColumnarPointHistoryStore 에 저장하는 PointRepository.
+ * 내역을 객체 목록 대신 기본형 컬럼으로 보관해 내역이 많을 때의 메모리 사용량과 GC 부담을 줄인다. (point.history.store=columnar)
+ */
+public class ColumnarPointRepository implements PointRepository {
+
+    private final PointRepository balanceRepository;
+    private final ColumnarPointHistoryStore historyStore = new ColumnarPointHistoryStore();
+    private final PointStatsIndex pointStatsIndex = new PointStatsIndex();
+
+    public ColumnarPointRepository(PointRepository balanceRepository) {
+        this.balanceRepository = balanceRepository;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return balanceRepository.insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        return balanceRepository.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount);
+    }
+
+    @Override
+    public void restoreBalances(Map<Long, Long> balances) {
+        balanceRepository.restoreBalances(balances);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return balanceRepository.selectById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return historyStore.findAllByUserId(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return historyStore.find(id, query);
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = historyStore.insert(id, amount, type, updateMillis);
+        pointStatsIndex.add(id, amount, type, updateMillis);
+        return pointHistory;
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return pointStatsIndex.find(id);
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return balanceRepository.selectTopByPoint(limit);
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return balanceRepository.selectRankById(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return balanceRepository.countAhead(point, userId);
+    }
+
+    @Override
+    public void close() {
+        balanceRepository.close();
+    }
+}
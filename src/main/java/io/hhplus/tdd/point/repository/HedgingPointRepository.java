@@ -0,0 +1,239 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.DeadlineExceededException;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 조회 요청을 헤징(hedging)하는 PointRepository 데코레이터. (point.hedge.enabled=true)
+ * - 잔액 조회(selectById)가 최근 지연 시간의 백분위수(기본 p95)보다 오래 걸리면 같은 조회를 한 번 더 보내고, 먼저 끝난 결과를 사용한다.
+ * - 조회는 부수 효과가 없으므로 두 번 실행해도 안전하다. 저장(insertOrUpdate, insertHistory)은 헤징하지 않는다.
+ * - 내역 조회는 헤징하지 않는다. 테이블을 거치지 않고 색인에서 읽어 느려질 원인이 없고, 결과가 커서 두 번 읽으면 비용만 늘어난다.
+ * - close 하면 조회 실행기를 종료한다. 진행 중인 조회는 끝까지 실행된다.
+ * - 현재 스레드에 요청 기한(Deadline)이 있으면 기한까지만 기다리고 DeadlineExceededException 으로 실패한다.
+ */
+public class HedgingPointRepository implements PointRepository, MeterBinder {
+
+    private final PointRepository delegate;
+    // 조회는 대부분 대기(sleep, I/O)이므로 스레드 수에 제한이 없는 가상 스레드에서 실행한다.
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyWindow selectByIdLatency;
+
+    public HedgingPointRepository(PointRepository delegate, double percentile, long initialDelayMillis) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("헤징 백분위수는 0과 1 사이여야 합니다.");
+        }
+        this.delegate = delegate;
+        this.selectByIdLatency = new LatencyWindow(percentile, TimeUnit.MILLISECONDS.toNanos(initialDelayMillis));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return delegate.insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        return delegate.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount);
+    }
+
+    @Override
+    public void restoreBalances(Map<Long, Long> balances) {
+        delegate.restoreBalances(balances);
+    }
+
+    @Override
+    public void restoreHistories(List<PointHistory> histories) {
+        delegate.restoreHistories(histories);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return hedge(() -> delegate.selectById(id), selectByIdLatency);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return delegate.selectHistoriesById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return delegate.selectHistoriesById(id, query);
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return delegate.insertHistory(id, amount, type, updateMillis);
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return delegate.selectStatsById(id);
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return delegate.selectTopByPoint(limit);
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return delegate.selectRankById(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return delegate.countAhead(point, userId);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        delegate.close();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindTo(registry, "selectById", selectByIdLatency);
+    }
+
+    private void bindTo(MeterRegistry registry, String method, LatencyWindow latency) {
+        FunctionCounter.builder("point.repository.hedges", latency, LatencyWindow::hedgeCount)
+                .description("지연 시간이 길어 한 번 더 보낸 조회 수")
+                .tag("method", method)
+                .register(registry);
+        Gauge.builder("point.repository.hedge.delay", latency, window -> window.delayNanos() / 1_000_000.0)
+                .description("두 번째 조회를 보내기까지 기다리는 시간(ms)")
+                .tag("method", method)
+                .register(registry);
+    }
+
+    private <T> T hedge(Supplier<T> read, LatencyWindow latency) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            deadline.check();
+        }
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> timed(read, latency), executor);
+        long hedgeDelay = latency.delayNanos();
+        if (deadline != null && deadline.remainingNanos() <= hedgeDelay) {
+            return await(primary, deadline);
+        }
+        try {
+            return primary.get(hedgeDelay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            latency.hedged();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("조회 대기 중 인터럽트가 발생했습니다.", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+        CompletableFuture<T> hedged = CompletableFuture.supplyAsync(() -> timed(read, latency), executor);
+        // 둘 중 하나라도 성공하면 그 결과를 사용하고, 둘 다 실패했을 때만 실패한다.
+        CompletableFuture<T> first = new CompletableFuture<>();
+        primary.whenComplete((result, throwable) -> completeFirst(first, hedged, result, throwable));
+        hedged.whenComplete((result, throwable) -> completeFirst(first, primary, result, throwable));
+        return await(first, deadline);
+    }
+
+    private static <T> void completeFirst(CompletableFuture<T> first, CompletableFuture<T> other, T result, Throwable throwable) {
+        if (throwable == null) {
+            first.complete(result);
+        } else if (other.isCompletedExceptionally()) {
+            first.completeExceptionally(throwable);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future, Deadline deadline) {
+        try {
+            return deadline == null ? future.get() : future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("조회 대기 중 인터럽트가 발생했습니다.", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                ? e.getCause().getCause()
+                : e.getCause();
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(cause);
+    }
+
+    private static <T> T timed(Supplier<T> read, LatencyWindow latency) {
+        long started = System.nanoTime();
+        try {
+            return read.get();
+        } finally {
+            latency.record(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * 최근 조회 지연 시간을 고정 크기 배열에 순환 저장하고, 일정 개수마다 백분위수를 다시 계산한다.
+     */
+    static final class LatencyWindow {
+        private static final int SIZE = 1024;
+        private static final int RECOMPUTE_EVERY = 128;
+
+        private final double percentile;
+        private final long[] samples = new long[SIZE];
+        private final LongAdder hedges = new LongAdder();
+        private long recorded;
+        private volatile long delayNanos;
+
+        LatencyWindow(double percentile, long initialDelayNanos) {
+            this.percentile = percentile;
+            this.delayNanos = initialDelayNanos;
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (recorded++ % SIZE)] = nanos;
+            if (recorded % RECOMPUTE_EVERY == 0) {
+                int count = (int) Math.min(recorded, SIZE);
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                delayNanos = sorted[Math.min(count - 1, (int) (count * percentile))];
+            }
+        }
+
+        long delayNanos() {
+            return delayNanos;
+        }
+
+        void hedged() {
+            hedges.increment();
+        }
+
+        long hedgeCount() {
+            return hedges.sum();
+        }
+    }
+}
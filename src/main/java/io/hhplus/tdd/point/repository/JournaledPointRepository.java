@@ -0,0 +1,205 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointJournal.Entry;
+import io.hhplus.tdd.point.repository.PointJournal.Position;
+import io.hhplus.tdd.point.repository.PointSnapshotter.Snapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 변경을 저널에 먼저 기록한 뒤 저장소에 반영하는 PointRepository 데코레이터. (write-ahead)
+ * 생성될 때 재시작 전의 포인트와 내역을 저장소에 복원한다.
+ * - 스냅샷이 있으면 스냅샷의 포인트와 스냅샷까지의 내역 파일을 불러오고, 스냅샷이 반영한 위치 이후의 저널만 재생한다.
+ * - 스냅샷이 없으면 저널 전체를 재생한다.
+ * - 복원한 포인트와 내역은 restoreBalances, restoreHistories 로 한꺼번에 적재해 건마다 드는 저장소 지연을 피한다.
+ */
+public class JournaledPointRepository implements PointRepository, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(JournaledPointRepository.class);
+
+    private final PointRepository delegate;
+    private final PointJournal pointJournal;
+    private long recoveryMillis;  // 복원에 걸린 시간
+    private long replayedRecords; // 복원할 때 재생한 저널 레코드 수
+
+    public JournaledPointRepository(PointRepository delegate, PointJournal pointJournal) {
+        this(delegate, pointJournal, null);
+    }
+
+    public JournaledPointRepository(PointRepository delegate, PointJournal pointJournal, PointSnapshotter pointSnapshotter) {
+        this.delegate = delegate;
+        this.pointJournal = pointJournal;
+        recover(pointSnapshotter);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        pointJournal.appendBalance(id, amount, System.currentTimeMillis());
+        return delegate.insertOrUpdate(id, amount);
+    }
+
+    /**
+     * 잔액과 이 변경의 내역을 하나의 묶음으로 기록한다. 내역은 작성기가 insertRecordedHistory 로 저장소에 추가한다.
+     */
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount, List<PointOperation> histories) {
+        long updateMillis = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>(histories.size() + 1);
+        entries.add(Entry.balance(id, amount, updateMillis));
+        addHistories(entries, histories, updateMillis);
+        pointJournal.append(entries);
+        return delegate.insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        pointJournal.appendBalances(firstId, firstAmount, secondId, secondAmount, System.currentTimeMillis());
+        return delegate.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount);
+    }
+
+    /**
+     * 두 잔액과 이 변경의 내역을 하나의 묶음으로 기록한다. 이체가 복원될 때 잔액과 이체 내역이 함께 복원된다.
+     */
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount,
+                                              List<PointOperation> histories) {
+        long updateMillis = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>(histories.size() + 2);
+        entries.add(Entry.balance(firstId, firstAmount, updateMillis));
+        entries.add(Entry.balance(secondId, secondAmount, updateMillis));
+        addHistories(entries, histories, updateMillis);
+        pointJournal.append(entries);
+        return delegate.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount);
+    }
+
+    // 복원할 데이터는 이미 저널과 스냅샷에 있으므로 다시 기록하지 않는다.
+    @Override
+    public void restoreBalances(Map<Long, Long> balances) {
+        delegate.restoreBalances(balances);
+    }
+
+    @Override
+    public void restoreHistories(List<PointHistory> histories) {
+        delegate.restoreHistories(histories);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return delegate.selectById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return delegate.selectHistoriesById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return delegate.selectHistoriesById(id, query);
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return delegate.selectStatsById(id);
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return delegate.selectTopByPoint(limit);
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return delegate.selectRankById(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return delegate.countAhead(point, userId);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        pointJournal.appendHistory(id, amount, type, updateMillis);
+        return delegate.insertHistory(id, amount, type, updateMillis);
+    }
+
+    @Override
+    public PointHistory insertRecordedHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return delegate.insertHistory(id, amount, type, updateMillis);
+    }
+
+    public long recoveryMillis() {
+        return recoveryMillis;
+    }
+
+    public long replayedRecords() {
+        return replayedRecords;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.recovery.duration", this, JournaledPointRepository::recoveryMillis)
+                .description("시작할 때 스냅샷과 저널로 데이터를 복원하는 데 걸린 시간")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("point.recovery.replayed.records", this, JournaledPointRepository::replayedRecords)
+                .description("시작할 때 재생한 저널 레코드 수")
+                .register(registry);
+    }
+
+    private static void addHistories(List<Entry> entries, List<PointOperation> histories, long updateMillis) {
+        histories.forEach(history -> entries.add(Entry.history(history.userId(), history.amount(), history.type(), updateMillis)));
+    }
+
+    // 내역 ID 는 저장소가 적재할 때 새로 발급한다.
+    private static PointHistory toHistory(Entry entry) {
+        return new PointHistory(0, entry.userId(), entry.amount(), entry.type(), entry.updateMillis());
+    }
+
+    /**
+     * 포인트는 사용자별 마지막 값만 저장하고, 내역은 기록된 순서대로 모두 추가한다.
+     */
+    private void recover(PointSnapshotter pointSnapshotter) {
+        long start = System.nanoTime();
+        Map<Long, Long> balances = new LinkedHashMap<>();
+        Optional<Snapshot> snapshot = pointSnapshotter == null ? Optional.empty() : pointSnapshotter.latest();
+        snapshot.ifPresent(latest -> latest.balances().forEach(userPoint -> balances.put(userPoint.id(), userPoint.point())));
+        Position from = snapshot.map(Snapshot::position).orElse(Position.START);
+        List<PointHistory> histories = new ArrayList<>();
+        snapshot.ifPresent(latest -> pointSnapshotter.replayHistories(latest.position(), entry -> histories.add(toHistory(entry))));
+        pointJournal.replay(from, null, entry -> {
+            replayedRecords++;
+            switch (entry.kind()) {
+                case BALANCE -> balances.put(entry.userId(), entry.amount());
+                case HISTORY -> histories.add(toHistory(entry));
+            }
+        });
+        delegate.restoreHistories(histories);
+        delegate.restoreBalances(balances);
+        recoveryMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("포인트 데이터를 복원했습니다. snapshot={}, users={}, histories={}, records={}, elapsed={}ms",
+                snapshot.map(Snapshot::position).orElse(null), balances.size(), histories.size(), replayedRecords, recoveryMillis);
+    }
+}
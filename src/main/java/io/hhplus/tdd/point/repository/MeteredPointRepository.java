@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장소 호출마다 소요 시간을 기록하는 PointRepository 데코레이터.
+ * 메트릭 이름은 point.repository 이고, 호출한 메서드는 method 태그로 구분한다.
+ */
+public class MeteredPointRepository implements PointRepository {
+
+    private final PointRepository delegate;
+    private final Timer insertOrUpdateTimer;
+    private final Timer insertOrUpdatePairTimer;
+    private final Timer selectByIdTimer;
+    private final Timer selectHistoriesTimer;
+    private final Timer insertHistoryTimer;
+    private final Timer selectStatsTimer;
+    private final Timer selectTopTimer;
+    private final Timer selectRankTimer;
+    private final Timer countAheadTimer;
+
+    public MeteredPointRepository(PointRepository delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.insertOrUpdateTimer = meterRegistry.timer("point.repository", "method", "insertOrUpdate");
+        this.insertOrUpdatePairTimer = meterRegistry.timer("point.repository", "method", "insertOrUpdatePair");
+        this.selectByIdTimer = meterRegistry.timer("point.repository", "method", "selectById");
+        this.selectHistoriesTimer = meterRegistry.timer("point.repository", "method", "selectHistoriesById");
+        this.insertHistoryTimer = meterRegistry.timer("point.repository", "method", "insertHistory");
+        this.selectStatsTimer = meterRegistry.timer("point.repository", "method", "selectStatsById");
+        this.selectTopTimer = meterRegistry.timer("point.repository", "method", "selectTopByPoint");
+        this.selectRankTimer = meterRegistry.timer("point.repository", "method", "selectRankById");
+        this.countAheadTimer = meterRegistry.timer("point.repository", "method", "countAhead");
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return insertOrUpdateTimer.record(() -> delegate.insertOrUpdate(id, amount));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount, List<PointOperation> histories) {
+        return insertOrUpdateTimer.record(() -> delegate.insertOrUpdate(id, amount, histories));
+    }
+
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        return insertOrUpdatePairTimer.record(() -> delegate.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount));
+    }
+
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount,
+                                              List<PointOperation> histories) {
+        return insertOrUpdatePairTimer.record(() -> delegate.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount, histories));
+    }
+
+    @Override
+    public void restoreBalances(Map<Long, Long> balances) {
+        delegate.restoreBalances(balances);
+    }
+
+    @Override
+    public void restoreHistories(List<PointHistory> histories) {
+        delegate.restoreHistories(histories);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return selectByIdTimer.record(() -> delegate.selectById(id));
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return selectHistoriesTimer.record(() -> delegate.selectHistoriesById(id));
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return selectHistoriesTimer.record(() -> delegate.selectHistoriesById(id, query));
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return insertHistoryTimer.record(() -> delegate.insertHistory(id, amount, type, updateMillis));
+    }
+
+    @Override
+    public PointHistory insertRecordedHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return insertHistoryTimer.record(() -> delegate.insertRecordedHistory(id, amount, type, updateMillis));
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return selectStatsTimer.record(() -> delegate.selectStatsById(id));
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return selectTopTimer.record(() -> delegate.selectTopByPoint(limit));
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return selectRankTimer.record(() -> delegate.selectRankById(id));
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return countAheadTimer.record(() -> delegate.countAhead(point, userId));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 ID 별 포인트 내역 색인.
+ * - PointHistoryTable 은 전체 내역을 훑어서 사용자 내역을 찾으므로, 저장소에서 사용자별 목록을 따로 유지한다.
+ * - 조회 비용은 전체 내역 수가 아닌 해당 사용자의 내역 수에 비례한다.
+ */
+public class PointHistoryIndex {
+
+    private final ConcurrentHashMap<Long, List<PointHistory>> histories = new ConcurrentHashMap<>();
+
+    /**
+     * 저장된 내역을 색인에 추가한다.
+     */
+    public void add(PointHistory pointHistory) {
+        List<PointHistory> userHistories = histories.computeIfAbsent(pointHistory.userId(), key -> new ArrayList<>());
+        synchronized (userHistories) {
+            userHistories.add(pointHistory);
+        }
+    }
+
+    /**
+     * 사용자의 내역을 저장된 순서대로 반환한다.
+     */
+    public List<PointHistory> findAllByUserId(long userId) {
+        List<PointHistory> userHistories = histories.get(userId);
+        if (userHistories == null) {
+            return List.of();
+        }
+        synchronized (userHistories) {
+            return List.copyOf(userHistories);
+        }
+    }
+
+    /**
+     * 사용자의 내역 중 조건에 맞는 구간만 복사해 반환한다.
+     * 내역은 ID 순으로 쌓이므로 커서 위치는 이진 탐색으로 찾는다.
+     */
+    public List<PointHistory> find(long userId, PointHistoryQuery query) {
+        List<PointHistory> userHistories = histories.get(userId);
+        if (userHistories == null) {
+            return List.of();
+        }
+        List<PointHistory> result = new ArrayList<>();
+        synchronized (userHistories) {
+            int start = query.afterId() == null ? 0 : indexAfter(userHistories, query.afterId());
+            for (int i = start; i < userHistories.size(); i++) {
+                if (query.limit() != null && result.size() >= query.limit()) {
+                    break;
+                }
+                PointHistory pointHistory = userHistories.get(i);
+                if (query.matches(pointHistory)) {
+                    result.add(pointHistory);
+                }
+            }
+        }
+        return result;
+    }
+
+    // id 보다 큰 첫 번째 내역의 위치
+    private int indexAfter(List<PointHistory> userHistories, long id) {
+        int low = 0;
+        int high = userHistories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (userHistories.get(mid).id() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,478 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 포인트 변경을 디스크에 먼저 기록하는 추가 전용(append-only) 저널.
+ * - 레코드는 32바이트 고정 크기이며, 메모리 매핑된 세그먼트 파일에 순서대로 쓴다. 세그먼트가 가득 차면 다음 파일로 넘어간다.
+ * - 레코드 구성 : userId(8) | amount(8) | millis(8) | kind(1) | type(1) | 이어짐(1) | 예약(1) | CRC32(4)
+ * - 체크섬이 맞지 않거나 kind 가 0 인 레코드를 만나면 그 세그먼트의 끝으로 본다. (쓰다가 끊긴 마지막 레코드는 버린다.)
+ * - 함께 반영되어야 하는 레코드(이체의 두 잔액, 잔액과 그 변경의 내역)는 같은 세그먼트에 이어서 쓰고, 마지막을 제외한 레코드에 이어짐 표시를 한다.
+ *   이어짐 표시가 있는 레코드 뒤에 유효한 레코드가 없으면 묶음 전체를 버린다.
+ * - fsync 정책
+ *   always : 레코드마다 디스크에 반영한 뒤 반환한다.
+ *   interval : 반영 스레드가 그동안 모인 레코드를 한 번에 반영하고, 호출한 스레드는 반영될 때까지 기다린다.(group commit)
+ *              반영은 최소 point.journal.fsync-interval-ms 간격으로 일어나며, 0 이면 이전 반영 중에 모인 레코드를 바로 이어서 반영한다.
+ *   none : 운영체제에 맡긴다. 프로세스가 죽어도 남지만, 운영체제가 죽으면 유실될 수 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class PointJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+    public static final int RECORD_SIZE = 32;
+    private static final int CHECKSUM_OFFSET = 28;
+    private static final int CONTINUED_OFFSET = 26;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition durable = appendLock.newCondition();
+    private final Condition appended = appendLock.newCondition();
+    private final Thread flusherThread;
+
+    private long segmentSequence;
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private int flushedPosition;  // 현재 세그먼트에서 디스크에 반영된 위치
+    private long appendedCount;   // 지금까지 추가한 레코드 수
+    private long durableCount;    // 디스크에 반영된 레코드 수
+    private volatile boolean closed;
+
+    @Autowired
+    public PointJournal(@Value("${point.journal.dir:data/journal}") String directory,
+                        @Value("${point.journal.segment-size:67108864}") int segmentSize,
+                        @Value("${point.journal.fsync:interval}") String fsyncPolicy,
+                        @Value("${point.journal.fsync-interval-ms:0}") long fsyncIntervalMillis) {
+        this(Path.of(directory), segmentSize, FsyncPolicy.valueOf(fsyncPolicy.toUpperCase(Locale.ROOT)), fsyncIntervalMillis);
+    }
+
+    public PointJournal(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        if (segmentSize < RECORD_SIZE * 2) { // 두 레코드 묶음이 한 세그먼트에 들어가야 한다.
+            throw new IllegalArgumentException("세그먼트 크기는 " + RECORD_SIZE * 2 + "바이트 이상이어야 합니다.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = segments();
+            if (segments.isEmpty()) {
+                openSegment(1);
+            } else {
+                // 마지막 세그먼트의 유효한 레코드 뒤에서부터 이어 쓴다.
+                Path last = segments.get(segments.size() - 1);
+                openSegment(sequenceOf(last));
+                segment.position(validLength(segment));
+                flushedPosition = segment.position();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널을 열 수 없습니다. dir=" + directory, e);
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusherThread = new Thread(this::flushPeriodically, "point-journal-flusher");
+            flusherThread.setDaemon(true);
+            flusherThread.start();
+        } else {
+            flusherThread = null;
+        }
+    }
+
+    /**
+     * 포인트 저장을 기록한다.
+     * @param id 사용자 ID
+     * @param point 저장한 포인트
+     * @param updateMillis 저장 시간
+     */
+    public void appendBalance(long id, long point, long updateMillis) {
+        append(Kind.BALANCE, id, point, null, updateMillis, false);
+    }
+
+    /**
+     * 두 사용자의 포인트 저장을 하나의 묶음으로 기록한다. 재생할 때는 두 레코드가 모두 있거나 모두 없다.
+     * @param firstId 첫 번째 사용자 ID
+     * @param firstPoint 첫 번째 사용자에게 저장한 포인트
+     * @param secondId 두 번째 사용자 ID
+     * @param secondPoint 두 번째 사용자에게 저장한 포인트
+     * @param updateMillis 저장 시간
+     */
+    public void appendBalances(long firstId, long firstPoint, long secondId, long secondPoint, long updateMillis) {
+        append(List.of(Entry.balance(firstId, firstPoint, updateMillis), Entry.balance(secondId, secondPoint, updateMillis)));
+    }
+
+    /**
+     * 여러 레코드를 하나의 묶음으로 기록한다. 재생할 때는 묶음의 레코드가 모두 있거나 모두 없다.
+     * @param entries 기록할 레코드. 한 세그먼트에 들어가는 크기여야 한다.
+     */
+    public void append(List<Entry> entries) {
+        if ((long) entries.size() * RECORD_SIZE > segmentSize) {
+            throw new IllegalArgumentException("한 묶음으로 기록할 수 있는 레코드는 " + segmentSize / RECORD_SIZE + "건 이하입니다.");
+        }
+        appendLock.lock(); // 재진입 가능한 락이므로 묶음의 레코드 사이에 다른 레코드가 끼어들지 않는다.
+        try {
+            if (segment.remaining() < RECORD_SIZE * entries.size()) {
+                rotate();
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                append(entry.kind(), entry.userId(), entry.amount(), entry.type(), entry.updateMillis(), i < entries.size() - 1);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 포인트 내역 추가를 기록한다.
+     * @param id 사용자 ID
+     * @param amount 포인트 양
+     * @param type 거래 유형
+     * @param updateMillis 업데이트 시간
+     */
+    public void appendHistory(long id, long amount, TransactionType type, long updateMillis) {
+        append(Kind.HISTORY, id, amount, type, updateMillis, false);
+    }
+
+    /**
+     * 저널에 남은 모든 레코드를 기록된 순서대로 읽는다.
+     * @param consumer 레코드를 처리할 작업
+     */
+    public void replay(Consumer<Entry> consumer) {
+        replay(Position.START, null, consumer);
+    }
+
+    /**
+     * from 위치부터 to 위치 전까지의 레코드를 기록된 순서대로 읽는다. 읽는 동안에도 레코드를 추가할 수 있다.
+     * @param from 읽기 시작할 위치
+     * @param to 읽기를 멈출 위치. null 이면 끝까지 읽는다.
+     * @param consumer 레코드를 처리할 작업
+     */
+    public void replay(Position from, Position to, Consumer<Entry> consumer) {
+        try {
+            for (Path path : segments()) {
+                long sequence = sequenceOf(path);
+                if (sequence < from.segment() || (to != null && sequence > to.segment())) {
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    int start = sequence == from.segment() ? from.offset() : 0;
+                    int end = to != null && sequence == to.segment() ? to.offset() : validLength(buffer);
+                    for (int position = start; position < end; position += RECORD_SIZE) {
+                        consumer.accept(read(buffer, position));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널을 읽을 수 없습니다. dir=" + directory, e);
+        }
+    }
+
+    /**
+     * 다음 레코드가 기록될 위치. 이 위치 전까지의 레코드는 모두 쓰여 있다.
+     */
+    public Position position() {
+        appendLock.lock();
+        try {
+            return new Position(segmentSequence, segment.position());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * segment 번호보다 앞선 세그먼트 파일을 지운다. 스냅샷에 반영되어 더 이상 재생하지 않는 구간을 정리할 때 사용한다.
+     * 기록 중인 세그먼트는 지우지 않는다.
+     * @param segment 남길 첫 세그먼트 번호
+     * @return 지운 세그먼트 수
+     */
+    public int deleteSegmentsBefore(long segment) {
+        long writing = position().segment();
+        int deleted = 0;
+        try {
+            for (Path path : segments()) {
+                long sequence = sequenceOf(path);
+                if (sequence >= segment || sequence >= writing) {
+                    break;
+                }
+                Files.deleteIfExists(path);
+                deleted++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널 세그먼트를 지울 수 없습니다. dir=" + directory, e);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (fsyncPolicy != FsyncPolicy.NONE) {
+                segment.force();
+            }
+            durableCount = appendedCount;
+            durable.signalAll();
+            segmentChannel.close();
+        } catch (IOException e) {
+            log.warn("포인트 저널을 닫는 중 오류가 발생했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+        }
+    }
+
+    private void append(Kind kind, long id, long amount, TransactionType type, long updateMillis, boolean continued) {
+        long sequence;
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("포인트 저널이 닫혔습니다.");
+            }
+            if (segment.remaining() < RECORD_SIZE) {
+                rotate();
+            }
+            int position = segment.position();
+            write(segment, position, kind, id, amount, type, updateMillis, continued);
+            segment.position(position + RECORD_SIZE);
+            sequence = ++appendedCount;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                segment.force(position, RECORD_SIZE);
+                flushedPosition = position + RECORD_SIZE;
+                durableCount = sequence;
+            }
+            if (fsyncPolicy != FsyncPolicy.INTERVAL || continued) {
+                return; // 묶음은 마지막 레코드를 추가한 뒤에 한 번만 기다린다.
+            }
+            appended.signal();
+            while (durableCount < sequence) { // 반영 스레드가 이 레코드까지 디스크에 반영할 때까지 기다린다.
+                durable.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 저널 반영 대기 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flushPeriodically() {
+        long lastFlushed = System.nanoTime();
+        while (!closed) {
+            MappedByteBuffer target;
+            int from;
+            int to;
+            long sequence;
+            appendLock.lock();
+            try {
+                while (!closed && durableCount == appendedCount) { // 반영할 레코드가 생길 때까지 기다린다.
+                    appended.await();
+                }
+                if (closed) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                continue; // 종료 신호. close 에서 남은 레코드를 반영한다.
+            } finally {
+                appendLock.unlock();
+            }
+            long waitNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis) - (System.nanoTime() - lastFlushed);
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos); // 반영 간격 동안 레코드를 더 모은다.
+            }
+            appendLock.lock();
+            try {
+                target = segment;
+                from = flushedPosition;
+                to = segment.position();
+                sequence = appendedCount;
+            } finally {
+                appendLock.unlock();
+            }
+            target.force(from, to - from); // 디스크 반영은 락 밖에서 해 그동안에도 레코드를 추가할 수 있게 한다.
+            lastFlushed = System.nanoTime();
+            appendLock.lock();
+            try {
+                if (target == segment) {
+                    flushedPosition = Math.max(flushedPosition, to);
+                }
+                durableCount = Math.max(durableCount, sequence);
+                durable.signalAll();
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 반영하고 다음 세그먼트로 넘어간다. 추가 락 안에서만 호출된다.
+     */
+    private void rotate() {
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            segment.force();
+            durableCount = appendedCount;
+            durable.signalAll();
+        }
+        try {
+            segmentChannel.close();
+            openSegment(segmentSequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널 세그먼트를 만들 수 없습니다. dir=" + directory, e);
+        }
+    }
+
+    private void openSegment(long sequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        segmentChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentSequence = sequence;
+        flushedPosition = 0;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 세그먼트 앞에서부터 유효한 레코드가 이어진 길이. 끝이 완성되지 않은 묶음이면 묶음의 시작 위치까지만 유효하다.
+     */
+    private static int validLength(ByteBuffer buffer) {
+        int position = 0;
+        int committed = 0;
+        while (position + RECORD_SIZE <= buffer.limit()
+                && buffer.get(position + 24) != 0
+                && buffer.getInt(position + CHECKSUM_OFFSET) == checksum(buffer, position)) {
+            position += RECORD_SIZE;
+            if (buffer.get(position - RECORD_SIZE + CONTINUED_OFFSET) == 0) {
+                committed = position;
+            }
+        }
+        return committed;
+    }
+
+    private static void write(ByteBuffer buffer, int position, Kind kind, long id, long amount, TransactionType type, long updateMillis,
+                              boolean continued) {
+        buffer.putLong(position, id);
+        buffer.putLong(position + 8, amount);
+        buffer.putLong(position + 16, updateMillis);
+        buffer.put(position + 24, kind.code);
+        buffer.put(position + 25, type == null ? 0 : (byte) (type.ordinal() + 1));
+        buffer.put(position + CONTINUED_OFFSET, continued ? (byte) 1 : 0);
+        buffer.put(position + 27, (byte) 0);
+        buffer.putInt(position + CHECKSUM_OFFSET, checksum(buffer, position));
+    }
+
+    private static Entry read(ByteBuffer buffer, int position) {
+        byte type = buffer.get(position + 25);
+        return new Entry(
+                Kind.of(buffer.get(position + 24)),
+                buffer.getLong(position),
+                buffer.getLong(position + 8),
+                type == 0 ? null : TransactionType.values()[type - 1],
+                buffer.getLong(position + 16));
+    }
+
+    private static int checksum(ByteBuffer buffer, int position) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer.slice(position, CHECKSUM_OFFSET));
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * 저널 안의 위치
+     * @param segment 세그먼트 번호
+     * @param offset 세그먼트 안의 바이트 위치
+     */
+    public record Position(long segment, int offset) {
+        public static final Position START = new Position(0, 0);
+    }
+
+    public enum FsyncPolicy {
+        ALWAYS, INTERVAL, NONE
+    }
+
+    public enum Kind {
+        BALANCE((byte) 1), HISTORY((byte) 2);
+
+        private final byte code;
+
+        Kind(byte code) {
+            this.code = code;
+        }
+
+        private static Kind of(byte code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalStateException("알 수 없는 저널 레코드입니다. kind=" + code);
+        }
+    }
+
+    /**
+     * 저널 레코드
+     * @param kind 레코드 종류 (BALANCE : 포인트 저장, HISTORY : 내역 추가)
+     * @param userId 사용자 ID
+     * @param amount BALANCE 이면 저장한 포인트, HISTORY 이면 거래 포인트
+     * @param type 거래 유형 (HISTORY 만)
+     * @param updateMillis 기록 시간
+     */
+    public record Entry(Kind kind, long userId, long amount, TransactionType type, long updateMillis) {
+
+        public static Entry balance(long userId, long point, long updateMillis) {
+            return new Entry(Kind.BALANCE, userId, point, null, updateMillis);
+        }
+
+        public static Entry history(long userId, long amount, TransactionType type, long updateMillis) {
+            return new Entry(Kind.HISTORY, userId, amount, type, updateMillis);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointRank;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 잔액 순으로 정렬된 사용자 색인.
+ * - (잔액 내림차순, 사용자 ID 오름차순)으로 정렬된 skip list 에 링크마다 건너뛰는 노드 수(span)를 함께 저장해
+ *   순위 조회와 상위 N 명 조회를 O(log n) 에 처리한다.
+ * - ConcurrentSkipListSet 은 위치 정보가 없어 순위를 구하려면 앞쪽 원소를 모두 세야 하므로 직접 구현한다.
+ * - 갱신은 쓰기 락, 조회는 읽기 락 안에서 처리해 동시에 충전/사용이 일어나도 항상 일관된 순위를 반환한다.
+ */
+public class PointLeaderboard {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final Node head = new Node(Long.MAX_VALUE, 0, MAX_LEVEL);
+    private final Map<Long, Long> points = new HashMap<>(); // 사용자별 현재 색인에 들어있는 잔액
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int level = 1;
+    private int size;
+
+    /**
+     * 사용자의 잔액을 색인에 반영한다.
+     * @param userId 사용자 ID
+     * @param point 잔액
+     */
+    public void update(long userId, long point) {
+        lock.writeLock().lock();
+        try {
+            Long previous = points.put(userId, point);
+            if (previous != null) {
+                if (previous == point) {
+                    return;
+                }
+                delete(previous, userId);
+            }
+            insert(point, userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 잔액이 많은 순으로 상위 사용자를 반환한다.
+     * @param limit 최대 조회 건수
+     */
+    public List<PointRank> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<PointRank> ranks = new ArrayList<>(Math.min(limit, size));
+            Node node = head.next[0];
+            while (node != null && ranks.size() < limit) {
+                ranks.add(new PointRank(ranks.size() + 1, node.userId, node.point));
+                node = node.next[0];
+            }
+            return ranks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자의 순위를 반환한다. 잔액이 저장된 적 없는 사용자는 잔액 0 인 사용자로 순위를 계산한다.
+     * @param userId 사용자 ID
+     */
+    public PointRank rank(long userId) {
+        lock.readLock().lock();
+        try {
+            long point = points.getOrDefault(userId, 0L);
+            return new PointRank(countBefore(point, userId) + 1, userId, point);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * (point, userId) 보다 앞 순위인 사용자 수를 반환한다. 색인에 없는 사용자의 순위를 계산할 때 사용한다.
+     * @param point 잔액
+     * @param userId 사용자 ID
+     */
+    public long countAhead(long point, long userId) {
+        lock.readLock().lock();
+        try {
+            return countBefore(point, userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인에 들어있는 사용자 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (point, userId) 보다 앞에 있는 노드 수. 각 레벨에서 건너뛴 span 을 더한다.
+    private long countBefore(long point, long userId) {
+        long count = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].precedes(point, userId)) {
+                count += node.span[i];
+                node = node.next[i];
+            }
+        }
+        return count;
+    }
+
+    private void insert(long point, long userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && node.next[i].precedes(point, userId)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+        Node inserted = new Node(point, userId, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    private void delete(long point, long userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].precedes(point, userId)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node target = node.next[0];
+        if (target == null || target.point != point || target.userId != userId) {
+            throw new IllegalStateException("포인트 순위 색인에 사용자가 없습니다. userId=" + userId);
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    private static int randomLevel() {
+        int newLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (newLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+
+    private static final class Node {
+        private final long point;
+        private final long userId;
+        private final Node[] next;
+        private final int[] span; // next[i] 까지 건너뛰는 노드 수
+
+        private Node(long point, long userId, int level) {
+            this.point = point;
+            this.userId = userId;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        // 이 노드가 (point, userId) 보다 앞 순위인지 확인한다.
+        private boolean precedes(long point, long userId) {
+            return this.point > point || (this.point == point && this.userId < userId);
+        }
+    }
+}
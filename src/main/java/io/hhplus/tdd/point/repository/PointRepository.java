@@ -1,19 +1,118 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 
 
-public interface PointRepository {
+public interface PointRepository extends AutoCloseable {
     UserPoint insertOrUpdate(long id, long amount);
 
+    /**
+     * 포인트를 저장하면서 이 변경으로 생긴 내역을 함께 기록한다. 저널을 사용하는 구현체는 잔액과 내역을 하나의 묶음으로 기록해,
+     * 복원할 때 잔액만 있고 그 내역은 없는 상태가 되지 않는다. 내역을 저장소에 추가하는 일은 insertRecordedHistory 로 따로 한다.
+     * @param histories 이 변경으로 생긴 내역
+     */
+    default UserPoint insertOrUpdate(long id, long amount, List<PointOperation> histories) {
+        return insertOrUpdate(id, amount);
+    }
+
+    /**
+     * 두 사용자의 포인트를 함께 저장한다. 저널을 사용하는 구현체는 두 저장을 하나의 묶음으로 기록해,
+     * 중간에 프로세스가 죽어도 한쪽만 반영된 상태로 복원되지 않는다.
+     * @return 저장한 두 사용자의 포인트 (인자 순서대로)
+     */
+    default List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        return List.of(insertOrUpdate(firstId, firstAmount), insertOrUpdate(secondId, secondAmount));
+    }
+
+    /**
+     * 두 사용자의 포인트를 함께 저장하면서 이 변경으로 생긴 내역을 같은 묶음에 기록한다. (insertOrUpdate(id, amount, histories) 참고)
+     * @param histories 이 변경으로 생긴 내역
+     */
+    default List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount,
+                                               List<PointOperation> histories) {
+        return insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount);
+    }
+
+    /**
+     * 재시작할 때 복원한 사용자별 마지막 포인트를 한꺼번에 적재한다. 저장을 시작하기 전에만 호출한다.
+     * 저장마다 지연이 있는 구현체는 그 지연을 건너뛰도록 재정의한다.
+     * @param balances 사용자 ID 별 포인트
+     */
+    default void restoreBalances(Map<Long, Long> balances) {
+        balances.forEach(this::insertOrUpdate);
+    }
+
+    /**
+     * 재시작할 때 복원한 내역을 기록된 순서대로 한꺼번에 적재한다. 저장을 시작하기 전에만 호출한다.
+     * 내역 ID 는 사용하지 않고 저장소가 새로 발급한다. 저장마다 지연이 있는 구현체는 그 지연을 건너뛰도록 재정의한다.
+     * @param histories 기록된 순서대로 정렬된 내역
+     */
+    default void restoreHistories(List<PointHistory> histories) {
+        histories.forEach(history -> insertHistory(history.userId(), history.amount(), history.type(), history.updateMillis()));
+    }
+
     UserPoint selectById(long id);
 
     List<PointHistory> selectHistoriesById(long id);
 
+    /**
+     * 조건에 맞는 사용자 내역만 조회한다. 구현체는 필요한 구간만 읽도록 재정의할 수 있다.
+     */
+    default List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return query.apply(selectHistoriesById(id));
+    }
+
     PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * insertOrUpdate(id, amount, histories) 로 이미 기록한 내역을 저장소에 추가한다. 저널을 사용하는 구현체는 다시 기록하지 않는다.
+     */
+    default PointHistory insertRecordedHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return insertHistory(id, amount, type, updateMillis);
+    }
+
+    /**
+     * 사용자의 거래 집계를 조회한다. 구현체는 내역을 추가할 때 집계를 함께 갱신해 O(1) 로 조회하도록 재정의할 수 있다.
+     */
+    default PointStats selectStatsById(long id) {
+        PointStats stats = PointStats.empty(id);
+        for (PointHistory pointHistory : selectHistoriesById(id)) {
+            stats = stats.plus(pointHistory);
+        }
+        return stats;
+    }
+
+    /**
+     * 잔액이 많은 순으로 상위 사용자를 조회한다. 잔액이 같으면 사용자 ID 가 작은 사용자가 앞선다.
+     */
+    List<PointRank> selectTopByPoint(int limit);
+
+    /**
+     * 사용자의 잔액 순위를 조회한다. 잔액이 저장된 적 없는 사용자는 잔액 0 으로 순위를 계산한다.
+     */
+    PointRank selectRankById(long id);
+
+    /**
+     * 잔액 순위에서 (point, userId) 보다 앞선 사용자 수를 조회한다. 여러 저장소에 나뉜 순위를 합칠 때 사용한다.
+     * 데코레이터는 감싼 저장소에 그대로 위임한다.
+     */
+    long countAhead(long point, long userId);
+
+    /**
+     * 저장소가 가진 스레드 같은 자원을 정리한다. 데코레이터는 감싼 저장소도 닫는다.
+     * 애플리케이션이 종료될 때 스프링이 저장소 빈의 close 를 호출한다.
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class PointRepositoryConfig {
+
+    /**
+     * 서비스에는 호출 시간을 기록하는 저장소를 주입한다.
+     * point.concurrency.mode 가 sharded 이면 샤드마다 테이블을 따로 가진 저장소를 만들고, 사용자 ID 로 샤드를 골라 호출한다.
+     * 샤드 저장소는 샤드 스레드 밖(내역 저장 스레드, 헤징 조회, 요청 스레드)에서도 호출되므로 테이블 묶음별 락을 그대로 둔다.
+     * point.history.store 가 columnar 이면 내역을 PointHistoryTable 대신 기본형 컬럼 저장소에 보관한다.
+     * point.balance.store 가 primitive 이면 잔액을 UserPointTable 대신 기본형 배열 해시 맵에 보관한다.
+     * point.hedge.enabled 가 true 이면 오래 걸리는 잔액 조회를 한 번 더 보내고 먼저 끝난 결과를 사용한다.
+     * point.journal.enabled 가 true 이면 변경을 저널에 먼저 기록하고, 시작할 때 최신 스냅샷과 그 이후의 저널로 데이터를 복원한다.
+     */
+    @Bean
+    @Primary
+    public PointRepository pointRepository(PointRepositoryImpl pointRepositoryImpl, ObjectProvider<PointJournal> pointJournal,
+                                           ObjectProvider<PointSnapshotter> pointSnapshotter, ObjectProvider<PointShardRing> pointShardRing,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${point.cache.max-size:10000}") int cacheMaxSize,
+                                           @Value("${point.repository.stripes:16}") int stripes,
+                                           @Value("${point.history.store:table}") String historyStore,
+                                           @Value("${point.balance.store:table}") String balanceStore,
+                                           @Value("${point.balance.expected-users:0}") int expectedUsers,
+                                           @Value("${point.hedge.enabled:false}") boolean hedgeEnabled,
+                                           @Value("${point.hedge.percentile:0.95}") double hedgePercentile,
+                                           @Value("${point.hedge.initial-delay-ms:100}") long hedgeInitialDelayMillis) {
+        PointShardRing ring = pointShardRing.getIfAvailable();
+        PointRepository pointRepository;
+        if (ring == null) {
+            pointRepository = store(pointRepositoryImpl, historyStore, balanceStore, expectedUsers);
+        } else {
+            // 캐시 크기와 테이블 묶음 수는 샤드 수로 나눠 전체 보관 사용자 수와 테이블 수가 설정값을 넘지 않도록 한다.
+            int shardCacheSize = cacheMaxSize <= 0 ? cacheMaxSize : Math.max(1, cacheMaxSize / ring.shardCount());
+            int shardStripes = Math.max(1, stripes / ring.shardCount());
+            List<PointRepository> shards = new ArrayList<>(ring.shardCount());
+            for (int i = 0; i < ring.shardCount(); i++) {
+                shards.add(store(new PointRepositoryImpl(shardCacheSize, shardStripes), historyStore, balanceStore,
+                        expectedUsers / ring.shardCount()));
+            }
+            pointRepository = new ShardedPointRepository(ring, shards);
+        }
+        if (hedgeEnabled) {
+            HedgingPointRepository hedgingPointRepository =
+                    new HedgingPointRepository(pointRepository, hedgePercentile, hedgeInitialDelayMillis);
+            hedgingPointRepository.bindTo(meterRegistry);
+            pointRepository = hedgingPointRepository;
+        }
+        PointJournal journal = pointJournal.getIfAvailable();
+        if (journal == null) {
+            return new MeteredPointRepository(pointRepository, meterRegistry);
+        }
+        JournaledPointRepository journaledPointRepository =
+                new JournaledPointRepository(pointRepository, journal, pointSnapshotter.getIfAvailable());
+        journaledPointRepository.bindTo(meterRegistry);
+        return new MeteredPointRepository(journaledPointRepository, meterRegistry);
+    }
+
+    private PointRepository store(PointRepositoryImpl pointRepositoryImpl, String historyStore, String balanceStore,
+                                  int expectedUsers) {
+        PointRepository pointRepository = "columnar".equals(historyStore)
+                ? new ColumnarPointRepository(pointRepositoryImpl)
+                : pointRepositoryImpl;
+        return "primitive".equals(balanceStore)
+                ? new PrimitivePointRepository(pointRepository, expectedUsers)
+                : pointRepository;
+    }
+}
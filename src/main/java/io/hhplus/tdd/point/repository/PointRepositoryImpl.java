@@ -3,33 +3,258 @@ package io.hhplus.tdd.point.repository;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * UserPointTable/PointHistoryTable 에 잔액과 내역을 저장하는 기본 저장소.
+ * - 두 테이블은 HashMap, ArrayList 를 그대로 사용하므로 동시에 접근하면 안 된다. 테이블 하나를 락 하나로 지키면
+ *   테이블의 지연(최대 300ms) 동안 모든 사용자의 저장이 한 줄로 서므로, 사용자 ID 로 나눈 여러 개의 테이블 묶음(stripe)을 두고
+ *   묶음마다 락을 따로 잡는다. 서로 다른 묶음의 사용자는 동시에 테이블을 사용한다.
+ * - 한 사용자의 잔액과 내역은 항상 같은 묶음에 저장된다. 내역 ID 는 묶음마다 따로 발급되므로 한 사용자의 내역 안에서만 증가 순서가 보장된다.
+ * - 캐시와 색인은 스레드 안전한 자료구조이므로 모든 묶음이 함께 사용한다.
+ * - 재시작할 때 복원하는 잔액과 내역은 테이블을 거치지 않고 묶음의 복원 맵과 색인에 바로 적재해, 건마다 드는 테이블 지연을 피한다.
+ */
 @Repository
-public class PointRepositoryImpl implements PointRepository {
-    UserPointTable userPointTable = new UserPointTable();
-    PointHistoryTable pointHistoryTable = new PointHistoryTable();
+public class PointRepositoryImpl implements PointRepository, MeterBinder {
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final int DEFAULT_STRIPES = 16;
+
+    private final Stripe[] stripes;
+    // 포인트는 이 저장소를 통해서만 변경되므로, 저장할 때 캐시도 함께 갱신해 조회 지연을 줄인다.
+    private final UserPointCache userPointCache;
+    // 내역은 이 저장소를 통해서만 추가되므로, 추가할 때 사용자별 색인도 함께 갱신해 전체 탐색을 피한다.
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    // 내역을 추가할 때 사용자별 집계도 함께 갱신한다.
+    private final PointStatsIndex pointStatsIndex = new PointStatsIndex();
+    // 잔액을 저장할 때 순위 색인도 함께 갱신해, 순위 조회 시 전체 사용자를 탐색하지 않는다.
+    private final PointLeaderboard pointLeaderboard = new PointLeaderboard();
+
+    public PointRepositoryImpl() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public PointRepositoryImpl(int cacheMaxSize) {
+        this(cacheMaxSize, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param cacheMaxSize 포인트 캐시에 보관할 최대 사용자 수
+     * @param stripes 테이블 묶음 수. 늘리면 서로 다른 사용자의 저장이 덜 기다리고, 테이블 수만큼 메모리를 더 사용한다.
+     */
+    @Autowired
+    public PointRepositoryImpl(@Value("${point.cache.max-size:10000}") int cacheMaxSize,
+                               @Value("${point.repository.stripes:16}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("테이블 묶음 수는 0보다 커야 합니다.");
+        }
+        this.userPointCache = new UserPointCache(cacheMaxSize);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
 
     @Override
     public UserPoint insertOrUpdate(long id, long amount) {
-        return userPointTable.insertOrUpdate(id, amount);
+        Stripe stripe = stripeOf(id);
+        stripe.userPointTableLock.writeLock().lock();
+        try {
+            UserPoint userPoint = stripe.userPointTable.insertOrUpdate(id, amount);
+            stripe.restoredBalances.remove(id);
+            userPointCache.put(userPoint);
+            pointLeaderboard.update(userPoint.id(), userPoint.point());
+            return userPoint;
+        } finally {
+            stripe.userPointTableLock.writeLock().unlock();
+        }
     }
 
     @Override
     public UserPoint selectById(long id) {
-        return userPointTable.selectById(id);
+        UserPoint cached = userPointCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        // 테이블 조회와 캐시 채우기를 읽기 락 안에서 함께 처리해, 그 사이에 저장과 캐시 제거가 끼어들어
+        // 이미 지난 값이 캐시에 남는 일이 없도록 한다. 저장은 쓰기 락 안에서 캐시를 갱신한다.
+        Stripe stripe = stripeOf(id);
+        stripe.userPointTableLock.readLock().lock();
+        try {
+            UserPoint restored = stripe.restoredBalances.get(id);
+            UserPoint userPoint = restored != null ? restored : stripe.userPointTable.selectById(id);
+            userPointCache.putIfAbsent(userPoint);
+            return userPoint;
+        } finally {
+            stripe.userPointTableLock.readLock().unlock();
+        }
     }
 
     @Override
     public List<PointHistory> selectHistoriesById(long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        return pointHistoryIndex.findAllByUserId(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return pointHistoryIndex.find(id, query);
     }
 
     @Override
     public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
-        return pointHistoryTable.insert(id, amount, type, updateMillis);
+        Stripe stripe = stripeOf(id);
+        stripe.pointHistoryTableLock.lock();
+        try {
+            // 색인도 락 안에서 갱신해 사용자별 내역이 ID 순서대로 색인되도록 한다.
+            PointHistory inserted = stripe.pointHistoryTable.insert(id, amount, type, updateMillis);
+            // 테이블의 ID 는 1부터 시작하므로, 복원한 내역 뒤에 이어지도록 복원한 내역 수만큼 밀어 준다.
+            PointHistory pointHistory = stripe.restoredHistories == 0 ? inserted
+                    : new PointHistory(inserted.id() + stripe.restoredHistories, id, amount, type, updateMillis);
+            pointHistoryIndex.add(pointHistory);
+            pointStatsIndex.add(id, amount, type, updateMillis);
+            return pointHistory;
+        } finally {
+            stripe.pointHistoryTableLock.unlock();
+        }
+    }
+
+    /**
+     * 복원한 잔액은 묶음의 복원 맵에 두고, 그 사용자가 다시 저장되면 테이블의 값으로 바꾼다.
+     */
+    @Override
+    public void restoreBalances(Map<Long, Long> balances) {
+        long updateMillis = System.currentTimeMillis();
+        List<List<UserPoint>> byStripe = groupByStripe(balances.entrySet().stream()
+                .map(balance -> new UserPoint(balance.getKey(), balance.getValue(), updateMillis))
+                .toList(), UserPoint::id);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            stripe.userPointTableLock.writeLock().lock();
+            try {
+                for (UserPoint userPoint : byStripe.get(i)) {
+                    stripe.restoredBalances.put(userPoint.id(), userPoint);
+                    userPointCache.put(userPoint);
+                    pointLeaderboard.update(userPoint.id(), userPoint.point());
+                }
+            } finally {
+                stripe.userPointTableLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 복원한 내역은 색인과 집계에만 적재한다. ID 는 묶음마다 1부터 기록된 순서대로 발급한다.
+     */
+    @Override
+    public void restoreHistories(List<PointHistory> histories) {
+        List<List<PointHistory>> byStripe = groupByStripe(histories, PointHistory::userId);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            stripe.pointHistoryTableLock.lock();
+            try {
+                for (PointHistory history : byStripe.get(i)) {
+                    pointHistoryIndex.add(new PointHistory(++stripe.restoredHistories, history.userId(), history.amount(),
+                            history.type(), history.updateMillis()));
+                    pointStatsIndex.add(history.userId(), history.amount(), history.type(), history.updateMillis());
+                }
+            } finally {
+                stripe.pointHistoryTableLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return pointStatsIndex.find(id);
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return pointLeaderboard.top(limit);
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return pointLeaderboard.rank(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return pointLeaderboard.countAhead(point, userId);
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public UserPointCache getUserPointCache() {
+        return userPointCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.cache.requests", userPointCache, UserPointCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, UserPointCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, UserPointCache::evictionCount)
+                .register(registry);
+        Gauge.builder("point.cache.size", userPointCache, UserPointCache::size)
+                .register(registry);
+    }
+
+    // 사용자 ID 는 보통 연속으로 발급되므로 나머지로 나눠도 묶음에 고르게 나뉜다.
+    private Stripe stripeOf(long id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    private int stripeIndex(long id) {
+        return (int) Math.floorMod(id, (long) stripes.length);
+    }
+
+    private <T> List<List<T>> groupByStripe(List<T> values, ToLongFunction<T> userIdOf) {
+        List<List<T>> byStripe = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (T value : values) {
+            byStripe.get(stripeIndex(userIdOf.applyAsLong(value))).add(value);
+        }
+        return byStripe;
+    }
+
+    /**
+     * 테이블 묶음. 잔액 조회는 구조를 바꾸지 않아 함께 실행해도 안전하므로 읽기 락으로 동시에 처리하고, 저장만 하나씩 처리한다.
+     * 가상 스레드가 테이블의 지연 동안 캐리어 스레드를 점유하지 않도록 synchronized 대신 ReentrantLock 계열을 사용한다.
+     */
+    private static final class Stripe {
+        private final UserPointTable userPointTable = new UserPointTable();
+        private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        private final ReentrantReadWriteLock userPointTableLock = new ReentrantReadWriteLock();
+        private final ReentrantLock pointHistoryTableLock = new ReentrantLock();
+        // 재시작할 때 복원한 뒤 아직 테이블에 저장되지 않은 잔액. userPointTableLock 안에서만 읽고 쓴다.
+        private final Map<Long, UserPoint> restoredBalances = new HashMap<>();
+        // 재시작할 때 복원한 내역 수. pointHistoryTableLock 안에서만 읽고 쓴다.
+        private long restoredHistories;
     }
 }
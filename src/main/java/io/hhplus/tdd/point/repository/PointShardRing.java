@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 ID 를 샤드 번호에 배정하는 consistent hash ring. (point.concurrency.mode=sharded)
+ * - 샤드마다 여러 개의 가상 노드를 링에 올려, 사용자가 샤드에 고르게 나뉘도록 한다.
+ * - 사용자는 자신의 해시 값 이후 처음 만나는 가상 노드의 샤드에 배정된다.
+ *   샤드 수를 바꿔도 새 샤드가 가져가는 구간의 사용자만 옮겨지고, 나머지 사용자는 같은 샤드에 남는다.
+ * - 링은 생성 후 바뀌지 않으므로 조회에 락이 필요 없다.
+ * - 클러스터의 노드 배정에도 같은 링을 사용한다. 링마다 seed 를 달리해, 한 노드의 사용자가 그 노드의 일부 샤드에만 몰리지 않도록 한다.
+ *   노드의 가상 노드는 목록의 순서가 아니라 노드 주소로 위치를 정하므로, 노드를 목록 어디에 추가하거나 빼도 그 노드의 구간만 옮겨진다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "sharded")
+public class PointShardRing {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final int shardCount;
+    private final long seed;
+    private final long[] hashes; // 해시 순으로 정렬된 가상 노드
+    private final int[] shards; // hashes[i] 가상 노드가 속한 샤드 번호
+
+    /**
+     * @param shardCount 샤드 수. 0 이하이면 사용 가능한 프로세서 수를 사용한다.
+     * @param virtualNodes 샤드마다 링에 올릴 가상 노드 수
+     */
+    @Autowired
+    public PointShardRing(@Value("${point.shard.count:0}") int shardCount,
+                          @Value("${point.shard.virtual-nodes:128}") int virtualNodes) {
+        this(shardCount, virtualNodes, 0L);
+    }
+
+    /**
+     * @param shardCount 샤드 수. 0 이하이면 사용 가능한 프로세서 수를 사용한다.
+     * @param virtualNodes 샤드마다 링에 올릴 가상 노드 수
+     * @param seed 해시에 섞을 값. seed 가 다른 링은 사용자를 서로 독립적으로 배정한다.
+     */
+    public PointShardRing(int shardCount, int virtualNodes, long seed) {
+        this(indexKeys(shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors()), virtualNodes, seed);
+    }
+
+    /**
+     * 샤드마다 주어진 키로 가상 노드의 위치를 정하는 링. 샤드 번호는 keys 의 인덱스이다.
+     * 같은 키의 샤드는 keys 의 어느 위치에 있어도 링의 같은 위치에 놓인다.
+     * @param keys 샤드마다 서로 다른 키 (예: 노드 주소의 해시)
+     * @param virtualNodes 샤드마다 링에 올릴 가상 노드 수
+     * @param seed 해시에 섞을 값
+     */
+    public PointShardRing(long[] keys, int virtualNodes, long seed) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("가상 노드 수는 0보다 커야 합니다.");
+        }
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("샤드 수는 0보다 커야 합니다.");
+        }
+        this.shardCount = keys.length;
+        this.seed = seed;
+        int size = this.shardCount * virtualNodes;
+        long[][] nodes = new long[size][];
+        for (int shard = 0; shard < this.shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                nodes[shard * virtualNodes + node] = new long[]{hash(keys[shard] + node), shard};
+            }
+        }
+        Arrays.sort(nodes, (left, right) -> Long.compare(left[0], right[0]));
+        this.hashes = new long[size];
+        this.shards = new int[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = nodes[i][0];
+            shards[i] = (int) nodes[i][1];
+        }
+    }
+
+    public PointShardRing(int shardCount) {
+        this(shardCount, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * 사용자가 배정된 샤드 번호 (0 부터 shardCount - 1)
+     * @param userId 사용자 ID
+     */
+    public int shardOf(long userId) {
+        int index = Arrays.binarySearch(hashes, hash(userId));
+        if (index < 0) {
+            index = -index - 1; // 해시 값 이후 처음 만나는 가상 노드
+        }
+        return shards[index == hashes.length ? 0 : index];
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    // 샤드 번호로 키를 만든다. 가상 노드의 키는 (shard << 32) | node 가 된다.
+    private static long[] indexKeys(int shardCount) {
+        long[] keys = new long[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            keys[shard] = (long) shard << 32;
+        }
+        return keys;
+    }
+
+    // 연속된 ID 도 링 전체에 흩어지도록 비트를 섞는다. (SplitMix64 finalizer)
+    private long hash(long value) {
+        long z = (value ^ seed) + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
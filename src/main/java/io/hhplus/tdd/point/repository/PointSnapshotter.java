@@ -0,0 +1,382 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointJournal.Entry;
+import io.hhplus.tdd.point.repository.PointJournal.Position;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 모든 사용자의 포인트를 주기적으로 스냅샷 파일에 저장한다. 재시작할 때는 최신 스냅샷을 불러오고 그 이후의 저널만 재생한다.
+ * - 스냅샷은 살아있는 저장소가 아니라 저널을 읽어 만든다. 직전 스냅샷에 저널의 그 이후 구간을 반영하므로,
+ *   쓰는 동안 요청을 멈추지 않고도 특정 저널 위치 시점의 일관된 포인트를 얻는다.
+ * - 파일 구성 : MAGIC(4) | VERSION(4) | 저널 세그먼트 번호(8) | 세그먼트 안 위치(4) | 사용자 수(4)
+ *              | 사용자 ID 순으로 정렬된 (id(8), point(8), updateMillis(8)) | CRC32(8)
+ * - 임시 파일에 쓴 뒤 이름을 바꿔 완성된 파일만 보이게 하고, 최근 RETAINED_SNAPSHOTS 개만 남긴다.
+ * - 스냅샷을 저장하기 전에 그 위치까지의 모든 내역을 내역 파일 하나에 저장한다. 직전 내역 파일에 그 이후 기록된 내역을 이어 붙여 쓴다.
+ *   파일 구성 : MAGIC(4) | VERSION(4) | 내역 수(4) | 기록 순서대로 (id(8), amount(8), updateMillis(8), type(4)) | CRC32(8)
+ *   내역 파일이 있어야 스냅샷보다 앞선 저널을 지워도 재시작할 때 내역을 복원할 수 있다.
+ *   VERSION 1 파일은 직전 스냅샷 이후의 내역만 담고 있으므로, 복원할 때 마지막 VERSION 2 파일 이후의 파일을 차례로 이어 읽는다.
+ * - 스냅샷을 저장한 뒤 남아있는 가장 오래된 스냅샷보다 앞선 저널 세그먼트와, 그 스냅샷까지의 내역을 모두 담은 내역 파일보다 앞선 내역 파일을 지운다.
+ *   따라서 내역 파일과 저널 세그먼트 수는 늘어나지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class PointSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int HISTORY_MAGIC = 0x50485354; // "PHST"
+    private static final int VERSION = 1;
+    private static final int INCREMENTAL_HISTORY_VERSION = 1; // 직전 스냅샷 이후의 내역만 담은 이전 형식
+    private static final int HISTORY_VERSION = 2; // 그 위치까지의 모든 내역을 담은 형식
+    private static final int HEADER_SIZE = 24;
+    private static final int ENTRY_SIZE = 24;
+    private static final int HISTORY_HEADER_SIZE = 12;
+    private static final int HISTORY_ENTRY_SIZE = 28;
+    private static final int RETAINED_SNAPSHOTS = 2;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String HISTORY_PREFIX = "history-";
+    private static final String HISTORY_SUFFIX = ".hist";
+
+    private final PointJournal pointJournal;
+    private final Path directory;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Map<Long, UserPoint> balances = new HashMap<>(); // 마지막 스냅샷 시점의 포인트
+    private final ScheduledExecutorService scheduler;
+    private Position position = Position.START; // 마지막 스냅샷이 반영한 저널 위치
+
+    @Autowired
+    public PointSnapshotter(PointJournal pointJournal,
+                            @Value("${point.snapshot.dir:data/snapshot}") String directory,
+                            @Value("${point.snapshot.interval-ms:60000}") long intervalMillis) {
+        this(pointJournal, Path.of(directory));
+        if (intervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::takeQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public PointSnapshotter(PointJournal pointJournal, Path directory) {
+        this.pointJournal = pointJournal;
+        this.directory = directory;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("point-snapshotter").daemon(true).factory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 디렉터리를 만들 수 없습니다. dir=" + directory, e);
+        }
+        latest().ifPresent(snapshot -> {
+            snapshot.balances().forEach(userPoint -> balances.put(userPoint.id(), userPoint));
+            position = snapshot.position();
+        });
+        // 스냅샷을 저장하기 전에 멈춰 남은 내역 파일은 지운다. 그 구간은 다음 스냅샷이 다시 저장한다.
+        for (Path history : files(HISTORY_PREFIX, HISTORY_SUFFIX)) {
+            if (compare(positionOf(history, HISTORY_PREFIX), position) > 0) {
+                deleteQuietly(history);
+            }
+        }
+    }
+
+    /**
+     * 가장 최근에 완성된 스냅샷을 읽는다. 손상된 파일은 건너뛴다.
+     * @return 최근 스냅샷. 없으면 빈 값
+     */
+    public Optional<Snapshot> latest() {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                return Optional.of(read(snapshots.get(i)));
+            } catch (IOException | IllegalStateException e) {
+                log.warn("스냅샷을 읽을 수 없어 이전 스냅샷을 사용합니다. file={}", snapshots.get(i), e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * to 위치까지 내역 파일에 저장된 내역을 기록된 순서대로 읽는다. 스냅샷으로 복원할 때 스냅샷 이전의 내역을 되살린다.
+     * @param to 스냅샷이 반영한 저널 위치
+     * @param consumer 내역 레코드를 처리할 작업
+     */
+    public void replayHistories(Position to, Consumer<Entry> consumer) {
+        historiesUntil(to).forEach(consumer);
+    }
+
+    /**
+     * 현재 저널 위치까지 반영한 스냅샷을 저장한다.
+     * @return 저장한 스냅샷
+     */
+    public Snapshot take() {
+        snapshotLock.lock();
+        try {
+            Position to = pointJournal.position();
+            List<Entry> histories = new ArrayList<>();
+            pointJournal.replay(position, to, entry -> {
+                switch (entry.kind()) {
+                    case BALANCE -> balances.put(entry.userId(), new UserPoint(entry.userId(), entry.amount(), entry.updateMillis()));
+                    case HISTORY -> histories.add(entry);
+                }
+            });
+            List<UserPoint> sorted = new ArrayList<>(balances.values());
+            sorted.sort(Comparator.comparingLong(UserPoint::id));
+            Snapshot snapshot = new Snapshot(to, sorted);
+            if (!histories.isEmpty()) {
+                List<Entry> all = historiesUntil(position);
+                all.addAll(histories);
+                writeHistories(to, all);
+            }
+            write(snapshot);
+            position = to;
+            truncateJournal();
+            deleteCoveredHistories();
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 저장할 수 없습니다. dir=" + directory, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void takeQuietly() {
+        try {
+            Snapshot snapshot = take();
+            log.info("스냅샷을 저장했습니다. users={}, position={}", snapshot.balances().size(), snapshot.position());
+        } catch (RuntimeException e) {
+            log.error("스냅샷 저장에 실패했습니다.", e);
+        }
+    }
+
+    private void write(Snapshot snapshot) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d-%010d%s", SNAPSHOT_PREFIX,
+                snapshot.position().segment(), snapshot.position().offset(), SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + snapshot.balances().size() * ENTRY_SIZE + Long.BYTES);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(snapshot.position().segment())
+                .putInt(snapshot.position().offset())
+                .putInt(snapshot.balances().size());
+        for (UserPoint userPoint : snapshot.balances()) {
+            buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+        }
+        buffer.putLong(checksum(buffer.array(), buffer.position()));
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer.flip());
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - RETAINED_SNAPSHOTS; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private void writeHistories(Position to, List<Entry> histories) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d-%010d%s", HISTORY_PREFIX, to.segment(), to.offset(), HISTORY_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(HISTORY_HEADER_SIZE + histories.size() * HISTORY_ENTRY_SIZE + Long.BYTES);
+        buffer.putInt(HISTORY_MAGIC)
+                .putInt(HISTORY_VERSION)
+                .putInt(histories.size());
+        for (Entry history : histories) {
+            buffer.putLong(history.userId()).putLong(history.amount()).putLong(history.updateMillis()).putInt(history.type().ordinal());
+        }
+        buffer.putLong(checksum(buffer.array(), buffer.position()));
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer.flip());
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * to 위치까지의 모든 내역. 마지막 VERSION 2 파일부터 to 이하의 파일을 차례로 이어 읽는다.
+     */
+    private List<Entry> historiesUntil(Position to) {
+        List<Entry> histories = new ArrayList<>();
+        for (Path history : files(HISTORY_PREFIX, HISTORY_SUFFIX)) {
+            if (compare(positionOf(history, HISTORY_PREFIX), to) > 0) {
+                break;
+            }
+            try {
+                if (historyVersion(history) == HISTORY_VERSION) {
+                    histories.clear();
+                }
+                histories.addAll(readHistories(history));
+            } catch (IOException e) {
+                throw new UncheckedIOException("내역 파일을 읽을 수 없습니다. file=" + history, e);
+            }
+        }
+        return histories;
+    }
+
+    /**
+     * 남아있는 가장 오래된 스냅샷 위치 이하의 VERSION 2 내역 파일 중 마지막 파일이 그 스냅샷까지의 내역을 모두 담고 있으므로, 그보다 앞선 내역 파일을 지운다.
+     */
+    private void deleteCoveredHistories() throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        Position oldest = positionOf(snapshots.get(0), SNAPSHOT_PREFIX);
+        List<Path> histories = files(HISTORY_PREFIX, HISTORY_SUFFIX);
+        int covering = -1;
+        for (int i = 0; i < histories.size() && compare(positionOf(histories.get(i), HISTORY_PREFIX), oldest) <= 0; i++) {
+            if (historyVersion(histories.get(i)) == HISTORY_VERSION) {
+                covering = i;
+            }
+        }
+        for (int i = 0; i < covering; i++) {
+            deleteQuietly(histories.get(i));
+        }
+    }
+
+    private static int historyVersion(Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            byte[] header = input.readNBytes(Integer.BYTES * 2);
+            return header.length < Integer.BYTES * 2 ? -1 : ByteBuffer.wrap(header).getInt(Integer.BYTES);
+        }
+    }
+
+    private static List<Entry> readHistories(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HISTORY_HEADER_SIZE + Long.BYTES || buffer.getInt() != HISTORY_MAGIC) {
+            throw new IllegalStateException("내역 파일 형식이 아닙니다. file=" + path);
+        }
+        int version = buffer.getInt();
+        if (version != HISTORY_VERSION && version != INCREMENTAL_HISTORY_VERSION) {
+            throw new IllegalStateException("내역 파일 형식이 아닙니다. file=" + path);
+        }
+        if (buffer.getLong(bytes.length - Long.BYTES) != checksum(bytes, bytes.length - Long.BYTES)) {
+            throw new IllegalStateException("내역 파일 체크섬이 맞지 않습니다. file=" + path);
+        }
+        int count = buffer.getInt();
+        List<Entry> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long userId = buffer.getLong();
+            long amount = buffer.getLong();
+            long updateMillis = buffer.getLong();
+            histories.add(Entry.history(userId, amount, TransactionType.values()[buffer.getInt()], updateMillis));
+        }
+        return histories;
+    }
+
+    /**
+     * 남아있는 가장 오래된 스냅샷보다 앞선 저널 세그먼트를 지운다. 최신 스냅샷이 손상되어도 이전 스냅샷과 그 이후의 저널로 복원할 수 있다.
+     */
+    private void truncateJournal() {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        int deleted = pointJournal.deleteSegmentsBefore(positionOf(snapshots.get(0), SNAPSHOT_PREFIX).segment());
+        if (deleted > 0) {
+            log.info("스냅샷에 반영된 저널 세그먼트를 지웠습니다. segments={}", deleted);
+        }
+    }
+    private static Snapshot read(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE + Long.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("스냅샷 파일 형식이 아닙니다. file=" + path);
+        }
+        if (buffer.getLong(bytes.length - Long.BYTES) != checksum(bytes, bytes.length - Long.BYTES)) {
+            throw new IllegalStateException("스냅샷 체크섬이 맞지 않습니다. file=" + path);
+        }
+        Position position = new Position(buffer.getLong(), buffer.getInt());
+        int count = buffer.getInt();
+        List<UserPoint> balances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            balances.add(new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+        }
+        return new Snapshot(position, balances);
+    }
+
+    private static long checksum(byte[] bytes, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, length);
+        return crc32.getValue();
+    }
+
+    private List<Path> snapshots() {
+        return files(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    }
+
+    private List<Path> files(String prefix, String suffix) {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith(prefix)
+                            && path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽을 수 없습니다. dir=" + directory, e);
+        }
+    }
+
+    /**
+     * 파일 이름에 담긴 저널 위치. (prefix 세그먼트 번호(20자리) - 세그먼트 안 위치(10자리))
+     */
+    private static Position positionOf(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        int segmentEnd = prefix.length() + 20;
+        return new Position(Long.parseLong(name.substring(prefix.length(), segmentEnd)),
+                Integer.parseInt(name.substring(segmentEnd + 1, segmentEnd + 11)));
+    }
+
+    private static int compare(Position left, Position right) {
+        int segment = Long.compare(left.segment(), right.segment());
+        return segment != 0 ? segment : Integer.compare(left.offset(), right.offset());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("파일을 지울 수 없습니다. file={}", path, e);
+        }
+    }
+
+    /**
+     * 스냅샷
+     * @param position 스냅샷이 반영한 저널 위치. 재시작할 때는 이 위치부터 저널을 재생한다.
+     * @param balances 사용자 ID 순으로 정렬된 포인트
+     */
+    public record Snapshot(Position position, List<UserPoint> balances) {
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointStats;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 포인트 거래 집계.
+ * 내역이 추가될 때마다 집계를 갱신해, 내역을 다시 읽지 않고 O(1) 로 조회한다.
+ */
+public class PointStatsIndex {
+
+    private final ConcurrentHashMap<Long, PointStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * 추가된 내역을 집계에 반영한다.
+     */
+    public void add(long userId, long amount, TransactionType type, long updateMillis) {
+        stats.compute(userId, (key, current) -> (current == null ? PointStats.empty(userId) : current).plus(amount, type, updateMillis));
+    }
+
+    /**
+     * 사용자의 집계를 반환한다. 거래가 없으면 빈 집계를 반환한다.
+     */
+    public PointStats find(long userId) {
+        PointStats userStats = stats.get(userId);
+        return userStats == null ? PointStats.empty(userId) : userStats;
+    }
+}
@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 잔액은 UserBalanceMap 에 보관하고, 내역은 기존 저장소에 맡기는 PointRepository. (point.balance.store=primitive)
+ * - UserPointTable 의 HashMap&lt;Long, UserPoint&gt; 대신 long 배열에 ID, 잔액, 갱신 시각을 나눠 담아 사용자당 메모리를 줄인다.
+ *   UserPoint 는 조회 결과로 반환할 때만 만든다.
+ * - 잔액 순위는 저장할 때 함께 갱신하는 PointLeaderboard 로 O(log n) 에 조회한다. 순위 조회는 잔액 맵의 락을 잡지 않으므로,
+ *   순위를 조회하는 동안에도 저장이 막히지 않는다.
+ * - 조회는 읽기 락, 저장은 쓰기 락 안에서 처리한다. StampedLock 의 읽기 락은 ReentrantReadWriteLock 과 달리
+ *   스레드별 재진입 횟수를 기록하지 않으므로 조회에서 객체를 할당하지 않는다.
+ */
+public class PrimitivePointRepository implements PointRepository {
+
+    private final PointRepository historyRepository;
+    private final UserBalanceMap balances;
+    private final PointLeaderboard pointLeaderboard = new PointLeaderboard();
+    private final StampedLock lock = new StampedLock(); // 잔액 맵과 순위 색인을 같은 순서로 갱신하도록 저장은 쓰기 락 안에서 한다.
+
+    public PrimitivePointRepository(PointRepository historyRepository) {
+        this(historyRepository, 0);
+    }
+
+    /**
+     * @param historyRepository 내역과 집계를 저장할 저장소
+     * @param expectedUsers 배열을 늘리지 않고 보관할 사용자 수. 사용자 수를 알면 늘릴 때의 복사와 일시적인 메모리 증가를 피할 수 있다.
+     */
+    public PrimitivePointRepository(PointRepository historyRepository, int expectedUsers) {
+        this.historyRepository = historyRepository;
+        this.balances = new UserBalanceMap(expectedUsers);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        long stamp = lock.writeLock();
+        try {
+            balances.put(id, amount, updateMillis);
+            pointLeaderboard.update(id, amount);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * 두 사용자를 한 번의 쓰기 락 안에서 저장해, 조회하는 쪽이 한쪽만 반영된 상태를 보지 않도록 한다.
+     */
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        long updateMillis = System.currentTimeMillis();
+        long stamp = lock.writeLock();
+        try {
+            balances.put(firstId, firstAmount, updateMillis);
+            balances.put(secondId, secondAmount, updateMillis);
+            pointLeaderboard.update(firstId, firstAmount);
+            pointLeaderboard.update(secondId, secondAmount);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return List.of(new UserPoint(firstId, firstAmount, updateMillis), new UserPoint(secondId, secondAmount, updateMillis));
+    }
+
+    @Override
+    public void restoreHistories(List<PointHistory> histories) {
+        historyRepository.restoreHistories(histories);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long stamp = lock.readLock();
+        try {
+            int index = balances.indexOf(id);
+            if (index >= 0) {
+                return new UserPoint(id, balances.point(index), balances.updateMillis(index));
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return UserPoint.empty(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return historyRepository.selectHistoriesById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return historyRepository.selectHistoriesById(id, query);
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return historyRepository.insertHistory(id, amount, type, updateMillis);
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return historyRepository.selectStatsById(id);
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return pointLeaderboard.top(limit);
+    }
+
+    /**
+     * 잔액이 저장된 적 없는 사용자는 잔액 0 인 사용자로 순위를 계산한다.
+     */
+    @Override
+    public PointRank selectRankById(long id) {
+        return pointLeaderboard.rank(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return pointLeaderboard.countAhead(point, userId);
+    }
+
+    @Override
+    public void close() {
+        historyRepository.close();
+    }
+
+    /**
+     * 잔액이 저장된 사용자 수
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return balances.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
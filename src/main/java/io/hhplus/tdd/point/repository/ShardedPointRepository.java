@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자를 PointShardRing 으로 나눠 샤드별 저장소에 보관하는 PointRepository. (point.concurrency.mode=sharded)
+ * - 샤드마다 UserPointTable/PointHistoryTable 과 캐시, 색인을 따로 가지므로 샤드끼리 자료구조를 공유하지 않는다.
+ *   샤드 스레드 밖에서도 샤드 저장소를 호출하므로(내역 저장, 조회) 샤드 저장소는 자신의 락으로 동시 접근을 막는다.
+ * - 한 사용자의 잔액과 내역은 항상 같은 샤드에 저장된다.
+ *   내역 ID 는 샤드마다 따로 발급되므로 한 사용자의 내역 안에서만 증가 순서가 보장된다.
+ * - 상위 사용자 조회와 순위 조회는 모든 샤드의 결과를 합쳐 계산한다. 샤드를 차례로 읽으므로 동시에 바뀐 잔액은 반영 시점이 샤드마다 다를 수 있다.
+ */
+public class ShardedPointRepository implements PointRepository {
+
+    private static final Comparator<PointRank> RANK_ORDER = Comparator.comparingLong(PointRank::point).reversed()
+            .thenComparingLong(PointRank::userId);
+
+    private final PointShardRing pointShardRing;
+    private final List<PointRepository> shards;
+
+    public ShardedPointRepository(PointShardRing pointShardRing, List<PointRepository> shards) {
+        if (shards.size() != pointShardRing.shardCount()) {
+            throw new IllegalArgumentException("샤드 저장소 수가 샤드 수와 다릅니다.");
+        }
+        this.pointShardRing = pointShardRing;
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * 사용자가 배정된 샤드의 저장소
+     * @param id 사용자 ID
+     */
+    public PointRepository shard(long id) {
+        return shards.get(pointShardRing.shardOf(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return shard(id).insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public List<UserPoint> insertOrUpdatePair(long firstId, long firstAmount, long secondId, long secondAmount) {
+        PointRepository first = shard(firstId);
+        PointRepository second = shard(secondId);
+        if (first == second) {
+            return first.insertOrUpdatePair(firstId, firstAmount, secondId, secondAmount);
+        }
+        return List.of(first.insertOrUpdate(firstId, firstAmount), second.insertOrUpdate(secondId, secondAmount));
+    }
+
+    @Override
+    public void restoreBalances(Map<Long, Long> balances) {
+        List<Map<Long, Long>> byShard = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            byShard.add(new HashMap<>());
+        }
+        balances.forEach((id, amount) -> byShard.get(pointShardRing.shardOf(id)).put(id, amount));
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).restoreBalances(byShard.get(i));
+        }
+    }
+
+    /**
+     * 내역을 샤드별로 나누되 샤드 안에서는 기록된 순서를 유지한다.
+     */
+    @Override
+    public void restoreHistories(List<PointHistory> histories) {
+        List<List<PointHistory>> byShard = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            byShard.add(new ArrayList<>());
+        }
+        histories.forEach(history -> byShard.get(pointShardRing.shardOf(history.userId())).add(history));
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).restoreHistories(byShard.get(i));
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return shard(id).selectById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        return shard(id).selectHistoriesById(id);
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id, PointHistoryQuery query) {
+        return shard(id).selectHistoriesById(id, query);
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return shard(id).insertHistory(id, amount, type, updateMillis);
+    }
+
+    @Override
+    public PointStats selectStatsById(long id) {
+        return shard(id).selectStatsById(id);
+    }
+
+    /**
+     * 샤드마다 상위 limit 명을 가져와 합친 뒤 다시 순위를 매긴다.
+     */
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        List<PointRank> candidates = new ArrayList<>();
+        for (PointRepository shard : shards) {
+            candidates.addAll(shard.selectTopByPoint(limit));
+        }
+        candidates.sort(RANK_ORDER);
+        List<PointRank> ranks = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (PointRank candidate : candidates) {
+            if (ranks.size() == limit) {
+                break;
+            }
+            ranks.add(new PointRank(ranks.size() + 1, candidate.userId(), candidate.point()));
+        }
+        return ranks;
+    }
+
+    /**
+     * 사용자가 속한 샤드 안의 순위에 다른 샤드에서 앞선 사용자 수를 더한다.
+     */
+    @Override
+    public PointRank selectRankById(long id) {
+        PointRepository own = shard(id);
+        PointRank pointRank = own.selectRankById(id);
+        long rank = pointRank.rank();
+        for (PointRepository shard : shards) {
+            if (shard != own) {
+                rank += shard.countAhead(pointRank.point(), id);
+            }
+        }
+        return new PointRank(rank, id, pointRank.point());
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        long count = 0;
+        for (PointRepository shard : shards) {
+            count += shard.countAhead(point, userId);
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(PointRepository::close);
+    }
+}
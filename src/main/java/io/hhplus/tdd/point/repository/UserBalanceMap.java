@@ -0,0 +1,195 @@
+package io.hhplus.tdd.point.repository;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 ID(long)를 키로 잔액과 갱신 시각을 기본형 배열에 보관하는 open addressing 해시 맵.
+ * - Long 박싱, 맵 엔트리, UserPoint 객체를 만들지 않으므로 조회와 갱신에서 객체를 할당하지 않는다.
+ * - 충돌은 선형 탐사(linear probing)로 해결하고, 사용 중인 칸이 3/4 을 넘으면 두 배로 늘린다.
+ * - 칸 번호(index)는 다음 put/remove 전까지만 유효하다.
+ * - 스레드에 안전하지 않다. 한 스레드만 사용하거나 호출하는 쪽에서 동기화해야 한다.
+ */
+public final class UserBalanceMap {
+
+    private static final long EMPTY = Long.MIN_VALUE; // 빈 칸을 나타내는 키. 이 값을 ID 로 쓰는 사용자는 배열 끝의 예비 칸에 보관한다.
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] ids;
+    private long[] points;
+    private long[] updateMillis;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeThreshold;
+    private boolean hasEmptyId;
+
+    public UserBalanceMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 늘리지 않고 보관할 사용자 수
+     */
+    public UserBalanceMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * 사용자가 보관된 칸 번호. 없으면 -1 을 반환한다.
+     * @param id 사용자 ID
+     */
+    public int indexOf(long id) {
+        if (id == EMPTY) {
+            return hasEmptyId ? mask + 1 : -1;
+        }
+        for (int index = slot(id); ; index = (index + 1) & mask) {
+            long stored = ids[index];
+            if (stored == id) {
+                return index;
+            }
+            if (stored == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 사용자의 잔액과 갱신 시각을 저장한다. 이미 있으면 덮어쓴다.
+     * @param id 사용자 ID
+     * @param point 잔액
+     * @param updateMillis 갱신 시각
+     * @return 저장된 칸 번호
+     */
+    public int put(long id, long point, long updateMillis) {
+        if (id == EMPTY) {
+            if (!hasEmptyId) {
+                hasEmptyId = true;
+                size++;
+            }
+            return set(mask + 1, id, point, updateMillis);
+        }
+        int index = slot(id);
+        for (; ids[index] != EMPTY; index = (index + 1) & mask) {
+            if (ids[index] == id) {
+                return set(index, id, point, updateMillis);
+            }
+        }
+        if (size + 1 > resizeThreshold) {
+            resize();
+            return put(id, point, updateMillis);
+        }
+        size++;
+        return set(index, id, point, updateMillis);
+    }
+
+    /**
+     * 사용자를 제거한다. 뒤따르는 칸의 사용자를 앞으로 당겨 탐사 경로가 끊기지 않도록 한다.(backward shift deletion)
+     * @param id 사용자 ID
+     * @return 제거했으면 true
+     */
+    public boolean remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        size--;
+        if (id == EMPTY) {
+            hasEmptyId = false;
+            return true;
+        }
+        int hole = index;
+        for (int next = (hole + 1) & mask; ids[next] != EMPTY; next = (next + 1) & mask) {
+            // 원래 위치에서 next 까지의 거리가 빈 칸에서 next 까지의 거리 이상이면 빈 칸으로 옮겨도 탐사로 찾을 수 있다.
+            if (((next - slot(ids[next])) & mask) >= ((next - hole) & mask)) {
+                set(hole, ids[next], points[next], updateMillis[next]);
+                hole = next;
+            }
+        }
+        ids[hole] = EMPTY;
+        return true;
+    }
+
+    /**
+     * 칸에 사용자가 있는지 확인한다. 전체 사용자를 훑을 때 0 부터 capacity() 까지(예비 칸 포함)의 칸 번호에 사용한다.
+     * @param index 칸 번호
+     */
+    public boolean isOccupied(int index) {
+        return index == mask + 1 ? hasEmptyId : ids[index] != EMPTY;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public long point(int index) {
+        return points[index];
+    }
+
+    public long updateMillis(int index) {
+        return updateMillis[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 해시 칸 수. 배열은 예비 칸 하나를 더해 capacity() + 1 칸이다.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private int set(int index, long id, long point, long millis) {
+        ids[index] = id;
+        points[index] = point;
+        updateMillis[index] = millis;
+        return index;
+    }
+
+    // 곱셈 해시(Fibonacci hashing)의 상위 비트를 사용해 연속된 ID 도 배열 전체에 고르게 흩어지도록 한다.
+    private int slot(long id) {
+        return (int) ((id * 0x9e3779b97f4a7c15L) >>> shift);
+    }
+
+    private void resize() {
+        long[] oldIds = ids;
+        long[] oldPoints = points;
+        long[] oldUpdateMillis = updateMillis;
+        int oldCapacity = mask + 1;
+        allocate(oldCapacity * 2);
+        if (hasEmptyId) {
+            set(mask + 1, EMPTY, oldPoints[oldCapacity], oldUpdateMillis[oldCapacity]);
+        }
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldIds[i] != EMPTY) {
+                int index = slot(oldIds[i]);
+                while (ids[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                set(index, oldIds[i], oldPoints[i], oldUpdateMillis[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity + 1];
+        points = new long[capacity + 1];
+        updateMillis = new long[capacity + 1];
+        Arrays.fill(ids, EMPTY);
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * 3L / 4);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("예상 사용자 수는 0 이상이어야 합니다.");
+        }
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, expectedSize * 4L / 3)) << 1);
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("보관할 수 있는 사용자 수를 넘었습니다.");
+        }
+        return (int) capacity;
+    }
+}
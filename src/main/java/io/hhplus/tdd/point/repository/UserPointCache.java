@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자별 최신 포인트를 보관하는 LRU 캐시.
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 사용자부터 제거한다.
+ * - 최대 크기가 0 이하이면 아무것도 보관하지 않는다.
+ */
+public class UserPointCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<Long, UserPoint> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(int maxSize) {
+        this.maxSize = maxSize;
+        // accessOrder 를 true 로 두면 조회할 때마다 순서가 갱신되어 LRU 로 동작한다.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                boolean evict = size() > UserPointCache.this.maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 포인트를 조회한다. 없으면 null 을 반환한다.
+     */
+    public UserPoint get(long id) {
+        UserPoint userPoint;
+        synchronized (entries) {
+            userPoint = entries.get(id);
+        }
+        if (userPoint == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 저장된 최신 포인트로 캐시를 갱신한다.(write-through)
+     */
+    public void put(UserPoint userPoint) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(userPoint.id(), userPoint);
+        }
+    }
+
+    /**
+     * 캐시에 값이 없을 때만 저장한다.
+     * 조회 도중 다른 요청이 더 최신 값을 저장했다면 조회한 값으로 덮어쓰지 않는다.
+     */
+    public void putIfAbsent(UserPoint userPoint) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.putIfAbsent(userPoint.id(), userPoint);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
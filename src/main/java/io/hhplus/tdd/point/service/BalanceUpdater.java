@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 포인트를 조회하고 갱신하는 동시성 제어 전략.
+ * point.concurrency.mode 설정에 따라 구현체가 선택된다.
+ */
+public interface BalanceUpdater {
+
+    /**
+     * 사용자의 현재 포인트를 조회한다.
+     * @param id 사용자 ID
+     * @return 사용자의 현재 포인트
+     */
+    UserPoint current(long id);
+
+    /**
+     * 사용자의 포인트를 계산식에 따라 갱신한다.
+     * - calculation 은 현재 포인트를 받아 새 포인트를 반환하거나, 처리할 수 없으면 IllegalArgumentException 을 던진다.
+     *   구현체에 따라 여러 번 호출될 수 있으므로 외부 상태를 바꾸지 않아야 한다.
+     * - 계산 결과가 현재 포인트와 같으면 저장하지 않는다.
+     * - onCommitted 는 갱신이 확정된 뒤 한 번만 호출된다.
+     * @param id 사용자 ID
+     * @param calculation 포인트 계산식
+     * @param onCommitted 갱신 확정 후 실행할 작업 (내역 저장 등)
+     * @return 갱신 후 사용자의 포인트
+     */
+    default UserPoint update(long id, LongUnaryOperator calculation, Consumer<UserPoint> onCommitted) {
+        return update(id, calculation, List::of, onCommitted);
+    }
+
+    /**
+     * 사용자의 포인트를 갱신하면서 이 갱신으로 생긴 내역을 잔액과 함께 저장소에 넘긴다. (PointRepository.insertOrUpdate 참고)
+     * - histories 는 calculation 이 성공한 시도마다 그 직후에 호출되며, 그 시도의 내역을 반환한다.
+     * - 계산 결과가 현재 포인트와 같아도 내역이 있으면 저장한다.
+     * - 잔액을 모아서 늦게 저장하는 구현체는 잔액과 내역을 함께 넘길 수 없으므로 내역을 넘기지 않고, 저널과 함께 사용할 수 없다.
+     * @param histories 이 갱신으로 생긴 내역
+     */
+    UserPoint update(long id, LongUnaryOperator calculation, Supplier<List<PointOperation>> histories, Consumer<UserPoint> onCommitted);
+
+    /**
+     * 두 사용자의 포인트를 함께 갱신한다. 두 갱신은 모두 반영되거나, 어느 한쪽의 계산식이 실패하면 모두 반영되지 않는다.
+     * - 두 사용자는 항상 ID 순서로 잠가, 서로 반대 방향의 이체가 동시에 들어와도 교착 상태가 생기지 않는다.
+     * - 계산식과 onCommitted 의 규칙은 update 와 같다.
+     * @param fromId 보내는 사용자 ID
+     * @param toId 받는 사용자 ID
+     * @param debit 보내는 사용자의 포인트 계산식
+     * @param credit 받는 사용자의 포인트 계산식
+     * @param onCommitted 갱신 확정 후 실행할 작업 (보낸 사용자, 받은 사용자의 갱신 후 포인트)
+     * @return 갱신 후 두 사용자의 포인트
+     */
+    default PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                                   BiConsumer<UserPoint, UserPoint> onCommitted) {
+        return transfer(fromId, toId, debit, credit, List::of, onCommitted);
+    }
+
+    /**
+     * 두 사용자의 포인트를 함께 갱신하면서 이 갱신으로 생긴 내역을 두 잔액과 함께 저장소에 넘긴다. (PointRepository.insertOrUpdatePair 참고)
+     * - histories 의 규칙은 update 와 같다.
+     * @param histories 이 갱신으로 생긴 내역
+     */
+    PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                           Supplier<List<PointOperation>> histories, BiConsumer<UserPoint, UserPoint> onCommitted);
+}
@@ -0,0 +1,187 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.DeadlineExceededException;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 같은 사용자를 기다리는 요청을 한 묶음으로 모아 처리하는 전략. (point.concurrency.mode=coalescing)
+ * - 요청은 사용자별 대기 큐에 들어간 뒤 사용자 락을 기다린다.
+ * - 락을 먼저 얻은 스레드가 큐에 쌓인 요청을 도착 순서대로 한 번의 조회에 적용하고, 한 번만 저장한다.
+ * - 요청마다 잔액 부족 등을 따로 검사하므로 실패한 요청만 예외로 끝나고, 나머지는 각자의 결과를 받는다.
+ * - 락을 얻었을 때 이미 다른 스레드가 처리해 둔 요청은 결과만 가져간다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "coalescing")
+public class CoalescingBalanceUpdater implements BalanceUpdater {
+
+    private final PointRepository pointRepository;
+    private final UserLockManager userLockManager;
+    private final PointMetrics pointMetrics;
+    private final int maxGroupSize;
+    private final ConcurrentHashMap<Long, Queue<PendingUpdate>> pendingUpdates = new ConcurrentHashMap<>();
+
+    public CoalescingBalanceUpdater(PointRepository pointRepository, UserLockManager userLockManager, PointMetrics pointMetrics,
+                                    @Value("${point.coalescing.max-group-size:256}") int maxGroupSize) {
+        if (maxGroupSize <= 0) {
+            throw new IllegalArgumentException("묶음 크기는 0보다 커야 합니다.");
+        }
+        this.pointRepository = pointRepository;
+        this.userLockManager = userLockManager;
+        this.pointMetrics = pointMetrics;
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    @Override
+    public UserPoint current(long id) {
+        Optional<UserPoint> optionalUserPoint = Optional.ofNullable(pointRepository.selectById(id)); // 유저 정보를 조회
+        return optionalUserPoint.orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
+    }
+
+    @Override
+    public UserPoint update(long id, LongUnaryOperator calculation, Supplier<List<PointOperation>> histories,
+                            Consumer<UserPoint> onCommitted) {
+        PendingUpdate pendingUpdate = new PendingUpdate(calculation, histories, onCommitted);
+        Queue<PendingUpdate> queue = pendingUpdates.computeIfAbsent(id, key -> new ConcurrentLinkedQueue<>());
+        queue.add(pendingUpdate);
+        long requested = System.nanoTime();
+        try {
+            userLockManager.executeWithLock(id, () -> {
+                pointMetrics.recordLockWait(System.nanoTime() - requested);
+                while (!pendingUpdate.result.isDone()) {
+                    commitGroup(id, queue);
+                }
+                // 비워진 큐는 제거한다. 제거 직후 들어온 요청은 자신이 넣은 큐를 직접 처리하므로 유실되지 않는다.
+                if (queue.isEmpty()) {
+                    pendingUpdates.remove(id, queue);
+                }
+                return null;
+            });
+        } catch (DeadlineExceededException e) {
+            // 아직 큐에 남아 있으면 반영되지 않은 요청이므로 꺼내고 실패시킨다.
+            // 이미 다른 스레드가 꺼내 처리 중이면 결과가 반영되므로 그 결과를 기다린다.
+            if (queue.remove(pendingUpdate)) {
+                throw e;
+            }
+        }
+        try {
+            return pendingUpdate.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 두 사용자의 락을 ID 순서로 잡고, 먼저 들어와 대기 중인 두 사용자의 요청을 모두 반영한 뒤 이체를 반영한다.
+     */
+    @Override
+    public PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                                  Supplier<List<PointOperation>> histories, BiConsumer<UserPoint, UserPoint> onCommitted) {
+        long requested = System.nanoTime();
+        return userLockManager.executeWithLocks(fromId, toId, () -> {
+            pointMetrics.recordLockWait(System.nanoTime() - requested);
+            drain(fromId);
+            drain(toId);
+            PointTransfer pointTransfer = LockingBalanceUpdater.commitTransfer(pointRepository, current(fromId), current(toId), debit, credit, histories);
+            onCommitted.accept(pointTransfer.from(), pointTransfer.to());
+            return pointTransfer;
+        });
+    }
+
+    /**
+     * 사용자의 대기 큐를 모두 반영한다. 사용자 락 안에서만 호출된다.
+     */
+    private void drain(long id) {
+        Queue<PendingUpdate> queue = pendingUpdates.get(id);
+        while (queue != null && !queue.isEmpty()) {
+            commitGroup(id, queue);
+        }
+    }
+
+    /**
+     * 대기 큐에서 최대 묶음 크기만큼 꺼내 조회 한 번, 저장 한 번으로 처리한다. 사용자 락 안에서만 호출된다.
+     */
+    private void commitGroup(long id, Queue<PendingUpdate> queue) {
+        List<PendingUpdate> group = new ArrayList<>();
+        PendingUpdate next;
+        while (group.size() < maxGroupSize && (next = queue.poll()) != null) {
+            group.add(next);
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+        pointMetrics.recordCoalescedGroup(group.size());
+        UserPoint userPoint;
+        try {
+            userPoint = current(id);
+        } catch (RuntimeException e) {
+            group.forEach(pendingUpdate -> pendingUpdate.result.completeExceptionally(e));
+            return;
+        }
+        long point = userPoint.point();
+        List<PendingUpdate> applied = new ArrayList<>();
+        List<Long> pointAfter = new ArrayList<>(); // 요청별 반영 직후 잔액
+        List<PointOperation> recorded = new ArrayList<>(); // 묶음 전체의 내역. 잔액과 함께 한 번에 저장한다.
+        for (PendingUpdate pendingUpdate : group) {
+            try {
+                long calculated = pendingUpdate.calculation.applyAsLong(point);
+                recorded.addAll(pendingUpdate.histories.get());
+                point = calculated;
+                applied.add(pendingUpdate);
+                pointAfter.add(point);
+            } catch (RuntimeException e) {
+                pendingUpdate.result.completeExceptionally(e);
+            }
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+        long updateMillis = userPoint.updateMillis();
+        if (point != userPoint.point() || !recorded.isEmpty()) {
+            try {
+                updateMillis = pointRepository.insertOrUpdate(id, point, recorded).updateMillis();
+            } catch (RuntimeException e) {
+                applied.forEach(pendingUpdate -> pendingUpdate.result.completeExceptionally(e));
+                return;
+            }
+        }
+        for (int i = 0; i < applied.size(); i++) {
+            PendingUpdate pendingUpdate = applied.get(i);
+            UserPoint result = new UserPoint(id, pointAfter.get(i), updateMillis);
+            try {
+                pendingUpdate.onCommitted.accept(result);
+                pendingUpdate.result.complete(result);
+            } catch (RuntimeException e) {
+                pendingUpdate.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private record PendingUpdate(LongUnaryOperator calculation, Supplier<List<PointOperation>> histories,
+                                 Consumer<UserPoint> onCommitted, CompletableFuture<UserPoint> result) {
+        private PendingUpdate(LongUnaryOperator calculation, Supplier<List<PointOperation>> histories, Consumer<UserPoint> onCommitted) {
+            this(calculation, histories, onCommitted, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.IdempotencyKeyException;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별로 충전/사용 결과를 보관하는 캐시.
+ * - 같은 키로 다시 요청하면 작업을 다시 실행하지 않고 처음 요청의 결과를 반환한다.
+ * - 처음 요청이 아직 처리 중이면 두 번째 요청은 새로 실행하지 않고 같은 결과를 기다린다.
+ * - 실패한 요청은 보관하지 않으므로 같은 키로 재시도하면 다시 실행된다.
+ * - 결과는 ttl 동안만 보관하고, 완료된 결과가 최대 크기를 넘으면 가장 먼저 저장된 키부터 제거한다.
+ *   처리 중인 요청은 크기에 세지 않고 제거하지도 않는다. 제거하면 재시도가 같은 작업을 다시 실행하게 된다.
+ * - 키가 너무 길거나 같은 키로 다른 요청을 보내면 IdempotencyKeyException 으로 실패한다.
+ */
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    // 저장 순서와 만료 순서가 같으므로 삽입 순서를 유지하면 앞에서부터 만료된 키를 정리할 수 있다.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private int completedCount; // 완료된 결과 수. entries 의 락 안에서만 읽고 쓴다.
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @Autowired
+    public IdempotencyCache(@Value("${point.idempotency.max-size:10000}") int maxSize,
+                            @Value("${point.idempotency.ttl-ms:600000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    public IdempotencyCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 키에 해당하는 결과가 있으면 그 결과를, 없으면 작업을 실행한 결과를 반환한다.
+     * @param key Idempotency-Key. null 이거나 비어 있으면 캐시를 사용하지 않고 작업을 실행한다.
+     * @param userId 사용자 ID
+     * @param type 거래 유형
+     * @param amount 포인트 양
+     * @param action 실행할 작업
+     * @return 작업 결과
+     */
+    public CompletableFuture<UserPoint> execute(String key, long userId, TransactionType type, long amount,
+                                                Supplier<CompletableFuture<UserPoint>> action) {
+        if (key == null || key.isBlank() || maxSize <= 0) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.failedFuture(new IdempotencyKeyException("멱등성 키는 " + MAX_KEY_LENGTH + "자 이하여야 합니다."));
+        }
+        Request request = new Request(userId, type, amount);
+        Entry entry;
+        synchronized (entries) {
+            long now = clock.getAsLong();
+            removeExpired(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (!existing.request.equals(request)) {
+                    return CompletableFuture.failedFuture(new IdempotencyKeyException("같은 멱등성 키로 다른 요청을 처리할 수 없습니다."));
+                }
+                hits.increment();
+                return existing.result.copy(); // 호출자가 결과를 완료시키지 못하도록 복사본을 반환한다.
+            }
+            misses.increment();
+            entry = new Entry(request, new CompletableFuture<>(), now + ttlMillis);
+            entries.put(key, entry);
+        }
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, throwable) -> {
+            synchronized (entries) {
+                if (throwable != null) {
+                    entries.remove(key, entry);
+                } else if (entries.get(key) == entry) {
+                    entry.completed = true;
+                    completedCount++;
+                    evictCompleted();
+                }
+            }
+            if (throwable != null) {
+                entry.result.completeExceptionally(throwable);
+            } else {
+                entry.result.complete(userPoint);
+            }
+        });
+        return entry.result.copy();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.idempotency.requests", this, IdempotencyCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.requests", this, IdempotencyCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.evictions", this, IdempotencyCache::evictionCount)
+                .tag("reason", "size")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.evictions", this, IdempotencyCache::expirationCount)
+                .tag("reason", "expired")
+                .register(registry);
+        Gauge.builder("point.idempotency.size", this, IdempotencyCache::size)
+                .register(registry);
+    }
+
+    /**
+     * 보관 시간이 지난 완료된 결과를 제거한다. 처리 중인 요청은 완료된 뒤에 제거한다.
+     */
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt > now) {
+                break;
+            }
+            if (entry.completed) {
+                iterator.remove();
+                completedCount--;
+                expirations.increment();
+            }
+        }
+    }
+
+    /**
+     * 완료된 결과가 최대 크기를 넘으면 먼저 저장된 완료된 결과부터 제거한다.
+     */
+    private void evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (completedCount > maxSize && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.completed) {
+                iterator.remove();
+                completedCount--;
+                evictions.increment();
+            }
+        }
+    }
+
+    private record Request(long userId, TransactionType type, long amount) {
+    }
+
+    private static final class Entry {
+        private final Request request;
+        private final CompletableFuture<UserPoint> result;
+        private final long expiresAt;
+        private boolean completed; // 성공한 결과가 보관되었다. entries 의 락 안에서만 읽고 쓴다.
+
+        private Entry(Request request, CompletableFuture<UserPoint> result, long expiresAt) {
+            this.request = request;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
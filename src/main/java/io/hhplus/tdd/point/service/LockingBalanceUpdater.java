@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 락으로 조회-계산-저장을 순차 처리하는 전략. (point.concurrency.mode=lock, 기본값)
+ * onCommitted 도 락 안에서 실행되므로 같은 사용자의 내역은 갱신 순서대로 저장 큐에 들어간다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "lock", matchIfMissing = true)
+public class LockingBalanceUpdater implements BalanceUpdater {
+
+    private final PointRepository pointRepository;
+    private final UserLockManager userLockManager;
+    private final PointMetrics pointMetrics;
+
+    public LockingBalanceUpdater(PointRepository pointRepository, UserLockManager userLockManager, PointMetrics pointMetrics) {
+        this.pointRepository = pointRepository;
+        this.userLockManager = userLockManager;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public UserPoint current(long id) {
+        Optional<UserPoint> optionalUserPoint = Optional.ofNullable(pointRepository.selectById(id)); // 유저 정보를 조회
+        return optionalUserPoint.orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
+    }
+
+    @Override
+    public UserPoint update(long id, LongUnaryOperator calculation, Supplier<List<PointOperation>> histories,
+                            Consumer<UserPoint> onCommitted) {
+        long requested = System.nanoTime();
+        return userLockManager.executeWithLock(id, () -> { // 같은 사용자의 요청만 순차적으로 처리한다.
+            pointMetrics.recordLockWait(System.nanoTime() - requested);
+            UserPoint userPoint = current(id);
+            long point = calculation.applyAsLong(userPoint.point());
+            List<PointOperation> recorded = histories.get();
+            if (point != userPoint.point() || !recorded.isEmpty()) {
+                userPoint = pointRepository.insertOrUpdate(id, point, recorded);
+            }
+            onCommitted.accept(userPoint);
+            return userPoint;
+        });
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                                  Supplier<List<PointOperation>> histories, BiConsumer<UserPoint, UserPoint> onCommitted) {
+        long requested = System.nanoTime();
+        return userLockManager.executeWithLocks(fromId, toId, () -> {
+            pointMetrics.recordLockWait(System.nanoTime() - requested);
+            PointTransfer pointTransfer = commitTransfer(pointRepository, current(fromId), current(toId), debit, credit, histories);
+            onCommitted.accept(pointTransfer.from(), pointTransfer.to());
+            return pointTransfer;
+        });
+    }
+
+    /**
+     * 두 사용자의 락을 잡은 상태에서 이체를 계산하고 두 포인트와 이체 내역을 함께 저장한다.
+     */
+    static PointTransfer commitTransfer(PointRepository pointRepository, UserPoint from, UserPoint to,
+                                        LongUnaryOperator debit, LongUnaryOperator credit,
+                                        Supplier<List<PointOperation>> histories) {
+        long fromPoint = debit.applyAsLong(from.point());
+        long toPoint = credit.applyAsLong(to.point());
+        List<UserPoint> saved = pointRepository.insertOrUpdatePair(from.id(), fromPoint, to.id(), toPoint, histories.get());
+        return new PointTransfer(saved.get(0), saved.get(1));
+    }
+}
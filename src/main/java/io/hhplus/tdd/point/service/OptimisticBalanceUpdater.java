@@ -0,0 +1,420 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 락 없이 compare-and-set 으로 포인트를 갱신하는 낙관적 동시성 전략. (point.concurrency.mode=optimistic)
+ * - 사용자별 잔액과 버전을 메모리에 원자적으로 보관하고, 읽은 뒤 버전이 바뀌지 않았을 때만 반영한다.
+ * - 충돌하면 짧게 물러났다가(backoff) 다시 시도하며, 최대 재시도 횟수를 넘으면 요청을 거절한다.
+ * - 테이블 저장은 사용자마다 한 스레드씩 그때의 최신 버전을 반영한다. 요청은 자신의 버전이 저장될 때까지 기다린 뒤 반환하며,
+ *   기다리는 동안 쌓인 다른 요청의 변경은 한 번의 저장으로 함께 반영된다.
+ * - 이체는 두 사용자의 스냅샷을 ID 순서로 CAS 로 잠근 뒤 함께 교체하고, 두 잔액을 insertOrUpdatePair 로 함께 저장한다.
+ *   잠긴 스냅샷을 만난 갱신은 충돌로 보고 다시 시도한다.
+ * - onCommitted 는 사용자마다 버전 순서대로 실행한다. 앞 버전의 onCommitted 가 끝나지 않았으면 끝날 때까지 기다리므로,
+ *   같은 사용자의 내역은 커밋 순서대로 저장 큐에 들어간다. 짧게 바쁜 대기를 한 뒤에는 잠들고, 앞 버전을 마친 스레드가 깨운다.
+ * - 메모리에 보관하는 사용자 수는 point.optimistic.max-users 로 제한한다. 넘으면 먼저 불러온 사용자부터, 진행 중인 변경이 없고
+ *   테이블에 모두 반영된 사용자를 내보낸다. 내보낸 사용자는 다음 요청에서 테이블에서 다시 불러온다.
+ * - CAS 로 확정한 변경은 이미 onCommitted 로 알렸고 뒤의 버전이 그 위에 쌓였을 수 있으므로 되돌리지 않는다.
+ *   대신 저장소 저장이 실패하면 간격을 두 배씩(최대 1초) 늘리며 성공할 때까지 다시 저장하고, 저장된 뒤에 응답한다.
+ * - 저장은 여러 버전을 모아 최신 잔액만 반영하므로 잔액과 그 변경의 내역을 하나의 저널 묶음으로 기록할 수 없다.
+ *   그래서 저널(point.journal.enabled)을 켜면 시작하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "optimistic")
+public class OptimisticBalanceUpdater implements BalanceUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticBalanceUpdater.class);
+
+    private static final int SPIN_ATTEMPTS = 3;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000L;
+    private static final long MAX_PERSIST_BACKOFF_NANOS = 1_000_000_000L;
+    public static final int DEFAULT_MAX_USERS = 100_000;
+    private static final int EVICTION_ATTEMPTS = 8; // 한 번 불러올 때 내보내기를 시도할 최대 사용자 수
+    // 내보낸 사용자의 스냅샷. 잠긴 스냅샷처럼 보여 CAS 로 바꿀 수 없고, 만난 스레드는 사용자를 다시 불러온다.
+    private static final Snapshot EVICTED = new Snapshot(0, -1, 0, true);
+
+    private final PointRepository pointRepository;
+    private final PointMetrics pointMetrics;
+    private final int maxRetries;
+    private final int maxUsers;
+    private final ConcurrentHashMap<Long, UserBalance> balances = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> loadOrder = new ConcurrentLinkedQueue<>(); // 불러온 순서. 내보낼 사용자를 고를 때 사용한다.
+
+    public OptimisticBalanceUpdater(PointRepository pointRepository, PointMetrics pointMetrics, int maxRetries) {
+        this(pointRepository, pointMetrics, maxRetries, false);
+    }
+
+    public OptimisticBalanceUpdater(PointRepository pointRepository, PointMetrics pointMetrics, int maxRetries,
+                                    boolean journalEnabled) {
+        this(pointRepository, pointMetrics, maxRetries, DEFAULT_MAX_USERS, journalEnabled);
+    }
+
+    /**
+     * @param maxUsers 메모리에 보관할 최대 사용자 수. 진행 중인 변경이 있는 사용자는 내보내지 않으므로 잠시 넘을 수 있다.
+     */
+    @Autowired
+    public OptimisticBalanceUpdater(PointRepository pointRepository, PointMetrics pointMetrics,
+                                    @Value("${point.optimistic.max-retries:32}") int maxRetries,
+                                    @Value("${point.optimistic.max-users:100000}") int maxUsers,
+                                    @Value("${point.journal.enabled:false}") boolean journalEnabled) {
+        if (journalEnabled) {
+            throw new IllegalStateException("optimistic 모드는 저널(point.journal.enabled)과 함께 사용할 수 없습니다.");
+        }
+        if (maxUsers <= 0) {
+            throw new IllegalArgumentException("최대 사용자 수는 0보다 커야 합니다.");
+        }
+        this.pointRepository = pointRepository;
+        this.pointMetrics = pointMetrics;
+        this.maxRetries = maxRetries;
+        this.maxUsers = maxUsers;
+    }
+
+    @Override
+    public UserPoint current(long id) {
+        while (true) {
+            Snapshot current = load(id).snapshot.get();
+            if (current != EVICTED) {
+                return current.toUserPoint(id);
+            }
+        }
+    }
+
+    /**
+     * 메모리에 보관 중인 사용자 수
+     */
+    public int size() {
+        return balances.size();
+    }
+
+    @Override
+    public UserPoint update(long id, LongUnaryOperator calculation, Supplier<List<PointOperation>> histories,
+                            Consumer<UserPoint> onCommitted) {
+        // 잔액은 여러 버전을 모아 저장하므로 내역을 함께 넘기지 않는다. (저널과 함께 사용하지 않는다.)
+        UserBalance userBalance = load(id);
+        for (int attempt = 0; ; attempt++) {
+            Deadline.checkCurrent(); // 기한이 지났으면 더 재시도하지 않는다. CAS 전에 확인하므로 반영되지 않은 요청만 실패한다.
+            Snapshot current = userBalance.snapshot.get();
+            if (current == EVICTED) {
+                userBalance = load(id); // 내보낸 사용자이므로 다시 불러온다.
+                continue;
+            }
+            if (current.locked()) {
+                retry(attempt); // 이체가 진행 중이므로 끝날 때까지 물러난다.
+                continue;
+            }
+            long point = calculation.applyAsLong(current.point());
+            if (point == current.point()) {
+                UserPoint userPoint = current.toUserPoint(id);
+                awaitTurn(userBalance, current.version());
+                onCommitted.accept(userPoint);
+                return userPoint;
+            }
+            Snapshot next = new Snapshot(point, current.version() + 1, System.currentTimeMillis(), false);
+            if (userBalance.snapshot.compareAndSet(current, next)) {
+                UserPoint userPoint = next.toUserPoint(id);
+                awaitTurn(userBalance, current.version());
+                try {
+                    onCommitted.accept(userPoint);
+                } finally {
+                    announce(userBalance, next.version());
+                }
+                persist(id, userBalance, next.version());
+                return userPoint;
+            }
+            retry(attempt);
+        }
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                                  Supplier<List<PointOperation>> histories, BiConsumer<UserPoint, UserPoint> onCommitted) {
+        UserBalance from = load(fromId);
+        UserBalance to = load(toId);
+        for (int attempt = 0; ; attempt++) {
+            Deadline.checkCurrent();
+            if (from.snapshot.get() == EVICTED || to.snapshot.get() == EVICTED) {
+                from = load(fromId); // 내보낸 사용자이므로 다시 불러온다.
+                to = load(toId);
+                continue;
+            }
+            // 잠금 순서를 ID 순서로 고정해, 반대 방향의 이체끼리 서로의 잠금을 기다리며 재시도만 반복하지 않도록 한다.
+            UserBalance first = fromId < toId ? from : to;
+            UserBalance second = fromId < toId ? to : from;
+            Snapshot firstLocked = tryLock(first);
+            if (firstLocked == null) {
+                retry(attempt);
+                continue;
+            }
+            Snapshot secondLocked = tryLock(second);
+            if (secondLocked == null) {
+                first.snapshot.set(firstLocked.unlocked());
+                retry(attempt);
+                continue;
+            }
+            Snapshot fromLocked = fromId < toId ? firstLocked : secondLocked;
+            Snapshot toLocked = fromId < toId ? secondLocked : firstLocked;
+            long fromPoint;
+            long toPoint;
+            try {
+                fromPoint = debit.applyAsLong(fromLocked.point());
+                toPoint = credit.applyAsLong(toLocked.point());
+            } catch (RuntimeException e) {
+                first.snapshot.set(firstLocked.unlocked());
+                second.snapshot.set(secondLocked.unlocked());
+                throw e;
+            }
+            long now = System.currentTimeMillis();
+            Snapshot fromNext = new Snapshot(fromPoint, fromLocked.version() + 1, now, false);
+            Snapshot toNext = new Snapshot(toPoint, toLocked.version() + 1, now, false);
+            // 잠금을 잡은 동안에는 다른 스레드가 스냅샷을 바꾸지 않으므로 set 으로 교체한다.
+            from.snapshot.set(fromNext);
+            to.snapshot.set(toNext);
+            PointTransfer pointTransfer = new PointTransfer(fromNext.toUserPoint(fromId), toNext.toUserPoint(toId));
+            awaitTurn(first, (fromId < toId ? fromLocked : toLocked).version());
+            awaitTurn(second, (fromId < toId ? toLocked : fromLocked).version());
+            try {
+                onCommitted.accept(pointTransfer.from(), pointTransfer.to());
+            } finally {
+                announce(from, fromNext.version());
+                announce(to, toNext.version());
+            }
+            if (fromId < toId) {
+                persistPair(fromId, from, fromNext.version(), toId, to, toNext.version());
+            } else {
+                persistPair(toId, to, toNext.version(), fromId, from, fromNext.version());
+            }
+            return pointTransfer;
+        }
+    }
+
+    /**
+     * 잠기지 않은 스냅샷을 같은 값의 잠긴 스냅샷으로 교체한다. 실패하면 null 을 반환한다.
+     */
+    private Snapshot tryLock(UserBalance userBalance) {
+        Snapshot current = userBalance.snapshot.get();
+        if (current.locked()) {
+            return null;
+        }
+        Snapshot locked = new Snapshot(current.point(), current.version(), current.updateMillis(), true);
+        return userBalance.snapshot.compareAndSet(current, locked) ? locked : null;
+    }
+
+    /**
+     * previousVersion 까지의 onCommitted 가 모두 끝날 때까지 기다린다.
+     * 앞 버전은 이미 확정되어 onCommitted 만 남았으므로 짧게 바쁜 대기를 하고, 그래도 끝나지 않으면 announce 가 깨울 때까지 잠든다.
+     * 잠들기 전에 대기열에 등록한 뒤 버전을 다시 확인하므로, 그 사이에 앞 버전이 끝나도 깨우는 신호를 놓치지 않는다.
+     */
+    private void awaitTurn(UserBalance userBalance, long previousVersion) {
+        for (int spins = 0; spins < SPIN_ATTEMPTS; spins++) {
+            if (userBalance.announcedVersion >= previousVersion) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        Thread current = Thread.currentThread();
+        userBalance.turnWaiters.add(current);
+        boolean interrupted = false;
+        try {
+            while (userBalance.announcedVersion < previousVersion) {
+                LockSupport.park(userBalance);
+                interrupted |= Thread.interrupted(); // 앞 버전이 끝나야 진행할 수 있으므로 인터럽트는 기다린 뒤 다시 설정한다.
+            }
+        } finally {
+            userBalance.turnWaiters.remove(current);
+            if (interrupted) {
+                current.interrupt();
+            }
+        }
+    }
+
+    /**
+     * version 까지의 onCommitted 를 마쳤음을 알리고, 차례를 기다리며 잠든 스레드를 깨운다.
+     */
+    private void announce(UserBalance userBalance, long version) {
+        userBalance.announcedVersion = version;
+        for (Thread waiter : userBalance.turnWaiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private void retry(int attempt) {
+        if (attempt >= maxRetries) {
+            pointMetrics.recordRejected(PointMetrics.CONFLICT);
+            throw new IllegalStateException("동시 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+        pointMetrics.recordOptimisticRetry();
+        backoff(attempt);
+    }
+
+    private UserBalance load(long id) {
+        UserBalance userBalance = balances.get(id);
+        if (userBalance != null) {
+            return userBalance;
+        }
+        // 테이블 조회는 느리므로 computeIfAbsent 안에서 하지 않는다. 먼저 등록된 값이 있으면 그 값을 사용한다.
+        UserPoint stored = Optional.ofNullable(pointRepository.selectById(id))
+                .orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
+        UserBalance loaded = new UserBalance(new Snapshot(stored.point(), 0, stored.updateMillis(), false));
+        UserBalance existing = balances.putIfAbsent(id, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        loadOrder.add(id);
+        if (balances.size() > maxUsers) {
+            evictIdle();
+        }
+        return loaded;
+    }
+
+    /**
+     * 먼저 불러온 사용자부터 내보낸다. 진행 중인 변경이 있는 사용자는 불러온 순서의 끝으로 보내고 다음 사용자를 본다.
+     */
+    private void evictIdle() {
+        for (int i = 0; i < EVICTION_ATTEMPTS && balances.size() > maxUsers; i++) {
+            Long id = loadOrder.poll();
+            if (id == null) {
+                return;
+            }
+            UserBalance userBalance = balances.get(id);
+            if (userBalance == null) {
+                continue;
+            }
+            if (tryEvict(userBalance)) {
+                balances.remove(id, userBalance);
+            } else {
+                loadOrder.add(id);
+            }
+        }
+    }
+
+    /**
+     * 잠기지 않았고, 모든 버전의 onCommitted 를 마쳤고, 테이블에 반영된 사용자만 EVICTED 로 바꾼다.
+     * 저장 락 안에서 확인하므로 저장 중인 사용자는 내보내지 않는다.
+     */
+    private boolean tryEvict(UserBalance userBalance) {
+        if (!userBalance.persistLock.tryLock()) {
+            return false;
+        }
+        try {
+            Snapshot current = userBalance.snapshot.get();
+            if (current.locked() || current.version() != userBalance.persistedVersion
+                    || current.version() != userBalance.announcedVersion || !userBalance.turnWaiters.isEmpty()) {
+                return false;
+            }
+            return userBalance.snapshot.compareAndSet(current, EVICTED);
+        } finally {
+            userBalance.persistLock.unlock();
+        }
+    }
+
+    /**
+     * version 까지의 변경이 테이블에 반영될 때까지 기다린다. 응답한 변경이 저장소(저널, 순위)에 반영되지 않은 채 남지 않도록 한다.
+     * 저장 락을 얻은 스레드는 그때의 최신 버전을 저장하므로, 락을 기다리던 스레드의 변경이 이미 반영되었으면 바로 반환한다.
+     */
+    private void persist(long id, UserBalance userBalance, long version) {
+        userBalance.persistLock.lock();
+        try {
+            while (userBalance.persistedVersion < version) {
+                Snapshot latest = userBalance.snapshot.get();
+                persistWithRetry(() -> pointRepository.insertOrUpdate(id, latest.point()));
+                userBalance.persistedVersion = latest.version();
+            }
+        } finally {
+            userBalance.persistLock.unlock();
+        }
+    }
+
+    /**
+     * 이체한 두 사용자의 잔액을 insertOrUpdatePair 로 함께 저장한다. 두 사용자의 저장 락은 ID 순서(first, second)로 잡는다.
+     */
+    private void persistPair(long firstId, UserBalance first, long firstVersion,
+                             long secondId, UserBalance second, long secondVersion) {
+        first.persistLock.lock();
+        second.persistLock.lock();
+        try {
+            if (first.persistedVersion < firstVersion || second.persistedVersion < secondVersion) {
+                Snapshot firstLatest = first.snapshot.get();
+                Snapshot secondLatest = second.snapshot.get();
+                persistWithRetry(() -> pointRepository.insertOrUpdatePair(firstId, firstLatest.point(), secondId, secondLatest.point()));
+                first.persistedVersion = firstLatest.version();
+                second.persistedVersion = secondLatest.version();
+            }
+        } finally {
+            second.persistLock.unlock();
+            first.persistLock.unlock();
+        }
+    }
+
+    /**
+     * 저장에 실패하면 성공할 때까지 다시 저장한다. 저장 락을 잡은 채 기다리므로 같은 사용자의 다른 요청도 저장될 때까지 응답하지 않는다.
+     */
+    private void persistWithRetry(Runnable write) {
+        long backoff = TimeUnit.MILLISECONDS.toNanos(1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write.run();
+                return;
+            } catch (RuntimeException e) {
+                pointMetrics.recordPersistRetry();
+                log.error("포인트 저장에 실패했습니다. 다시 저장합니다. attempt={}", attempt, e);
+            }
+            LockSupport.parkNanos(this, backoff);
+            backoff = Math.min(backoff * 2, MAX_PERSIST_BACKOFF_NANOS);
+        }
+    }
+
+    private void backoff(int attempt) {
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+            return;
+        }
+        long maxNanos = Math.min(MAX_BACKOFF_NANOS, 1_000L << Math.min(attempt, 20));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(1, maxNanos + 1));
+    }
+
+    private record Snapshot(long point, long version, long updateMillis, boolean locked) {
+        UserPoint toUserPoint(long id) {
+            return new UserPoint(id, point, updateMillis);
+        }
+
+        Snapshot unlocked() {
+            return new Snapshot(point, version, updateMillis, false);
+        }
+    }
+
+    private static final class UserBalance {
+        private final AtomicReference<Snapshot> snapshot;
+        private final ReentrantLock persistLock = new ReentrantLock();
+        private long persistedVersion; // 테이블에 반영된 버전. persistLock 안에서만 읽고 쓴다.
+        private volatile long announcedVersion; // onCommitted 를 마친 버전
+        private final ConcurrentLinkedQueue<Thread> turnWaiters = new ConcurrentLinkedQueue<>(); // awaitTurn 에서 잠든 스레드
+
+        private UserBalance(Snapshot snapshot) {
+            this.snapshot = new AtomicReference<>(snapshot);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * 포인트 서비스에서 사용하는 실행기 모음.
+ * - spring.threads.virtual.enabled 가 true 이면 작업마다 가상 스레드를 사용한다.
+ * - 아니면 point.batch.parallelism 크기의 고정 스레드 풀을 사용한다.
+ * - 비동기 API 는 point.async.pool-size 개의 스레드와 point.async.queue-capacity 크기의 대기 큐를 가진 실행기를 사용하며,
+ *   큐가 가득 차면 RejectedExecutionException 으로 요청을 거절한다.
+ *   가상 스레드 모드에서는 작업마다 가상 스레드를 만들고, 동시에 접수하는 작업 수를 pool-size + queue-capacity 로 제한한다.
+ *   한도를 넘는 작업은 같은 방식으로 거절한다.
+ * - point.async.timeout-ms 가 0 보다 크면 비동기 API 요청은 접수된 시점부터 그 시간 안에 끝나야 한다.
+ * Executor 타입의 빈을 등록하면 스프링 부트의 기본 applicationTaskExecutor 가 등록되지 않으므로 실행기를 직접 빈으로 노출하지 않는다.
+ */
+@Component
+public class PointExecutors implements MeterBinder {
+
+    private final ExecutorService batchExecutor;
+    private final ExecutorService asyncExecutor;
+    private final IntSupplier asyncQueueSize;
+    private final IntSupplier asyncActiveCount;
+    private final long asyncTimeoutMillis;
+
+    public PointExecutors(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                          @Value("${point.batch.parallelism:16}") int batchParallelism,
+                          @Value("${point.async.pool-size:32}") int asyncPoolSize,
+                          @Value("${point.async.queue-capacity:1000}") int asyncQueueCapacity,
+                          @Value("${point.async.timeout-ms:0}") long asyncTimeoutMillis) {
+        this.batchExecutor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(batchParallelism, Thread.ofPlatform().name("point-batch-", 0).daemon(true).factory());
+        if (virtualThreads) {
+            // 가상 스레드는 풀로 재사용하지 않는다. 대신 세마포어로 동시에 처리하는 작업 수를 제한한다.
+            int maxAdmitted = asyncPoolSize + asyncQueueCapacity;
+            Semaphore admission = new Semaphore(maxAdmitted);
+            this.asyncExecutor = new AdmissionLimitedExecutor(Executors.newVirtualThreadPerTaskExecutor(), admission);
+            this.asyncQueueSize = () -> 0;
+            this.asyncActiveCount = () -> maxAdmitted - admission.availablePermits();
+        } else {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(asyncPoolSize, asyncPoolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(asyncQueueCapacity), Thread.ofPlatform().name("point-async-", 0).daemon(true).factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.asyncExecutor = threadPoolExecutor;
+            this.asyncQueueSize = () -> threadPoolExecutor.getQueue().size();
+            this.asyncActiveCount = threadPoolExecutor::getActiveCount;
+        }
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+    }
+
+    /**
+     * 일괄 처리에서 사용자 묶음을 병렬로 처리하는 실행기
+     */
+    public Executor batch() {
+        return batchExecutor;
+    }
+
+    /**
+     * 비동기 API 의 작업을 처리하는 실행기. 대기 큐(가상 스레드 모드에서는 동시 작업 한도)가 가득 차면 작업을 거절한다.
+     */
+    public Executor async() {
+        return asyncExecutor;
+    }
+
+    /**
+     * 비동기 API 요청의 처리 기한(ms). 0 이하이면 기한을 두지 않는다.
+     */
+    public long asyncTimeoutMillis() {
+        return asyncTimeoutMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.async.queue.size", asyncQueueSize, IntSupplier::getAsInt)
+                .description("비동기 API 실행기에서 대기 중인 작업 수")
+                .register(registry);
+        Gauge.builder("point.async.active", asyncActiveCount, IntSupplier::getAsInt)
+                .description("비동기 API 실행기에서 실행 중인 작업 수")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+        asyncExecutor.shutdown();
+    }
+
+    /**
+     * 세마포어 허가를 얻은 작업만 위임 실행기로 넘기는 실행기. 허가가 없으면 RejectedExecutionException 을 던진다.
+     */
+    private static final class AdmissionLimitedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore admission;
+
+        private AdmissionLimitedExecutor(ExecutorService delegate, Semaphore admission) {
+            this.delegate = delegate;
+            this.admission = admission;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!admission.tryAcquire()) {
+                throw new RejectedExecutionException("비동기 작업 한도를 초과했습니다.");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        admission.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admission.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
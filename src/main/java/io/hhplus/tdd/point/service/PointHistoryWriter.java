@@ -0,0 +1,304 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역을 비동기로 저장하는 write-behind 작성기.
+ * - 내역은 고정 크기 큐에 쌓이고, 하나의 백그라운드 스레드가 순서대로 저장한다.
+ * - 큐가 가득 차면 append 를 호출한 스레드가 빈 자리가 생길 때까지 대기한다.(backpressure)
+ * - 작성 스레드가 하나이므로 같은 사용자의 내역은 요청 순서대로 저장된다.
+ * - 저장에 실패한 내역은 간격을 두 배씩 늘리며 MAX_ATTEMPTS 번까지 다시 저장한다. 그래도 실패하면 버리지 않고 dead letter 로 보관하고
+ *   point.history.dead.letters 로 센다. 그 사용자의 awaitFlushed 는 이후 IllegalStateException 으로 내역이 빠졌음을 알린다.
+ * - 사용자별로 추가한 내역 수와 처리가 끝난 내역 수를 세고, awaitFlushed 는 호출한 시점까지 추가된 내역만 기다린다.
+ *   처리가 끝나면 그 사용자를 기다리는 스레드만 깨운다.
+ */
+@Component
+public class PointHistoryWriter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    static final int MAX_ATTEMPTS = 8;
+    private static final long INITIAL_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+    private static final int DEAD_LETTER_CAPACITY = 1_000;
+
+    private final PointRepository pointRepository;
+    private final BlockingQueue<PendingHistory> queue;
+    // 아래 필드는 모두 pendingLock 안에서만 읽고 쓴다.
+    // synchronized 블록 안에서 wait 하면 가상 스레드가 캐리어 스레드를 점유(pinning)하므로 ReentrantLock 을 사용한다.
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final Map<Long, UserProgress> progresses = new HashMap<>(); // 처리가 끝나지 않았거나 기다리는 스레드가 있는 사용자
+    private final Deque<PendingHistory> deadLetters = new ArrayDeque<>(); // 최근 DEAD_LETTER_CAPACITY 건만 보관한다.
+    private long deadLetterCount;
+    private int appending; // 종료 여부를 확인한 뒤 아직 큐에 넣지 못한 내역 수. 작성 스레드는 이 값이 0 이 된 뒤에 종료한다.
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public PointHistoryWriter(PointRepository pointRepository,
+                              @Value("${point.history.queue-capacity:10000}") int queueCapacity) {
+        this.pointRepository = pointRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::drain, "point-history-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * 포인트 내역을 저장 큐에 추가한다. 큐가 가득 차 있으면 자리가 생길 때까지 대기한다.
+     * @param id 사용자 ID
+     * @param amount 포인트 양
+     * @param type 거래 유형
+     * @param updateMillis 업데이트 시간
+     */
+    public void append(long id, long amount, TransactionType type, long updateMillis) {
+        append(new PendingHistory(id, amount, type, updateMillis, false));
+    }
+
+    /**
+     * PointRepository.insertOrUpdate(id, amount, histories) 로 잔액과 함께 이미 기록한 내역을 저장 큐에 추가한다.
+     * 저장할 때 저널에 다시 기록하지 않는다.
+     */
+    public void appendRecorded(long id, long amount, TransactionType type, long updateMillis) {
+        append(new PendingHistory(id, amount, type, updateMillis, true));
+    }
+
+    /**
+     * 종료 여부 확인과 내역 수 증가는 shutdown 과 같은 락 안에서 한다. 큐에 넣는 일은 큐가 가득 차면 기다려야 하므로 락 밖에서 하고,
+     * 작성 스레드는 appending 이 0 이 될 때까지 종료하지 않아 종료 직전에 들어온 내역도 저장한다.
+     */
+    private void append(PendingHistory history) {
+        long id = history.id();
+        pendingLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("포인트 내역 작성기가 종료되었습니다.");
+            }
+            progresses.computeIfAbsent(id, key -> new UserProgress(pendingLock.newCondition())).appended++;
+            appending++;
+        } finally {
+            pendingLock.unlock();
+        }
+        try {
+            queue.put(history);
+        } catch (InterruptedException e) {
+            resolve(id, null); // 큐에 들어가지 않았으므로 기다릴 내역에서 뺀다.
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 저장 대기 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            pendingLock.lock();
+            try {
+                appending--;
+            } finally {
+                pendingLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 호출한 시점까지 추가된 해당 사용자의 내역이 모두 처리될 때까지 기다린다. 그 뒤에 추가되는 내역은 기다리지 않는다.
+     * 작성 스레드는 큐에 들어온 순서대로 처리하므로, 처리가 끝난 내역 수가 호출 시점의 추가된 내역 수에 이르면 그 전에 추가된 내역은 모두 처리된 것이다.
+     * @param id 사용자 ID
+     * @throws IllegalStateException 이 사용자의 내역 중 저장하지 못하고 dead letter 로 보낸 내역이 있는 경우
+     */
+    public void awaitFlushed(long id) {
+        pendingLock.lock();
+        try {
+            UserProgress progress = progresses.get(id);
+            if (progress == null) {
+                return;
+            }
+            long target = progress.appended;
+            progress.waiters++;
+            try {
+                while (progress.resolved < target) {
+                    progress.flushed.await();
+                }
+            } finally {
+                progress.waiters--;
+                removeIfIdle(id, progress);
+            }
+            if (progress.deadLettered > 0) {
+                throw new IllegalStateException("저장하지 못한 포인트 내역이 있습니다. id=" + id + ", count=" + progress.deadLettered);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 저장 대기 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * 다시 저장해도 실패해 dead letter 로 보낸 내역 수
+     */
+    public long deadLetterCount() {
+        pendingLock.lock();
+        try {
+            return deadLetterCount;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 내역 수
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.history.queue.size", this, PointHistoryWriter::pendingCount)
+                .description("저장을 기다리는 포인트 내역 수")
+                .register(registry);
+        FunctionCounter.builder("point.history.dead.letters", this, PointHistoryWriter::deadLetterCount)
+                .description("다시 저장해도 실패해 dead letter 로 보낸 포인트 내역 수")
+                .register(registry);
+    }
+
+    /**
+     * 애플리케이션 종료 시 새로운 내역을 받지 않고, 큐에 남은 내역을 모두 저장한 뒤 작성 스레드를 종료한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pendingLock.lock();
+        try {
+            running = false;
+        } finally {
+            pendingLock.unlock();
+        }
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("저장되지 못한 포인트 내역이 {}건 남아있습니다.", queue.size());
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            PendingHistory history;
+            try {
+                history = running ? queue.take() : queue.poll(INITIAL_BACKOFF_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue; // 종료 신호. 남은 내역은 poll 로 마저 저장한다.
+            }
+            if (history != null) {
+                write(history);
+            } else if (drained()) {
+                return;
+            }
+        }
+    }
+
+    private boolean drained() {
+        pendingLock.lock();
+        try {
+            return !running && appending == 0 && queue.isEmpty();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private void write(PendingHistory history) {
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (history.recorded()) { // 잔액과 함께 저널에 기록된 내역은 저장소에만 추가한다.
+                    pointRepository.insertRecordedHistory(history.id(), history.amount(), history.type(), history.updateMillis());
+                } else {
+                    pointRepository.insertHistory(history.id(), history.amount(), history.type(), history.updateMillis());
+                }
+                resolve(history.id(), null);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.error("포인트 내역 저장에 {}번 실패해 dead letter 로 보냅니다. id={}, amount={}, type={}",
+                            attempt, history.id(), history.amount(), history.type(), e);
+                    resolve(history.id(), history);
+                    return;
+                }
+                log.warn("포인트 내역 저장에 실패해 {}ms 뒤 다시 저장합니다. id={}, attempt={}", backoffMillis, history.id(), attempt, e);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                // 종료 신호. 종료 중에도 남은 횟수만큼 다시 저장한다.
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * 내역 하나의 처리가 끝났음을 기록하고 그 사용자를 기다리는 스레드만 깨운다.
+     * @param deadLetter 저장하지 못한 내역. 저장했거나 큐에 넣지 못한 경우 null
+     */
+    private void resolve(long id, PendingHistory deadLetter) {
+        pendingLock.lock();
+        try {
+            UserProgress progress = progresses.get(id);
+            progress.resolved++;
+            if (deadLetter != null) {
+                progress.deadLettered++;
+                deadLetterCount++;
+                if (deadLetters.size() == DEAD_LETTER_CAPACITY) {
+                    deadLetters.removeFirst();
+                }
+                deadLetters.addLast(deadLetter);
+            }
+            progress.flushed.signalAll();
+            removeIfIdle(id, progress);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    // 처리할 내역과 기다리는 스레드가 없으면 지운다. 저장하지 못한 내역이 있는 사용자는 awaitFlushed 가 알릴 수 있도록 남긴다.
+    private void removeIfIdle(long id, UserProgress progress) {
+        if (progress.resolved == progress.appended && progress.waiters == 0 && progress.deadLettered == 0) {
+            progresses.remove(id);
+        }
+    }
+
+    private record PendingHistory(long id, long amount, TransactionType type, long updateMillis, boolean recorded) {
+    }
+
+    /**
+     * 사용자별 처리 현황. pendingLock 안에서만 읽고 쓴다.
+     */
+    private static final class UserProgress {
+        private final Condition flushed;
+        private long appended;     // 추가한 내역 수
+        private long resolved;     // 저장했거나 dead letter 로 보냈거나 큐에 넣지 못한 내역 수
+        private long deadLettered; // dead letter 로 보낸 내역 수
+        private int waiters;       // awaitFlushed 로 기다리는 스레드 수
+
+        private UserProgress(Condition flushed) {
+            this.flushed = flushed;
+        }
+    }
+}
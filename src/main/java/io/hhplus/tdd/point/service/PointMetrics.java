@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 서비스 메트릭 기록기.
+ * - point.service : 서비스 메서드별 소요 시간 (method 태그)
+ * - point.lock.wait : 사용자 락을 획득하기까지 기다린 시간
+ * - point.amount : 거래 유형별 충전/사용 포인트 합계 (type 태그)
+ * - point.rejected : 거절된 요청 수 (reason 태그)
+ * - point.optimistic.retries : 낙관적 갱신 충돌로 다시 시도한 횟수
+ * - point.persist.retries : 메모리에 확정한 잔액을 저장소에 저장하지 못해 다시 저장한 횟수
+ * - point.coalescing.group.size : 한 번의 저장으로 묶어 처리한 요청 수
+ */
+@Component
+public class PointMetrics {
+
+    public static final String INVALID_USER = "invalid_user";
+    public static final String INVALID_TYPE = "invalid_type";
+    public static final String INVALID_AMOUNT = "invalid_amount";
+    public static final String INSUFFICIENT_BALANCE = "insufficient_balance";
+    public static final String CONFLICT = "conflict";
+    public static final String OVERLOADED = "overloaded";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lockWaitTimer;
+    private final Counter optimisticRetryCounter;
+    private final Counter persistRetryCounter;
+    private final DistributionSummary coalescedGroupSummary;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWaitTimer = meterRegistry.timer("point.lock.wait");
+        this.optimisticRetryCounter = meterRegistry.counter("point.optimistic.retries");
+        this.persistRetryCounter = meterRegistry.counter("point.persist.retries");
+        this.coalescedGroupSummary = meterRegistry.summary("point.coalescing.group.size");
+    }
+
+    /**
+     * 서비스 메서드의 소요 시간을 기록한다.
+     */
+    public <T> T time(String method, Supplier<T> action) {
+        return meterRegistry.timer("point.service", "method", method).record(action);
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAmount(TransactionType type, long amount) {
+        meterRegistry.counter("point.amount", "type", type.name()).increment(amount);
+    }
+
+    public void recordRejected(String reason) {
+        meterRegistry.counter("point.rejected", "reason", reason).increment();
+    }
+
+    public void recordOptimisticRetry() {
+        optimisticRetryCounter.increment();
+    }
+
+    public void recordPersistRetry() {
+        persistRetryCounter.increment();
+    }
+
+    public void recordCoalescedGroup(int size) {
+        coalescedGroupSummary.record(size);
+    }
+}
@@ -1,23 +1,82 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.point.domain.Deadline;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.PointTransfer;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.repository.PointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
-public class PointService {
-private final PointRepository pointRepository;
-// ReentrantLock을 사용하면 명시적으로 락을 획득하고 해제할 수 있으며, 이는 동시성 문제를 예방하는 데 유용.
-private final ReentrantLock lock = new ReentrantLock();
+public class PointService implements AutoCloseable {
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int HISTORY_STREAM_PAGE_SIZE = 500;
+    public static final int MAX_LEADERBOARD_SIZE = 1_000;
 
-    public PointService(PointRepository pointRepository) {
+    private final PointRepository pointRepository;
+    // 조회-계산-저장의 동시성 제어 전략. 기본은 사용자별 락이며, 설정으로 낙관적 갱신(CAS)을 선택할 수 있다.
+    private final BalanceUpdater balanceUpdater;
+    // 포인트 내역은 락 밖에서 비동기로 저장해 응답 지연에 포함되지 않도록 한다.
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointMetrics pointMetrics;
+    // 일괄 처리의 사용자 묶음을 병렬로 실행한다. 가상 스레드 모드에서는 가상 스레드 실행기가 주입된다.
+    private final Executor pointBatchExecutor;
+    // 비동기 API 를 처리하는 실행기. 대기 큐가 가득 차면 요청을 거절한다.
+    private final Executor pointAsyncExecutor;
+    // 비동기 API 요청의 처리 기한(ms). 기한은 실행 스레드에 묶여 락 대기와 저장소 조회까지 전달된다. 0 이하이면 기한이 없다.
+    private final long asyncTimeoutMillis;
+    // 이 서비스가 직접 만든 내역 작성기. 주입받은 작성기는 스프링이 종료하므로 여기에 두지 않는다.
+    private final PointHistoryWriter ownedHistoryWriter;
+
+    @Autowired
+    public PointService(PointRepository pointRepository, BalanceUpdater balanceUpdater, PointHistoryWriter pointHistoryWriter,
+                        PointMetrics pointMetrics, PointExecutors pointExecutors) {
+        this(pointRepository, balanceUpdater, pointHistoryWriter, pointMetrics, pointExecutors.batch(), pointExecutors.async(),
+                pointExecutors.asyncTimeoutMillis(), null);
+    }
+
+    private PointService(PointRepository pointRepository, BalanceUpdater balanceUpdater, PointHistoryWriter pointHistoryWriter,
+                         PointMetrics pointMetrics, Executor pointBatchExecutor, Executor pointAsyncExecutor, long asyncTimeoutMillis,
+                         PointHistoryWriter ownedHistoryWriter) {
         this.pointRepository = pointRepository;
+        this.balanceUpdater = balanceUpdater;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.pointBatchExecutor = pointBatchExecutor;
+        this.pointAsyncExecutor = pointAsyncExecutor;
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+        this.ownedHistoryWriter = ownedHistoryWriter;
+    }
+
+    /**
+     * 스프링 컨텍스트 없이 서비스를 만드는 빌더를 반환한다. 테스트와 벤치마크에서 사용한다.
+     * 지정하지 않은 구성 요소는 기본값(사용자별 락, 기본 크기의 내역 작성기, 공용 ForkJoinPool)으로 만든다.
+     */
+    public static Builder builder(PointRepository pointRepository) {
+        return new Builder(pointRepository);
     }
 
     /**
@@ -26,53 +85,178 @@ private final ReentrantLock lock = new ReentrantLock();
      * @return 사용자의 포인트 정보 반환
      */
     public UserPoint getPoint(long id) {
-        UserPoint userPoint = getUserPoint(id); // 유저 정보를 조회
-        return userPoint;
+        return pointMetrics.time("getPoint", () -> getUserPoint(id)); // 유저 정보를 조회
     }
 
     /**
-     * 유저의 포인트를 충전. 동시성 제어를 위해 ReentrantLock을 사용한다.
+     * 유저의 포인트를 충전. 동시성 제어는 BalanceUpdater 전략에 맡긴다.
      * @param id 유저 ID
      * @param amount 충전할 포인트 양
      * @return 충전 후 유저의 현재 포인트
      */
     public UserPoint chargePoint(long id, long amount) {
-        lock.lock(); // 동시성 문제를 방지하기 위해 락을 사용한다.
-        try{
-            UserPoint userPoint = getUserPoint(id);
-            if(amount <= 0){
-                throw new IllegalArgumentException("충전 포인트는 0보다 커야 합니다.");
-            }
-            userPoint = pointRepository.insertOrUpdate(id, userPoint.point() + amount);
-            return userPoint;
-        }finally {
-            insertHistory(id, amount, TransactionType.CHARGE, System.currentTimeMillis());// 충전 내역을 저장
-            lock.unlock();// 작업이 끝난 후 락을 해제
-        }
+        return pointMetrics.time("chargePoint", () -> {
+            validateUserId(id);
+            return balanceUpdater.update(id, point -> calculatePoint(point, TransactionType.CHARGE, amount),
+                    () -> List.of(new PointOperation(id, TransactionType.CHARGE, amount)), userPoint -> {
+                pointHistoryWriter.appendRecorded(id, amount, TransactionType.CHARGE, userPoint.updateMillis());// 충전 내역을 저장 큐에 추가
+                pointMetrics.recordAmount(TransactionType.CHARGE, amount);
+            });
+        });
     }
 
     /**
-     * 유저의 포인트를 사용. 동시성 제어를 위해 ReentrantLock을 사용한다.
+     * 유저의 포인트를 사용. 동시성 제어는 BalanceUpdater 전략에 맡긴다.
      * @param id 유저 ID
      * @param amount 사용할 포인트 양
      * @return 사용 후 유저의 현재 포인트
      */
     public UserPoint usePoint(long id, long amount) {
-        lock.lock(); // 동시성 문제를 방지하기 위해 락을 사용한다.
-        try{
-            UserPoint userPoint = getUserPoint(id);
-            if(amount <= 0){
-                throw new IllegalArgumentException("사용 포인트는 0보다 커야 합니다.");
-            }
-            if(userPoint.point() < amount){
-                throw new IllegalArgumentException("포인트가 부족합니다.");
+        return pointMetrics.time("usePoint", () -> {
+            validateUserId(id);
+            return balanceUpdater.update(id, point -> calculatePoint(point, TransactionType.USE, amount),
+                    () -> List.of(new PointOperation(id, TransactionType.USE, amount)), userPoint -> {
+                pointHistoryWriter.appendRecorded(id, amount, TransactionType.USE, userPoint.updateMillis());// 사용 내역을 저장 큐에 추가
+                pointMetrics.recordAmount(TransactionType.USE, amount);
+            });
+        });
+    }
+
+    /**
+     * 한 사용자의 포인트를 다른 사용자에게 이체한다.
+     * - 보내는 사용자의 차감과 받는 사용자의 적립은 함께 반영되며, 잔액이 부족하면 어느 쪽도 반영되지 않는다.
+     * - 두 사용자의 락은 항상 사용자 ID 순서로 획득하므로, 서로에게 동시에 이체해도 교착 상태가 생기지 않는다.
+     * @param fromId 보내는 사용자 ID
+     * @param toId 받는 사용자 ID
+     * @param amount 이체할 포인트 양
+     * @return 이체 후 두 사용자의 현재 포인트
+     */
+    public PointTransfer transferPoint(long fromId, long toId, long amount) {
+        return pointMetrics.time("transferPoint", () -> {
+            validateUserId(fromId);
+            validateUserId(toId);
+            if (fromId == toId) {
+                pointMetrics.recordRejected(PointMetrics.INVALID_USER);
+                throw new IllegalArgumentException("자기 자신에게는 포인트를 이체할 수 없습니다.");
             }
-            userPoint = pointRepository.insertOrUpdate(id, userPoint.point() - amount);
-            return userPoint;
-        }finally {
-            insertHistory(id, amount, TransactionType.USE, System.currentTimeMillis());// 사용 내역을 저장
-            lock.unlock();// 작업이 끝난 후 락을 해제
+            return balanceUpdater.transfer(fromId, toId,
+                    point -> calculatePoint(point, TransactionType.TRANSFER_OUT, amount),
+                    point -> calculatePoint(point, TransactionType.TRANSFER_IN, amount),
+                    () -> List.of(new PointOperation(fromId, TransactionType.TRANSFER_OUT, amount),
+                            new PointOperation(toId, TransactionType.TRANSFER_IN, amount)),
+                    (from, to) -> {
+                        pointHistoryWriter.appendRecorded(fromId, amount, TransactionType.TRANSFER_OUT, from.updateMillis());// 이체 내역을 저장 큐에 추가
+                        pointHistoryWriter.appendRecorded(toId, amount, TransactionType.TRANSFER_IN, to.updateMillis());
+                        pointMetrics.recordAmount(TransactionType.TRANSFER_OUT, amount);
+                    });
+        });
+    }
+
+    /**
+     * getPoint 를 비동기 실행기에서 처리한다.
+     * @param id 사용자 ID
+     * @return 사용자의 포인트 정보. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<UserPoint> getPointAsync(long id) {
+        return supplyAsync(() -> getPoint(id));
+    }
+
+    /**
+     * chargePoint 를 비동기 실행기에서 처리한다.
+     * @param id 유저 ID
+     * @param amount 충전할 포인트 양
+     * @return 충전 후 유저의 현재 포인트. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount) {
+        return supplyAsync(() -> chargePoint(id, amount));
+    }
+
+    /**
+     * usePoint 를 비동기 실행기에서 처리한다.
+     * @param id 유저 ID
+     * @param amount 사용할 포인트 양
+     * @return 사용 후 유저의 현재 포인트. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        return supplyAsync(() -> usePoint(id, amount));
+    }
+
+    /**
+     * transferPoint 를 비동기 실행기에서 처리한다.
+     * @param fromId 보내는 사용자 ID
+     * @param toId 받는 사용자 ID
+     * @param amount 이체할 포인트 양
+     * @return 이체 후 두 사용자의 현재 포인트. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<PointTransfer> transferPointAsync(long fromId, long toId, long amount) {
+        return supplyAsync(() -> transferPoint(fromId, toId, amount));
+    }
+
+    /**
+     * 조건에 맞는 포인트 내역 조회를 비동기 실행기에서 처리한다.
+     * @param id 사용자 ID
+     * @param query 조회 조건
+     * @return 조건에 맞는 사용자의 포인트 내역. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<List<PointHistory>> getHistoryAsync(long id, PointHistoryQuery query) {
+        return supplyAsync(() -> getHistory(id, query));
+    }
+
+    /**
+     * 포인트 거래 집계 조회를 비동기 실행기에서 처리한다.
+     * @param id 사용자 ID
+     * @return 사용자의 포인트 거래 집계. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<PointStats> getStatsAsync(long id) {
+        return supplyAsync(() -> getStats(id));
+    }
+
+    /**
+     * 잔액 상위 사용자 조회를 비동기 실행기에서 처리한다.
+     * @param limit 최대 조회 건수
+     * @return 잔액이 많은 순으로 정렬된 사용자 순위. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<List<PointRank>> getLeaderboardAsync(int limit) {
+        return supplyAsync(() -> getLeaderboard(limit));
+    }
+
+    /**
+     * 사용자 잔액 순위 조회를 비동기 실행기에서 처리한다.
+     * @param id 사용자 ID
+     * @return 사용자의 잔액 순위. 실행기의 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된다.
+     */
+    public CompletableFuture<PointRank> getRankAsync(long id) {
+        return supplyAsync(() -> getRank(id));
+    }
+
+    /**
+     * 여러 사용자의 충전/사용 요청을 일괄 처리한다. 이체는 두 사용자를 함께 갱신해야 하므로 일괄 처리에서 받지 않는다.
+     * - 요청을 사용자별로 묶어 사용자마다 한 번의 갱신(조회 한 번과 최종 저장 한 번)으로 처리한다.
+     * - 같은 사용자의 요청은 요청 순서대로 적용되며, 서로 다른 사용자의 묶음은 병렬로 처리된다.
+     * - 일부 요청이 실패해도 나머지 요청은 처리되고, 결과는 요청 순서대로 반환된다.
+     * @param operations 처리할 작업 목록
+     * @return 작업별 처리 결과
+     */
+    public List<PointOperationResult> applyBatch(List<PointOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("처리할 작업이 없습니다.");
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 작업은 " + MAX_BATCH_SIZE + "건 이하입니다.");
+        }
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), key -> new ArrayList<>()).add(i);
         }
+        PointOperationResult[] results = new PointOperationResult[operations.size()]; // 사용자 묶음마다 서로 다른 인덱스에만 기록한다.
+        Deadline deadline = Deadline.current(); // 사용자 묶음은 실행기 스레드에서 처리하므로 요청의 처리 기한을 함께 넘긴다.
+        return pointMetrics.time("applyBatch", () -> {
+            CompletableFuture.allOf(indexesByUser.entrySet().stream()
+                    .map(entry -> CompletableFuture.runAsync(
+                            () -> applyUserBatch(deadline, entry.getKey(), entry.getValue(), operations, results), pointBatchExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+            return Arrays.asList(results);
+        });
     }
 
     /**
@@ -96,27 +280,317 @@ private final ReentrantLock lock = new ReentrantLock();
      * @return 사용자의 포인트 내역
      */
     public List<PointHistory> getHistory(long id) {
-        if (id < 0) {
-            throw new IllegalArgumentException("사용자 ID는 0보다 커야 합니다.");
+        return pointMetrics.time("getHistory", () -> {
+            getUserPoint(id);
+            pointHistoryWriter.awaitFlushed(id); // 아직 저장 중인 내역이 있으면 저장될 때까지 기다린다.
+            return pointRepository.selectHistoriesById(id);
+        });
+    }
+
+    /**
+     * 사용자의 포인트 내역 중 조건에 맞는 구간만 조회하는 메서드
+     * @param id 사용자 ID
+     * @param query 조회 조건 (커서, 시간 범위, 거래 유형, 최대 건수)
+     * @return 조건에 맞는 사용자의 포인트 내역
+     */
+    public List<PointHistory> getHistory(long id, PointHistoryQuery query) {
+        return pointMetrics.time("getHistory", () -> {
+            getUserPoint(id);
+            pointHistoryWriter.awaitFlushed(id); // 아직 저장 중인 내역이 있으면 저장될 때까지 기다린다.
+            return pointRepository.selectHistoriesById(id, query);
+        });
+    }
+
+    /**
+     * 사용자의 포인트 거래 집계(충전/사용 합계, 거래 유형별 건수, 첫/마지막 거래 시간)를 조회하는 메서드
+     * 집계는 내역이 저장될 때마다 갱신되므로 내역을 다시 읽지 않는다.
+     * @param id 사용자 ID
+     * @return 사용자의 포인트 거래 집계
+     */
+    public PointStats getStats(long id) {
+        return pointMetrics.time("getStats", () -> {
+            getUserPoint(id);
+            pointHistoryWriter.awaitFlushed(id); // 아직 저장 중인 내역이 있으면 저장될 때까지 기다린다.
+            return pointRepository.selectStatsById(id);
+        });
+    }
+
+    /**
+     * 잔액이 많은 순으로 상위 사용자를 조회하는 메서드
+     * 잔액이 같으면 사용자 ID 가 작은 사용자가 앞선다.
+     * @param limit 최대 조회 건수 (1 ~ MAX_LEADERBOARD_SIZE)
+     * @return 잔액 순위 목록
+     */
+    public List<PointRank> getLeaderboard(int limit) {
+        if (limit <= 0 || limit > MAX_LEADERBOARD_SIZE) {
+            throw new IllegalArgumentException("조회 건수는 1 이상 " + MAX_LEADERBOARD_SIZE + " 이하여야 합니다.");
+        }
+        return pointMetrics.time("getLeaderboard", () -> pointRepository.selectTopByPoint(limit));
+    }
+
+    /**
+     * 사용자의 잔액 순위를 조회하는 메서드
+     * 잔액이 저장된 적 없는 사용자는 잔액 0 으로 순위를 계산한다.
+     * @param id 사용자 ID
+     * @return 사용자의 잔액 순위
+     */
+    public PointRank getRank(long id) {
+        return pointMetrics.time("getRank", () -> {
+            validateUserId(id);
+            return pointRepository.selectRankById(id);
+        });
+    }
+
+    /**
+     * 잔액 순위에서 (point, userId) 보다 앞선 사용자 수를 조회하는 메서드
+     * 클러스터에서는 노드마다 이 값을 구해 더하면 전체 순위가 된다.
+     * @param point 잔액
+     * @param userId 사용자 ID
+     * @return 잔액이 더 많거나, 잔액이 같고 사용자 ID 가 더 작은 사용자 수
+     */
+    public long countAhead(long point, long userId) {
+        return pointMetrics.time("countAhead", () -> pointRepository.countAhead(point, userId));
+    }
+
+    /**
+     * 사용자의 전체 포인트 내역을 페이지 단위로 읽어오는 스트림을 반환하는 메서드
+     * 사용자 검증과 첫 페이지 조회는 즉시 수행하고, 다음 페이지는 스트림을 소비하는 만큼만 조회한다.
+     * @param id 사용자 ID
+     * @return 사용자의 포인트 내역 스트림
+     */
+    public Stream<PointHistory> streamHistory(long id) {
+        List<PointHistory> firstPage = getHistory(id, new PointHistoryQuery(null, null, null, null, HISTORY_STREAM_PAGE_SIZE));
+        return Stream.iterate(firstPage, page -> !page.isEmpty(), page -> page.size() < HISTORY_STREAM_PAGE_SIZE
+                        ? List.of()
+                        : pointRepository.selectHistoriesById(id, new PointHistoryQuery(page.get(page.size() - 1).id(), null, null, null, HISTORY_STREAM_PAGE_SIZE)))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * 이 서비스가 직접 만든 내역 작성기를 종료한다. 남은 내역은 모두 저장한 뒤 작성 스레드가 끝난다.
+     */
+    @Override
+    public void close() {
+        if (ownedHistoryWriter != null) {
+            ownedHistoryWriter.shutdown();
         }
-        Optional<UserPoint> optionalUserPoint = Optional.ofNullable(pointRepository.selectById(id));
-        optionalUserPoint.orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
-        return pointRepository.selectHistoriesById(id);
     }
 
     //-----------------------------------------------중복 메서드--------------------------------------------------------
 
+    /**
+     * 비동기 실행기에 작업을 넘긴다. 거절된 작업은 예외를 던지지 않고 실패한 future 로 반환한다.
+     * 처리 기한이 설정되어 있으면 접수 시점부터 기한을 계산해, 대기 큐에서 기한이 지난 작업은 실행하지 않고 실패시킨다.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> action) {
+        Deadline deadline = asyncTimeoutMillis > 0 ? Deadline.after(asyncTimeoutMillis, TimeUnit.MILLISECONDS) : null;
+        try {
+            return CompletableFuture.supplyAsync(() -> deadline == null ? action.get() : deadline.run(action), pointAsyncExecutor);
+        } catch (RejectedExecutionException e) {
+            pointMetrics.recordRejected(PointMetrics.OVERLOADED);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 한 사용자의 작업 묶음을 한 번의 갱신으로 처리한다.
+     * 낙관적 갱신에서는 계산식이 재시도될 수 있으므로 작업별 결과는 갱신이 확정된 시도의 것만 반영한다.
+     * 처리 기한이 있으면 이 스레드에 묶어 락 대기와 저장소 조회에도 적용하고, 기한이 지나면 묶음의 작업을 모두 실패로 기록한다.
+     */
+    private void applyUserBatch(Deadline deadline, long id, List<Integer> indexes, List<PointOperation> operations,
+                                PointOperationResult[] results) {
+        AtomicReference<BatchAttempt> committed = new AtomicReference<>();
+        try {
+            validateUserId(id);
+            Supplier<UserPoint> update = () -> balanceUpdater.update(id, point -> {
+                BatchAttempt attempt = new BatchAttempt(point);
+                for (int i : indexes) {
+                    PointOperation operation = operations.get(i);
+                    try {
+                        if (operation.type() == TransactionType.TRANSFER_OUT || operation.type() == TransactionType.TRANSFER_IN) {
+                            pointMetrics.recordRejected(PointMetrics.INVALID_TYPE);
+                            throw new IllegalArgumentException("일괄 처리에서는 이체를 요청할 수 없습니다.");
+                        }
+                        attempt.point = calculatePoint(attempt.point, operation.type(), operation.amount());
+                        attempt.pointAfter.put(i, attempt.point);
+                    } catch (IllegalArgumentException e) {
+                        attempt.failures.put(i, PointOperationResult.failed(operation, attempt.point, e.getMessage()));
+                    }
+                }
+                committed.set(attempt);
+                return attempt.point;
+            }, () -> committed.get().pointAfter.keySet().stream().map(operations::get).toList(), userPoint -> {
+                BatchAttempt attempt = committed.get();
+                attempt.failures.forEach((i, result) -> results[i] = result);
+                attempt.pointAfter.forEach((i, point) -> {
+                    PointOperation operation = operations.get(i);
+                    pointHistoryWriter.appendRecorded(id, operation.amount(), operation.type(), userPoint.updateMillis());
+                    pointMetrics.recordAmount(operation.type(), operation.amount());
+                    results[i] = PointOperationResult.succeeded(operation, point, userPoint.updateMillis());
+                });
+            });
+            if (deadline == null) {
+                update.get();
+            } else {
+                deadline.run(update);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            indexes.forEach(i -> results[i] = PointOperationResult.failed(operations.get(i), 0, e.getMessage()));
+        } catch (RuntimeException e) {
+            BatchAttempt attempt = committed.get();
+            for (int i : indexes) {
+                results[i] = attempt == null
+                        ? PointOperationResult.failed(operations.get(i), 0, "포인트 저장에 실패했습니다.")
+                        : attempt.failures.containsKey(i)
+                        ? attempt.failures.get(i)
+                        : PointOperationResult.failed(operations.get(i), attempt.pointAfter.get(i), "포인트 저장에 실패했습니다.");
+            }
+        }
+    }
+
+    /**
+     * 사용자 작업 묶음을 한 번 계산한 결과
+     */
+    private static final class BatchAttempt {
+        private long point;
+        private final Map<Integer, Long> pointAfter = new LinkedHashMap<>(); // 작업별 반영 직후 잔액
+        private final Map<Integer, PointOperationResult> failures = new HashMap<>();
+
+        private BatchAttempt(long point) {
+            this.point = point;
+        }
+    }
+
+    /**
+     * 거래 유형에 따라 포인트를 계산한다.
+     * @param point 현재 포인트
+     * @param type 거래 유형
+     * @param amount 포인트 양
+     * @return 거래 반영 후 포인트
+     */
+    private long calculatePoint(long point, TransactionType type, long amount) {
+        if (type == null) {
+            pointMetrics.recordRejected(PointMetrics.INVALID_TYPE);
+            throw new IllegalArgumentException("거래 유형이 없습니다.");
+        }
+        if(amount <= 0){
+            pointMetrics.recordRejected(PointMetrics.INVALID_AMOUNT);
+            throw new IllegalArgumentException(amountLabel(type) + " 포인트는 0보다 커야 합니다.");
+        }
+        return switch (type) {
+            case CHARGE, TRANSFER_IN -> point + amount;
+            case USE, TRANSFER_OUT -> {
+                if(point < amount){
+                    pointMetrics.recordRejected(PointMetrics.INSUFFICIENT_BALANCE);
+                    throw new IllegalArgumentException("포인트가 부족합니다.");
+                }
+                yield point - amount;
+            }
+        };
+    }
+
+    private static String amountLabel(TransactionType type) {
+        return switch (type) {
+            case CHARGE -> "충전";
+            case USE -> "사용";
+            case TRANSFER_OUT, TRANSFER_IN -> "이체";
+        };
+    }
+
     /**
      * 사용자 정보를 조회하는 메서드
      * @param id
      * @return
      */
      private UserPoint getUserPoint(long id) {
+        validateUserId(id);
+        return balanceUpdater.current(id); // 유저 정보를 조회
+    }
+
+    private void validateUserId(long id) {
         if (id < 0) {
+            pointMetrics.recordRejected(PointMetrics.INVALID_USER);
             throw new IllegalArgumentException("사용자 ID는 0보다 커야 합니다.");
         }
-        Optional<UserPoint> optionalUserPoint = Optional.ofNullable(pointRepository.selectById(id)); // 유저 정보를 조회
-        UserPoint userPoint = optionalUserPoint.orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
-        return userPoint;
+    }
+
+    /**
+     * PointService 빌더. 내역 작성기를 지정하지 않으면 빌더가 만든 작성기를 서비스가 소유하고, close 할 때 종료한다.
+     */
+    public static final class Builder {
+        private final PointRepository pointRepository;
+        private UserLockManager userLockManager;
+        private BalanceUpdater balanceUpdater;
+        private PointHistoryWriter pointHistoryWriter;
+        private PointMetrics pointMetrics;
+        private Executor pointBatchExecutor = ForkJoinPool.commonPool();
+        private Executor pointAsyncExecutor; // 지정하지 않으면 일괄 처리 실행기를 함께 사용한다.
+        private long asyncTimeoutMillis;
+
+        private Builder(PointRepository pointRepository) {
+            this.pointRepository = pointRepository;
+        }
+
+        /**
+         * 기본 동시성 제어 전략(LockingBalanceUpdater)이 사용할 락 관리자. balanceUpdater 를 지정하면 사용하지 않는다.
+         */
+        public Builder userLockManager(UserLockManager userLockManager) {
+            this.userLockManager = userLockManager;
+            return this;
+        }
+
+        public Builder balanceUpdater(BalanceUpdater balanceUpdater) {
+            this.balanceUpdater = balanceUpdater;
+            return this;
+        }
+
+        /**
+         * 외부에서 만든 내역 작성기. 서비스는 이 작성기를 종료하지 않는다.
+         */
+        public Builder pointHistoryWriter(PointHistoryWriter pointHistoryWriter) {
+            this.pointHistoryWriter = pointHistoryWriter;
+            return this;
+        }
+
+        public Builder pointMetrics(PointMetrics pointMetrics) {
+            this.pointMetrics = pointMetrics;
+            return this;
+        }
+
+        public Builder pointBatchExecutor(Executor pointBatchExecutor) {
+            this.pointBatchExecutor = pointBatchExecutor;
+            return this;
+        }
+
+        public Builder pointAsyncExecutor(Executor pointAsyncExecutor) {
+            this.pointAsyncExecutor = pointAsyncExecutor;
+            return this;
+        }
+
+        /**
+         * 실행기와 비동기 처리 기한을 PointExecutors 설정으로 맞춘다.
+         */
+        public Builder pointExecutors(PointExecutors pointExecutors) {
+            this.pointBatchExecutor = pointExecutors.batch();
+            this.pointAsyncExecutor = pointExecutors.async();
+            this.asyncTimeoutMillis = pointExecutors.asyncTimeoutMillis();
+            return this;
+        }
+
+        public Builder asyncTimeoutMillis(long asyncTimeoutMillis) {
+            this.asyncTimeoutMillis = asyncTimeoutMillis;
+            return this;
+        }
+
+        public PointService build() {
+            PointMetrics metrics = pointMetrics != null ? pointMetrics : new PointMetrics(new SimpleMeterRegistry());
+            BalanceUpdater updater = balanceUpdater != null ? balanceUpdater : new LockingBalanceUpdater(pointRepository,
+                    userLockManager != null ? userLockManager : new UserLockManager(false), metrics);
+            PointHistoryWriter ownedWriter = pointHistoryWriter == null
+                    ? new PointHistoryWriter(pointRepository, PointHistoryWriter.DEFAULT_QUEUE_CAPACITY) : null;
+            return new PointService(pointRepository, updater, pointHistoryWriter != null ? pointHistoryWriter : ownedWriter, metrics,
+                    pointBatchExecutor, pointAsyncExecutor != null ? pointAsyncExecutor : pointBatchExecutor, asyncTimeoutMillis,
+                    ownedWriter);
+        }
     }
 }
@@ -0,0 +1,578 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.hhplus.tdd.point.repository.UserBalanceMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 모든 잔액 조회와 갱신을 하나의 작성 스레드가 처리하는 전략. (point.concurrency.mode=ring)
+ * - 요청 스레드는 미리 만들어 둔 명령 칸(slot)의 고리 버퍼(ring buffer)에서 순번을 받아 명령을 채우고 게시한다.
+ *   버퍼가 가득 차면 앞선 명령이 끝나 칸이 비워질 때까지 기다린다.
+ * - 작성 스레드는 순번대로 명령을 꺼내 UserBalanceMap 의 잔액에 락 없이 반영하고, 결과를 같은 칸에 적은 뒤 요청 스레드를 깨운다.
+ *   칸이 명령과 결과를 함께 담는 재사용 future 역할을 하므로, 명령 경로에서는 응답으로 돌려줄 UserPoint 외에 객체를 만들지 않는다.
+ * - onCommitted(내역 저장 큐 추가)는 작성 스레드에서 커밋 순서대로 호출되므로 같은 사용자의 내역은 항상 커밋 순서로 쌓인다.
+ * - 처음 보는 사용자는 요청 스레드가 저장소에서 읽어 작성 스레드에 넘긴 뒤 다시 요청한다. 작성 스레드는 느린 저장소를 기다리지 않는다.
+ * - 바뀐 잔액은 저장 스레드가 모아서 저장소에 반영한다.(write-behind) 같은 사용자의 여러 변경은 최신 잔액 한 번으로 합쳐진다.
+ *   따라서 잔액 순위, 스냅샷처럼 저장소를 읽는 기능은 반영이 끝날 때까지 조금 늦게 바뀐다.
+ *   응답한 변경이 아직 저널에 없을 수 있으므로 저널(point.journal.enabled)과 함께 사용할 수 없다.
+ * - 저장에 실패한 잔액은 버리지 않고, 간격을 늘려가며 성공할 때까지 다시 저장한다. 그동안 뒤의 잔액은 저장되지 않고,
+ *   awaitPersisted 는 IllegalStateException 으로 실패한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "ring")
+public class RingBufferBalanceUpdater implements BalanceUpdater, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferBalanceUpdater.class);
+
+    private static final int READ = 0;
+    private static final int UPDATE = 1;
+    private static final int TRANSFER = 2;
+    private static final int LOAD = 3;
+    private static final int FLUSH = 4;
+
+    private static final int COMPLETED = 0;
+    private static final int FAILED = 1;
+    private static final int MISSING = 2; // 작성 스레드가 모르는 사용자. 저장소에서 읽어 LOAD 한 뒤 다시 요청한다.
+
+    private static final int SPIN_ATTEMPTS = 10;
+    private static final int YIELD_ATTEMPTS = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final PointRepository pointRepository;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong(); // 다음에 발급할 순번
+    private volatile long processedSequence = -1; // 작성 스레드가 마지막으로 처리한 순번
+
+    // 아래 필드는 작성 스레드만 읽고 쓴다.
+    private final UserBalanceMap balances = new UserBalanceMap();
+    private final UserBalanceMap dirty = new UserBalanceMap(); // 저장소에 반영할 사용자 (잔액 필드는 사용하지 않는다)
+    private long[] dirtyQueue = new long[1024]; // 반영할 사용자 ID 를 바뀐 순서대로 담는 원형 큐
+    private int dirtyHead;
+    private int dirtySize;
+
+    // 저장 스레드가 FLUSH 명령으로 받아오는 반영 대상. 저장 스레드만 사용한다.
+    private final long[] flushIds;
+    private final long[] flushPoints;
+    private volatile long persistedSequence = -1; // 이 순번 이전의 모든 변경이 저장소에 반영되었다.
+    private volatile RuntimeException persistFailure; // 다시 저장하고 있는 잔액의 마지막 실패. 저장에 성공하면 지운다.
+    private final AtomicLong persistFailures = new AtomicLong(); // 저장에 실패한 횟수
+
+    private final Thread writerThread;
+    private final Thread persisterThread;
+    private volatile boolean writerParked;
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+
+    public RingBufferBalanceUpdater(PointRepository pointRepository, int bufferSize, int flushBatchSize) {
+        this(pointRepository, bufferSize, flushBatchSize, false);
+    }
+
+    @Autowired
+    public RingBufferBalanceUpdater(PointRepository pointRepository,
+                                    @Value("${point.ring.buffer-size:1024}") int bufferSize,
+                                    @Value("${point.ring.flush-batch-size:256}") int flushBatchSize,
+                                    @Value("${point.journal.enabled:false}") boolean journalEnabled) {
+        if (journalEnabled) {
+            throw new IllegalStateException("ring 모드는 저널(point.journal.enabled)과 함께 사용할 수 없습니다.");
+        }
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("고리 버퍼 크기는 2의 거듭제곱이어야 합니다.");
+        }
+        if (flushBatchSize <= 0) {
+            throw new IllegalArgumentException("저장 묶음 크기는 0보다 커야 합니다.");
+        }
+        this.pointRepository = pointRepository;
+        this.slots = new Slot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = bufferSize - 1;
+        this.flushIds = new long[flushBatchSize];
+        this.flushPoints = new long[flushBatchSize];
+        this.writerThread = Thread.ofPlatform().name("point-ring-writer").daemon(true).start(this::write);
+        this.persisterThread = Thread.ofPlatform().name("point-ring-persister").daemon(true).start(this::persist);
+    }
+
+    @Override
+    public UserPoint current(long id) {
+        while (true) {
+            long sequence = claim(true);
+            Slot slot = slots[(int) (sequence & mask)];
+            slot.type = READ;
+            slot.id = id;
+            int status = publishAndAwait(sequence, slot);
+            UserPoint result = slot.result;
+            release(sequence, slot);
+            if (status != MISSING) {
+                return result;
+            }
+            load(id);
+        }
+    }
+
+    @Override
+    public UserPoint update(long id, LongUnaryOperator calculation, Supplier<List<PointOperation>> histories,
+                            Consumer<UserPoint> onCommitted) {
+        // 잔액은 저장 스레드가 모아서 저장하므로 내역을 함께 넘기지 않는다.
+        while (true) {
+            long sequence = claim(true);
+            Slot slot = slots[(int) (sequence & mask)];
+            slot.type = UPDATE;
+            slot.id = id;
+            slot.calculation = calculation;
+            slot.onCommitted = onCommitted;
+            int status = publishAndAwait(sequence, slot);
+            UserPoint result = slot.result;
+            RuntimeException error = slot.error;
+            release(sequence, slot);
+            if (status == FAILED) {
+                throw error;
+            }
+            if (status == COMPLETED) {
+                return result;
+            }
+            load(id);
+        }
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                                  Supplier<List<PointOperation>> histories, BiConsumer<UserPoint, UserPoint> onCommitted) {
+        while (true) {
+            long sequence = claim(true);
+            Slot slot = slots[(int) (sequence & mask)];
+            slot.type = TRANSFER;
+            slot.id = fromId;
+            slot.otherId = toId;
+            slot.calculation = debit;
+            slot.otherCalculation = credit;
+            slot.onTransferCommitted = onCommitted;
+            int status = publishAndAwait(sequence, slot);
+            UserPoint from = slot.result;
+            UserPoint to = slot.otherResult;
+            RuntimeException error = slot.error;
+            long missingId = slot.id;
+            release(sequence, slot);
+            if (status == FAILED) {
+                throw error;
+            }
+            if (status == COMPLETED) {
+                return new PointTransfer(from, to);
+            }
+            load(missingId);
+        }
+    }
+
+    /**
+     * 현재까지 반영된 변경이 모두 저장소에 저장될 때까지 기다린다.
+     * @throws IllegalStateException 저장에 실패해 다시 저장하고 있는 잔액이 있는 경우
+     */
+    public void awaitPersisted() {
+        long target = nextSequence.get();
+        while (persistedSequence < target) {
+            if (!persisterThread.isAlive()) {
+                throw new IllegalStateException("포인트 저장 스레드가 종료되었습니다.");
+            }
+            RuntimeException failure = persistFailure;
+            if (failure != null) {
+                throw new IllegalStateException("포인트 저장에 실패해 다시 저장하고 있습니다.", failure);
+            }
+            LockSupport.unpark(persisterThread);
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    /**
+     * 게시되었지만 작성 스레드가 아직 처리하지 않은 명령 수
+     */
+    public long pendingCount() {
+        return Math.max(0, nextSequence.get() - 1 - processedSequence);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.ring.pending", this, RingBufferBalanceUpdater::pendingCount)
+                .description("작성 스레드의 처리를 기다리는 명령 수")
+                .register(registry);
+        Gauge.builder("point.ring.persist.failures", persistFailures, AtomicLong::get)
+                .description("저장소에 잔액을 저장하지 못해 다시 시도한 횟수")
+                .register(registry);
+    }
+
+    /**
+     * 애플리케이션 종료 시 새로운 요청을 받지 않고, 남은 변경을 모두 저장소에 반영한 뒤 스레드를 종료한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(persisterThread);
+        try {
+            persisterThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopped = true;
+        LockSupport.unpark(writerThread);
+    }
+
+    /**
+     * 저장소에서 사용자를 읽어 작성 스레드에 넘긴다. 그 사이 다른 요청이 먼저 넘겼으면 작성 스레드는 이 값을 무시한다.
+     */
+    private void load(long id) {
+        UserPoint stored = Optional.ofNullable(pointRepository.selectById(id)) // 유저 정보를 조회
+                .orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
+        long sequence = claim(true);
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.type = LOAD;
+        slot.id = id;
+        slot.loadPoint = stored.point();
+        slot.loadMillis = stored.updateMillis();
+        publishAndAwait(sequence, slot);
+        release(sequence, slot);
+    }
+
+    /**
+     * 비어있는 칸의 순번을 발급한다. 버퍼가 가득 차 있으면 칸이 비워질 때까지 기다린다.
+     * 칸이 빈 것을 확인한 뒤에만 순번을 가져가므로, 기다리다 기한이 지나도 발급만 받고 게시하지 않은 순번은 생기지 않는다.
+     * @param external 요청 스레드의 명령이면 true. 종료 중에는 요청을 받지 않는다.
+     */
+    private long claim(boolean external) {
+        if (Thread.currentThread() == writerThread) {
+            // onCommitted 안에서 다시 요청하면 작성 스레드가 자신의 처리를 기다리게 된다.
+            throw new IllegalStateException("작성 스레드 안에서는 포인트를 요청할 수 없습니다.");
+        }
+        Deadline deadline = Deadline.current();
+        for (int attempt = 0; ; attempt++) {
+            if (external && !running) {
+                throw new IllegalStateException("포인트 처리 엔진이 종료되었습니다.");
+            }
+            long sequence = nextSequence.get();
+            if (slots[(int) (sequence & mask)].free == sequence) {
+                if (nextSequence.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (deadline != null) {
+                deadline.check();
+            }
+            idle(attempt);
+        }
+    }
+
+    /**
+     * 명령을 게시하고 작성 스레드가 처리할 때까지 기다린다. 기다리는 동안에는 잠들고, 작성 스레드가 처리 후 깨운다.
+     * @return 처리 결과 상태
+     */
+    private int publishAndAwait(long sequence, Slot slot) {
+        slot.deadline = Deadline.current();
+        slot.published = sequence;
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+        for (int attempt = 0; slot.completed != sequence && spin(attempt); attempt++) {
+            // 작성 스레드가 곧 처리하므로 잠들기 전에 잠시 기다린다.
+        }
+        if (slot.completed != sequence) {
+            slot.waiter = Thread.currentThread();
+            while (slot.completed != sequence) {
+                if (!writerThread.isAlive()) {
+                    throw new IllegalStateException("포인트 처리 엔진이 종료되었습니다.");
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        return slot.status;
+    }
+
+    /**
+     * 결과를 읽은 칸을 비워 한 바퀴 뒤의 순번이 사용할 수 있게 한다. 참조를 지워 요청 객체가 버퍼에 남지 않도록 한다.
+     */
+    private void release(long sequence, Slot slot) {
+        slot.calculation = null;
+        slot.otherCalculation = null;
+        slot.onCommitted = null;
+        slot.onTransferCommitted = null;
+        slot.deadline = null;
+        slot.result = null;
+        slot.otherResult = null;
+        slot.error = null;
+        slot.waiter = null;
+        slot.free = sequence + slots.length;
+    }
+
+    private void write() {
+        long sequence = 0;
+        for (int attempt = 0; ; attempt++) {
+            Slot slot = slots[(int) (sequence & mask)];
+            if (slot.published != sequence) {
+                if (stopped && nextSequence.get() == sequence) {
+                    return;
+                }
+                if (spin(attempt)) {
+                    continue;
+                }
+                // 잠들기 전 플래그를 세운 뒤 다시 확인하므로, 게시한 쪽이 플래그를 보지 못해 깨우지 않는 경우가 생기지 않는다.
+                writerParked = true;
+                if (slot.published != sequence) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+                continue;
+            }
+            attempt = 0;
+            process(slot);
+            processedSequence = sequence;
+            slot.completed = sequence;
+            Thread waiter = slot.waiter;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+            sequence++;
+        }
+    }
+
+    private void process(Slot slot) {
+        slot.status = COMPLETED;
+        try {
+            switch (slot.type) {
+                case READ -> read(slot);
+                case UPDATE -> apply(slot);
+                case TRANSFER -> applyTransfer(slot);
+                case LOAD -> {
+                    if (balances.indexOf(slot.id) < 0) {
+                        balances.put(slot.id, slot.loadPoint, slot.loadMillis);
+                    }
+                }
+                case FLUSH -> drainDirty(slot);
+                default -> throw new IllegalStateException("알 수 없는 명령입니다. type=" + slot.type);
+            }
+        } catch (RuntimeException e) {
+            slot.status = FAILED;
+            slot.error = e;
+        }
+    }
+
+    private void read(Slot slot) {
+        int index = balances.indexOf(slot.id);
+        if (index < 0) {
+            slot.status = MISSING;
+            return;
+        }
+        slot.result = new UserPoint(slot.id, balances.point(index), balances.updateMillis(index));
+    }
+
+    private void apply(Slot slot) {
+        long id = slot.id;
+        int index = balances.indexOf(id);
+        if (index < 0) {
+            slot.status = MISSING;
+            return;
+        }
+        if (slot.deadline != null) {
+            slot.deadline.check(); // 버퍼에서 기다리는 사이 기한이 지났으면 반영하지 않는다.
+        }
+        long current = balances.point(index);
+        long point = slot.calculation.applyAsLong(current);
+        if (point == current) {
+            slot.result = new UserPoint(id, current, balances.updateMillis(index));
+        } else {
+            long now = System.currentTimeMillis();
+            balances.put(id, point, now);
+            markDirty(id);
+            slot.result = new UserPoint(id, point, now);
+        }
+        slot.onCommitted.accept(slot.result);
+    }
+
+    private void applyTransfer(Slot slot) {
+        int fromIndex = balances.indexOf(slot.id);
+        int toIndex = balances.indexOf(slot.otherId);
+        if (fromIndex < 0 || toIndex < 0) {
+            slot.status = MISSING;
+            slot.id = fromIndex < 0 ? slot.id : slot.otherId; // 요청 스레드가 읽어올 사용자
+            return;
+        }
+        if (slot.deadline != null) {
+            slot.deadline.check();
+        }
+        // 두 계산식이 모두 성공한 뒤에만 반영하므로 한쪽이 실패하면 어느 쪽도 바뀌지 않는다.
+        long fromPoint = slot.calculation.applyAsLong(balances.point(fromIndex));
+        long toPoint = slot.otherCalculation.applyAsLong(balances.point(toIndex));
+        long now = System.currentTimeMillis();
+        balances.put(slot.id, fromPoint, now);
+        balances.put(slot.otherId, toPoint, now);
+        markDirty(slot.id);
+        markDirty(slot.otherId);
+        slot.result = new UserPoint(slot.id, fromPoint, now);
+        slot.otherResult = new UserPoint(slot.otherId, toPoint, now);
+        slot.onTransferCommitted.accept(slot.result, slot.otherResult);
+    }
+
+    private void markDirty(long id) {
+        if (dirty.indexOf(id) >= 0) {
+            return; // 아직 저장되지 않은 사용자. 저장할 때 최신 잔액을 읽으므로 다시 넣지 않는다.
+        }
+        dirty.put(id, 0, 0);
+        if (dirtySize == dirtyQueue.length) {
+            long[] grown = new long[dirtyQueue.length * 2];
+            for (int i = 0; i < dirtySize; i++) {
+                grown[i] = dirtyQueue[(dirtyHead + i) % dirtyQueue.length];
+            }
+            dirtyQueue = grown;
+            dirtyHead = 0;
+        }
+        dirtyQueue[(dirtyHead + dirtySize) % dirtyQueue.length] = id;
+        dirtySize++;
+    }
+
+    /**
+     * 먼저 바뀐 사용자부터 저장 스레드의 배열 크기만큼 최신 잔액을 옮겨 담는다.
+     */
+    private void drainDirty(Slot slot) {
+        int count = Math.min(dirtySize, slot.flushIds.length);
+        for (int i = 0; i < count; i++) {
+            long id = dirtyQueue[dirtyHead];
+            dirtyHead = (dirtyHead + 1) % dirtyQueue.length;
+            dirty.remove(id);
+            slot.flushIds[i] = id;
+            slot.flushPoints[i] = balances.point(balances.indexOf(id));
+        }
+        dirtySize -= count;
+        slot.flushCount = count;
+    }
+
+    /**
+     * 바뀐 잔액을 작성 스레드에서 받아와 저장소에 반영한다. 반영할 것이 없으면 잠시 쉰다.
+     * 저장 스레드는 하나이므로 같은 사용자의 잔액이 늦게 읽은 값으로 덮어써지지 않는다.
+     */
+    private void persist() {
+        while (true) {
+            long sequence = claim(false);
+            Slot slot = slots[(int) (sequence & mask)];
+            slot.type = FLUSH;
+            slot.flushIds = flushIds;
+            slot.flushPoints = flushPoints;
+            publishAndAwait(sequence, slot);
+            int count = slot.flushCount;
+            release(sequence, slot);
+            for (int i = 0; i < count; i++) {
+                persistWithRetry(flushIds[i], flushPoints[i]);
+            }
+            if (count == 0) {
+                persistedSequence = sequence; // 이 명령 이전의 변경은 모두 저장했다.
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * 잔액을 저장소에 저장한다. 실패하면 1ms 부터 두 배씩(최대 1초) 간격을 늘려가며 성공할 때까지 다시 저장한다.
+     * 종료 중이어도 포기하지 않으며, shutdown 은 정해진 시간만 기다린다.
+     */
+    private void persistWithRetry(long id, long point) {
+        long backoff = IDLE_PARK_NANOS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                pointRepository.insertOrUpdate(id, point);
+                if (persistFailure != null) {
+                    persistFailure = null;
+                    log.info("포인트 저장을 다시 시도해 성공했습니다. id={}, point={}, attempts={}", id, point, attempt);
+                }
+                return;
+            } catch (RuntimeException e) {
+                persistFailure = e;
+                persistFailures.incrementAndGet();
+                log.error("포인트 저장에 실패했습니다. 다시 저장합니다. id={}, point={}, attempt={}", id, point, attempt, e);
+            }
+            LockSupport.parkNanos(this, backoff);
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_NANOS);
+        }
+    }
+
+    private void idle(int attempt) {
+        if (!spin(attempt)) {
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(10));
+        }
+    }
+
+    /**
+     * 짧게 바쁜 대기(spin)를 한 뒤 다른 스레드에 실행을 양보(yield)한다. 잠들어야 할 만큼 오래 기다렸으면 false 를 반환한다.
+     * 코어가 적으면 기다리는 상대 스레드가 실행될 기회가 필요하므로, 잠들고 깨우는 비용을 치르기 전에 양보부터 한다.
+     */
+    private static boolean spin(int attempt) {
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+            return true;
+        }
+        if (attempt < SPIN_ATTEMPTS + YIELD_ATTEMPTS) {
+            Thread.yield();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 고리 버퍼의 명령 칸. 요청 스레드가 명령을 채우고, 작성 스레드가 결과를 채운 뒤, 요청 스레드가 결과를 읽고 비운다.
+     * free, published, completed 의 volatile 쓰기와 읽기가 두 스레드 사이의 일반 필드 전달을 보장한다.
+     */
+    private static final class Slot {
+        // 요청 스레드가 채우는 명령
+        private int type;
+        private long id;
+        private long otherId;
+        private LongUnaryOperator calculation;
+        private LongUnaryOperator otherCalculation;
+        private Consumer<UserPoint> onCommitted;
+        private BiConsumer<UserPoint, UserPoint> onTransferCommitted;
+        private Deadline deadline;
+        private long loadPoint;
+        private long loadMillis;
+        private long[] flushIds;
+        private long[] flushPoints;
+
+        // 작성 스레드가 채우는 결과
+        private int status;
+        private UserPoint result;
+        private UserPoint otherResult;
+        private RuntimeException error;
+        private int flushCount;
+
+        private volatile long free; // 이 순번의 명령이 칸을 사용할 수 있다.
+        private volatile long published = -1; // 이 순번의 명령이 게시되었다.
+        private volatile long completed = -1; // 이 순번의 명령이 처리되었다.
+        private volatile Thread waiter; // 결과를 기다리며 잠든 요청 스레드
+
+        private Slot(long free) {
+            this.free = free;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.hhplus.tdd.point.repository.PointShardRing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 사용자를 샤드로 나누고, 샤드마다 하나의 스레드가 그 샤드 사용자의 조회와 갱신을 모두 처리하는 전략. (point.concurrency.mode=sharded)
+ * - 사용자는 PointShardRing 으로 샤드에 배정되고, 요청은 샤드의 대기 큐에 들어가 도착 순서대로 처리된다.
+ * - 샤드 사용자의 잔액 갱신은 그 샤드의 스레드에서만 일어나므로 갱신 순서를 위한 사용자 락이 필요 없고, 서로 다른 샤드는 병렬로 처리된다.
+ * - 샤드의 저장소에는 다른 스레드도 접근한다. (PointHistoryWriter 의 내역 저장, HedgingPointRepository 의 두 번째 잔액 조회,
+ *   요청 스레드의 내역/통계/순위 조회) 그래서 샤드의 PointRepositoryImpl 은 테이블 묶음마다 자신의 락을 그대로 사용한다.
+ * - 대기 큐가 가득 차면 RejectedExecutionException 으로 요청을 거절한다.
+ * - 서로 다른 샤드의 사용자 사이의 이체는 번호가 작은 샤드의 스레드가 큰 샤드의 작업이 끝나기를 기다리며 처리한다.
+ *   기다림은 항상 작은 번호에서 큰 번호 쪽으로만 일어나므로 샤드 스레드끼리 서로를 기다리며 멈추지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "sharded")
+public class ShardedBalanceUpdater implements BalanceUpdater, MeterBinder {
+
+    private final PointRepository pointRepository;
+    private final PointShardRing pointShardRing;
+    private final PointMetrics pointMetrics;
+    private final ThreadPoolExecutor[] executors;
+    // 현재 스레드가 처리 중인 샤드 번호. 샤드 스레드 안에서 같은 샤드의 작업을 요청하면 큐를 거치지 않고 바로 실행한다.
+    private final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+
+    public ShardedBalanceUpdater(PointRepository pointRepository, PointShardRing pointShardRing, PointMetrics pointMetrics,
+                                 @Value("${point.shard.queue-capacity:10000}") int queueCapacity) {
+        this.pointRepository = pointRepository;
+        this.pointShardRing = pointShardRing;
+        this.pointMetrics = pointMetrics;
+        this.executors = new ThreadPoolExecutor[pointShardRing.shardCount()];
+        for (int i = 0; i < executors.length; i++) {
+            int shard = i;
+            executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    task -> Thread.ofPlatform().name("point-shard-" + shard).daemon(true).unstarted(() -> {
+                        currentShard.set(shard);
+                        task.run();
+                    }),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * 같은 샤드의 앞선 갱신이 모두 반영된 잔액을 읽도록 조회도 샤드의 대기 큐를 거친다.
+     */
+    @Override
+    public UserPoint current(long id) {
+        return executeOnShard(pointShardRing.shardOf(id), () -> read(id));
+    }
+
+    @Override
+    public UserPoint update(long id, LongUnaryOperator calculation, Supplier<List<PointOperation>> histories,
+                            Consumer<UserPoint> onCommitted) {
+        return executeOnShard(pointShardRing.shardOf(id), () -> {
+            UserPoint userPoint = read(id);
+            long point = calculation.applyAsLong(userPoint.point());
+            List<PointOperation> recorded = histories.get();
+            if (point != userPoint.point() || !recorded.isEmpty()) {
+                userPoint = pointRepository.insertOrUpdate(id, point, recorded);
+            }
+            onCommitted.accept(userPoint);
+            return userPoint;
+        });
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, LongUnaryOperator debit, LongUnaryOperator credit,
+                                  Supplier<List<PointOperation>> histories, BiConsumer<UserPoint, UserPoint> onCommitted) {
+        int fromShard = pointShardRing.shardOf(fromId);
+        int toShard = pointShardRing.shardOf(toId);
+        Supplier<PointTransfer> commit = () -> {
+            PointTransfer pointTransfer = LockingBalanceUpdater.commitTransfer(pointRepository, read(fromId), read(toId), debit, credit, histories);
+            onCommitted.accept(pointTransfer.from(), pointTransfer.to());
+            return pointTransfer;
+        };
+        if (fromShard == toShard) {
+            return executeOnShard(fromShard, commit);
+        }
+        // 작은 번호의 샤드 스레드가 기다리는 동안에는 그 샤드의 사용자가 바뀌지 않으므로, 큰 번호의 샤드 스레드가 두 사용자를 함께 반영한다.
+        return executeOnShard(Math.min(fromShard, toShard), () -> executeOnShard(Math.max(fromShard, toShard), commit));
+    }
+
+    /**
+     * 샤드별 대기 중인 작업 수
+     * @param shard 샤드 번호
+     */
+    public int pendingCount(int shard) {
+        return executors[shard].getQueue().size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < executors.length; i++) {
+            int shard = i;
+            Gauge.builder("point.shard.queue.size", this, updater -> updater.pendingCount(shard))
+                    .tag("shard", String.valueOf(shard))
+                    .description("샤드에서 처리를 기다리는 작업 수")
+                    .register(registry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 샤드의 스레드에서 작업을 실행하고 결과를 기다린다.
+     * 요청에 기한이 있으면 샤드 스레드에도 같은 기한을 묶고, 대기 큐에서 기한이 지난 작업은 반영하지 않고 실패시킨다.
+     */
+    private <T> T executeOnShard(int shard, Supplier<T> action) {
+        Integer running = currentShard.get();
+        if (running != null && running == shard) {
+            return action.get();
+        }
+        Deadline deadline = Deadline.current();
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> deadline == null ? action.get() : deadline.run(action), executors[shard]);
+        } catch (RejectedExecutionException e) {
+            pointMetrics.recordRejected(PointMetrics.OVERLOADED);
+            throw e;
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private UserPoint read(long id) {
+        Optional<UserPoint> optionalUserPoint = Optional.ofNullable(pointRepository.selectById(id)); // 유저 정보를 조회
+        return optionalUserPoint.orElseThrow(() -> new IllegalArgumentException("유저정보가 없습니다."));
+    }
+}
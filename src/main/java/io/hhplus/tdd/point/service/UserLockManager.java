@@ -0,0 +1,139 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.DeadlineExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 ID 별로 락을 관리하는 레지스트리.
+ * - 같은 사용자의 작업은 순차적으로 처리되고, 서로 다른 사용자의 작업은 병렬로 처리된다.
+ * - 락을 잡고 있거나 기다리는 스레드가 없어지면 해당 사용자의 락은 맵에서 제거된다.
+ * - 현재 스레드에 요청 기한(Deadline)이 있으면 기한까지만 기다리고 DeadlineExceededException 으로 실패한다.
+ */
+@Component
+public class UserLockManager implements MeterBinder {
+
+    private final ConcurrentHashMap<Long, UserLock> locks = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger(); // 락 획득을 기다리는 스레드 수
+    private final boolean fair;
+
+    public UserLockManager(@Value("${point.lock.fair:false}") boolean fair) {
+        this.fair = fair;
+    }
+
+    /**
+     * 사용자 락을 획득한 상태에서 작업을 실행한다.
+     * @param id 사용자 ID
+     * @param action 락 안에서 실행할 작업
+     * @return 작업 결과
+     */
+    public <T> T executeWithLock(long id, Supplier<T> action) {
+        UserLock userLock = acquire(id);
+        try {
+            lock(userLock.lock);
+        } catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        try {
+            return action.get();
+        } finally {
+            userLock.lock.unlock();
+            release(id);
+        }
+    }
+
+    /**
+     * 두 사용자의 락을 모두 획득한 상태에서 작업을 실행한다.
+     * 락은 항상 사용자 ID 가 작은 쪽부터 획득하므로, 서로 반대 방향의 요청이 동시에 들어와도 교착 상태가 생기지 않는다.
+     * @param firstId 첫 번째 사용자 ID
+     * @param secondId 두 번째 사용자 ID
+     * @param action 락 안에서 실행할 작업
+     * @return 작업 결과
+     */
+    public <T> T executeWithLocks(long firstId, long secondId, Supplier<T> action) {
+        if (firstId == secondId) {
+            return executeWithLock(firstId, action);
+        }
+        long lowerId = Math.min(firstId, secondId);
+        long higherId = Math.max(firstId, secondId);
+        return executeWithLock(lowerId, () -> executeWithLock(higherId, action));
+    }
+
+    /**
+     * 현재 맵에 남아있는(사용 중인) 사용자 락의 수
+     */
+    public int activeLockCount() {
+        return locks.size();
+    }
+
+    /**
+     * 사용자 락을 기다리고 있는 스레드 수
+     */
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    public boolean isFair() {
+        return fair;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.lock.waiting", this, UserLockManager::waitingCount)
+                .description("사용자 락 획득을 기다리는 스레드 수")
+                .register(registry);
+        Gauge.builder("point.lock.active", this, UserLockManager::activeLockCount)
+                .description("사용 중인 사용자 락 수")
+                .register(registry);
+    }
+
+    private void lock(ReentrantLock lock) {
+        Deadline deadline = Deadline.current();
+        waiting.incrementAndGet();
+        try {
+            if (deadline == null) {
+                lock.lock();
+            } else if (!lock.tryLock(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new DeadlineExceededException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("사용자 락 대기 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    // compute 는 키 단위로 원자적으로 실행되므로 참조 카운트 증감과 맵 등록/제거가 함께 일어난다.
+    private UserLock acquire(long id) {
+        return locks.compute(id, (key, userLock) -> {
+            UserLock target = userLock == null ? new UserLock(new ReentrantLock(fair)) : userLock;
+            target.references++;
+            return target;
+        });
+    }
+
+    private void release(long id) {
+        locks.computeIfPresent(id, (key, userLock) -> --userLock.references == 0 ? null : userLock);
+    }
+
+    private static final class UserLock {
+        private final ReentrantLock lock;
+        private int references;
+
+        private UserLock(ReentrantLock lock) {
+            this.lock = lock;
+        }
+    }
+}
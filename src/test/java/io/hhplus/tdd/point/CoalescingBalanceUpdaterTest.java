@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.CoalescingBalanceUpdater;
+import io.hhplus.tdd.point.service.PointMetrics;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingBalanceUpdaterTest {
+
+    private static final long DELAY_MILLIS = 50L;
+
+    /**
+     * 1. 같은 사용자에 몰린 충전 요청은 묶어서 저장되고, 요청마다 자신의 반영 직후 잔액을 받아야 한다.
+     */
+    @Test
+    @DisplayName("같은 사용자에 몰린 요청은 묶어서 저장되고 각자의 결과를 받아야 한다.")
+    void hot_user_requests_are_coalesced() throws Exception {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(DELAY_MILLIS, 0);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointService pointService = createPointService(pointRepository, meterRegistry);
+        int numberOfThreads = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        long start = System.nanoTime();
+        List<Future<UserPoint>> futures = LongStream.range(0, numberOfThreads)
+                .mapToObj(i -> executorService.submit(() -> pointService.chargePoint(1L, 1)))
+                .toList();
+        Set<Long> points = futures.stream().map(future -> {
+            try {
+                return future.get().point();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).collect(Collectors.toSet());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        executorService.shutdown();
+
+        // then - 요청마다 조회/저장을 했다면 20 * 2 * 50ms 이상 걸린다.
+        assertEquals(LongStream.rangeClosed(1, numberOfThreads).boxed().collect(Collectors.toSet()), points);
+        assertEquals(numberOfThreads, pointService.getPoint(1L).point());
+        assertEquals(numberOfThreads, pointService.getHistory(1L).size());
+        assertTrue(meterRegistry.summary("point.coalescing.group.size").max() > 1);
+        assertTrue(elapsedMillis < numberOfThreads * 2 * DELAY_MILLIS / 2, "elapsed=" + elapsedMillis + "ms");
+    }
+
+    /**
+     * 2. 묶인 요청 중 잔액이 부족한 요청만 실패하고, 나머지 요청은 반영되어야 한다.
+     */
+    @Test
+    @DisplayName("묶인 요청 중 잔액이 부족한 요청만 실패해야 한다.")
+    void insufficient_balance_fails_only_that_request() throws InterruptedException {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(DELAY_MILLIS, 0);
+        PointService pointService = createPointService(pointRepository, new SimpleMeterRegistry());
+        pointService.chargePoint(1L, 10);
+        int numberOfThreads = 20;
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        for (int i = 0; i < numberOfThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.usePoint(1L, 1);
+                } catch (IllegalArgumentException e) {
+                    assertEquals("포인트가 부족합니다.", e.getMessage());
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(0, pointService.getPoint(1L).point());
+        assertEquals(10, failures.get());
+        assertEquals(11, pointService.getHistory(1L).size());
+    }
+
+    private PointService createPointService(DelayedPointRepository pointRepository, SimpleMeterRegistry meterRegistry) {
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        return PointService.builder(pointRepository)
+                .balanceUpdater(new CoalescingBalanceUpdater(pointRepository, new UserLockManager(false), pointMetrics, 256))
+                .pointMetrics(pointMetrics)
+                .build();
+    }
+}
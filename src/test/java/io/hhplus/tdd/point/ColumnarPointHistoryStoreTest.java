@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.repository.PointHistoryIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPointHistoryStoreTest {
+
+    /**
+     * 1. 컬럼 저장소는 객체 색인과 같은 조회 결과를 반환해야 한다.
+     */
+    @Test
+    @DisplayName("컬럼 저장소는 객체 색인과 같은 조회 결과를 반환해야 한다.")
+    void find_returns_same_result_as_index() {
+        // given - 청크 경계를 넘도록 내역을 저장한다.
+        ColumnarPointHistoryStore columnarStore = new ColumnarPointHistoryStore();
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        for (int i = 0; i < 70_000; i++) {
+            long userId = i % 3;
+            TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            pointHistoryIndex.add(columnarStore.insert(userId, i, type, i));
+        }
+        List<PointHistoryQuery> queries = List.of(
+                PointHistoryQuery.all(),
+                new PointHistoryQuery(65_000L, null, null, null, 10),
+                new PointHistoryQuery(null, 1_000L, 2_000L, TransactionType.USE, null),
+                new PointHistoryQuery(10L, null, 69_000L, TransactionType.CHARGE, 100));
+
+        // when, then
+        for (long userId = 0; userId < 4; userId++) {
+            assertEquals(pointHistoryIndex.findAllByUserId(userId), columnarStore.findAllByUserId(userId));
+            for (PointHistoryQuery query : queries) {
+                assertEquals(pointHistoryIndex.find(userId, query), columnarStore.find(userId, query));
+            }
+        }
+    }
+
+    /**
+     * 2. 저장 중에 조회해도 ID 순으로 빠짐없이 이어진 내역만 보여야 한다.
+     */
+    @Test
+    @DisplayName("저장 중에 조회해도 이어진 내역만 보여야 한다.")
+    void concurrent_insert_and_find() throws Exception {
+        // given
+        ColumnarPointHistoryStore columnarStore = new ColumnarPointHistoryStore();
+        int numberOfThreads = 4;
+        int perThread = 50_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads + 1);
+
+        // when
+        for (int t = 0; t < numberOfThreads; t++) {
+            executorService.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    columnarStore.insert(1L, 1L, TransactionType.CHARGE, i);
+                }
+            });
+        }
+        executorService.submit(() -> {
+            while (columnarStore.size() < numberOfThreads * perThread) {
+                List<PointHistory> histories = columnarStore.findAllByUserId(1L);
+                for (int i = 0; i < histories.size(); i++) {
+                    assertEquals(i + 1L, histories.get(i).id());
+                }
+            }
+        }).get(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(numberOfThreads * perThread, columnarStore.findAllByUserId(1L).size());
+    }
+}
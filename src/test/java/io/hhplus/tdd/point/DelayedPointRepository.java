@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointLeaderboard;
+import io.hhplus.tdd.point.repository.PointRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블의 무작위 지연 대신 고정 지연을 사용하는 테스트용 저장소
+ */
+class DelayedPointRepository implements PointRepository {
+    private final Map<Long, UserPoint> userPoints = new ConcurrentHashMap<>();
+    private final List<PointHistory> histories = new ArrayList<>();
+    private final PointLeaderboard pointLeaderboard = new PointLeaderboard();
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final long delayMillis;
+    private final long historyDelayMillis;
+
+    DelayedPointRepository(long delayMillis) {
+        this(delayMillis, delayMillis);
+    }
+
+    DelayedPointRepository(long delayMillis, long historyDelayMillis) {
+        this.delayMillis = delayMillis;
+        this.historyDelayMillis = historyDelayMillis;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        sleep(delayMillis);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        userPoints.put(id, userPoint);
+        pointLeaderboard.update(id, amount);
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        sleep(delayMillis);
+        return userPoints.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public List<PointHistory> selectHistoriesById(long id) {
+        synchronized (histories) {
+            return histories.stream().filter(history -> history.userId() == id).toList();
+        }
+    }
+
+    @Override
+    public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        sleep(historyDelayMillis);
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), id, amount, type, updateMillis);
+        synchronized (histories) {
+            histories.add(pointHistory);
+        }
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointRank> selectTopByPoint(int limit) {
+        return pointLeaderboard.top(limit);
+    }
+
+    @Override
+    public PointRank selectRankById(long id) {
+        return pointLeaderboard.rank(id);
+    }
+
+    @Override
+    public long countAhead(long point, long userId) {
+        return pointLeaderboard.countAhead(point, userId);
+    }
+
+    private void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.DeadlineExceededException;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.HedgingPointRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingPointRepositoryTest {
+
+    /**
+     * 1. 조회가 대기 시간보다 오래 걸리면 두 번째 조회를 보내고 먼저 끝난 결과를 반환해야 한다.
+     */
+    @Test
+    @DisplayName("느린 조회는 두 번째 조회의 결과로 먼저 응답해야 한다.")
+    void slow_read_is_hedged() {
+        // given - 첫 조회만 2초가 걸리는 저장소
+        AtomicInteger reads = new AtomicInteger();
+        DelayedPointRepository delayedPointRepository = new DelayedPointRepository(0) {
+            @Override
+            public UserPoint selectById(long id) {
+                if (reads.incrementAndGet() == 1) {
+                    sleep(2_000);
+                }
+                return super.selectById(id);
+            }
+        };
+        delayedPointRepository.insertOrUpdate(1L, 100L);
+        HedgingPointRepository hedgingPointRepository = new HedgingPointRepository(delayedPointRepository, 0.95, 20);
+
+        // when
+        long start = System.nanoTime();
+        UserPoint userPoint = hedgingPointRepository.selectById(1L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertEquals(100L, userPoint.point());
+        assertTrue(elapsedMillis < 1_000);
+        assertEquals(2, reads.get());
+    }
+
+    /**
+     * 2. 요청 기한이 지나면 조회 결과를 기다리지 않고 DeadlineExceededException 으로 실패해야 한다.
+     */
+    @Test
+    @DisplayName("요청 기한이 지나면 조회를 기다리지 않고 실패해야 한다.")
+    void read_fails_when_deadline_exceeded() {
+        // given - 모든 조회가 1초씩 걸리는 저장소
+        DelayedPointRepository delayedPointRepository = new DelayedPointRepository(1_000);
+        HedgingPointRepository hedgingPointRepository = new HedgingPointRepository(delayedPointRepository, 0.95, 20);
+
+        // when
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> Deadline.after(100, TimeUnit.MILLISECONDS)
+                .run(() -> hedgingPointRepository.selectById(1L)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertTrue(elapsedMillis < 500);
+    }
+
+    /**
+     * 3. 내역 조회는 느려도 한 번만 보내고, close 하면 감싼 저장소도 닫고 더 이상 조회를 받지 않아야 한다.
+     */
+    @Test
+    @DisplayName("내역 조회는 헤징하지 않고, close 하면 조회 실행기를 종료해야 한다.")
+    void histories_are_not_hedged_and_close_shuts_down() {
+        // given - 내역 조회가 200ms 걸리는 저장소
+        AtomicInteger historyReads = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        DelayedPointRepository delayedPointRepository = new DelayedPointRepository(0) {
+            @Override
+            public List<PointHistory> selectHistoriesById(long id) {
+                historyReads.incrementAndGet();
+                sleep(200);
+                return super.selectHistoriesById(id);
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        HedgingPointRepository hedgingPointRepository = new HedgingPointRepository(delayedPointRepository, 0.95, 20);
+
+        // when
+        hedgingPointRepository.selectHistoriesById(1L);
+        hedgingPointRepository.close();
+
+        // then
+        assertEquals(1, historyReads.get());
+        assertTrue(closed.get());
+        assertThrows(RejectedExecutionException.class, () -> hedgingPointRepository.selectById(1L));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.IdempotencyKeyException;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.IdempotencyCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    /**
+     * 1. 같은 키로 다시 요청하면 작업을 다시 실행하지 않고 처음 결과를 반환해야 한다.
+     */
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 처음 결과를 반환해야 한다.")
+    void retry_returns_first_result() throws Exception {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(100, 60_000, System::currentTimeMillis);
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint charged = new UserPoint(1L, 100L, 1L);
+
+        // when
+        UserPoint first = idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(charged);
+        }).get(1, TimeUnit.SECONDS);
+        UserPoint retried = idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 100L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 200L, 2L));
+        }).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(charged, first);
+        assertEquals(charged, retried);
+        assertEquals(1, idempotencyCache.hitCount());
+        assertThrows(ExecutionException.class, () -> idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 500L,
+                () -> CompletableFuture.completedFuture(charged)).get(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 2. 처음 요청이 처리 중이면 같은 키의 요청은 새로 실행하지 않고 처음 요청의 결과를 기다려야 한다.
+     */
+    @Test
+    @DisplayName("처리 중인 요청과 같은 키의 요청은 처음 요청의 결과를 기다려야 한다.")
+    void concurrent_duplicate_waits_for_in_flight_result() throws Exception {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(100, 60_000, System::currentTimeMillis);
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        CompletableFuture<UserPoint> first = idempotencyCache.execute("key-1", 1L, TransactionType.USE, 10L, () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+        CompletableFuture<UserPoint> duplicate = idempotencyCache.execute("key-1", 1L, TransactionType.USE, 10L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 0L, 0L));
+        });
+        assertFalse(duplicate.isDone());
+        inFlight.complete(new UserPoint(1L, 90L, 1L));
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(90L, first.get(1, TimeUnit.SECONDS).point());
+        assertEquals(90L, duplicate.get(1, TimeUnit.SECONDS).point());
+    }
+
+    /**
+     * 3. 실패한 요청은 보관하지 않아 같은 키로 재시도하면 다시 실행되어야 한다.
+     */
+    @Test
+    @DisplayName("실패한 요청은 같은 키로 재시도하면 다시 실행되어야 한다.")
+    void failed_result_is_not_cached() throws Exception {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(100, 60_000, System::currentTimeMillis);
+        CompletableFuture<UserPoint> failed = idempotencyCache.execute("key-1", 1L, TransactionType.USE, 10L,
+                () -> CompletableFuture.failedFuture(new IllegalArgumentException("포인트가 부족합니다.")));
+
+        // when
+        UserPoint retried = idempotencyCache.execute("key-1", 1L, TransactionType.USE, 10L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 0L, 1L))).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0L, retried.point());
+        assertEquals(2, idempotencyCache.missCount());
+    }
+
+    /**
+     * 4. 보관 시간이 지나거나 최대 크기를 넘으면 결과를 제거해야 한다.
+     */
+    @Test
+    @DisplayName("보관 시간이 지나거나 최대 크기를 넘으면 결과를 제거해야 한다.")
+    void expire_and_evict() {
+        // given
+        AtomicLong now = new AtomicLong();
+        IdempotencyCache idempotencyCache = new IdempotencyCache(2, 1_000, now::get);
+        for (int i = 0; i < 3; i++) {
+            idempotencyCache.execute("key-" + i, 1L, TransactionType.CHARGE, 1L,
+                    () -> CompletableFuture.completedFuture(new UserPoint(1L, 1L, 1L)));
+        }
+        assertEquals(2, idempotencyCache.size());
+        assertEquals(1, idempotencyCache.evictionCount());
+
+        // when
+        now.set(1_000);
+        idempotencyCache.execute("key-3", 1L, TransactionType.CHARGE, 1L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 1L, 1L)));
+
+        // then
+        assertEquals(1, idempotencyCache.size());
+        assertEquals(2, idempotencyCache.expirationCount());
+    }
+
+    /**
+     * 5. 처리 중인 요청은 최대 크기를 넘어도 제거하지 않아, 같은 키의 재시도가 작업을 다시 실행하지 않아야 한다.
+     */
+    @Test
+    @DisplayName("처리 중인 요청은 최대 크기를 넘어도 제거하지 않아야 한다.")
+    void in_flight_request_is_not_evicted() throws Exception {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(1, 60_000, System::currentTimeMillis);
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        idempotencyCache.execute("in-flight", 1L, TransactionType.CHARGE, 100L, () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+
+        // when - 완료된 요청이 최대 크기를 넘도록 쌓인다.
+        for (int i = 0; i < 3; i++) {
+            idempotencyCache.execute("key-" + i, 2L, TransactionType.CHARGE, 1L,
+                    () -> CompletableFuture.completedFuture(new UserPoint(2L, 1L, 1L)));
+        }
+        CompletableFuture<UserPoint> retried = idempotencyCache.execute("in-flight", 1L, TransactionType.CHARGE, 100L, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 200L, 2L));
+        });
+        inFlight.complete(new UserPoint(1L, 100L, 1L));
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(100L, retried.get(1, TimeUnit.SECONDS).point());
+        assertEquals(3, idempotencyCache.evictionCount());
+    }
+
+    /**
+     * 6. 같은 키로 다른 요청을 보내면 IdempotencyKeyException 으로 실패해야 한다.
+     */
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 IdempotencyKeyException 으로 실패해야 한다.")
+    void reused_key_with_different_request_fails() {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(100, 60_000, System::currentTimeMillis);
+        idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 100L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 100L, 1L)));
+
+        // when
+        CompletableFuture<UserPoint> reused = idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 200L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 300L, 2L)));
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> reused.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IdempotencyKeyException.class, exception.getCause());
+    }
+}
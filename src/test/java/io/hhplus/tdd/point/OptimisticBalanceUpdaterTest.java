@@ -0,0 +1,249 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.service.PointMetrics;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticBalanceUpdaterTest {
+
+    /**
+     * 1. 같은 사용자에 대한 동시 충전은 충돌 후 재시도되어 모두 반영되고, 테이블에도 최종 잔액이 저장되어야 한다.
+     */
+    @Test
+    @DisplayName("같은 사용자에 대한 동시 충전은 재시도되어 모두 반영되어야 한다.")
+    void same_user_charge_concurrently() throws InterruptedException {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(1);
+        PointService pointService = createPointService(pointRepository, 1_000);
+        int numberOfThreads = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        for (int i = 0; i < numberOfThreads; i++) {
+            executorService.submit(() -> pointService.chargePoint(1L, 1));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(numberOfThreads, pointService.getPoint(1L).point());
+        assertEquals(numberOfThreads, pointRepository.selectById(1L).point());
+        assertEquals(numberOfThreads, pointService.getHistory(1L).size());
+    }
+
+    /**
+     * 2. 동시 사용 요청에서도 잔액이 음수가 되지 않아야 한다.
+     */
+    @Test
+    @DisplayName("동시 사용 요청에서도 잔액이 음수가 되지 않아야 한다.")
+    void concurrent_use_never_overdraws() throws InterruptedException {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(1);
+        PointService pointService = createPointService(pointRepository, 1_000);
+        pointService.chargePoint(1L, 10);
+        int numberOfThreads = 20;
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        for (int i = 0; i < numberOfThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.usePoint(1L, 1);
+                } catch (IllegalArgumentException e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(0, pointService.getPoint(1L).point());
+        assertEquals(10, failures.get());
+    }
+
+    /**
+     * 3. 최대 재시도 횟수를 넘기면 요청을 거절해야 한다.
+     */
+    @Test
+    @DisplayName("최대 재시도 횟수를 넘기면 요청을 거절해야 한다.")
+    void reject_after_max_retries() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        OptimisticBalanceUpdater balanceUpdater = new OptimisticBalanceUpdater(pointRepository,
+                new PointMetrics(new SimpleMeterRegistry()), 0);
+
+        // when - 계산 도중 다른 갱신이 먼저 반영되어 버전이 바뀐다.
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> balanceUpdater.update(1L, point -> {
+                    balanceUpdater.update(1L, inner -> inner + 1, userPoint -> {});
+                    return point + 100;
+                }, userPoint -> {}));
+
+        // then
+        assertEquals("동시 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", exception.getMessage());
+        assertEquals(1, balanceUpdater.current(1L).point());
+    }
+
+    /**
+     * 4. 충전이 응답을 반환할 때는 그 충전까지의 잔액이 저장소에 반영되어 있어야 한다.
+     */
+    @Test
+    @DisplayName("응답한 충전은 저장소에 반영되어 있어야 한다.")
+    void charge_returns_after_persisted() throws InterruptedException {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(5);
+        PointService pointService = createPointService(pointRepository, 1_000);
+        int numberOfThreads = 20;
+        AtomicInteger notPersisted = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        for (int i = 0; i < numberOfThreads; i++) {
+            executorService.submit(() -> {
+                long charged = pointService.chargePoint(1L, 1).point();
+                if (pointRepository.selectById(1L).point() < charged) { // 충전만 하므로 저장된 잔액은 응답한 잔액 이상이어야 한다.
+                    notPersisted.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(0, notPersisted.get());
+        assertEquals(numberOfThreads, pointRepository.selectById(1L).point());
+    }
+
+    /**
+     * 5. 같은 사용자의 내역은 잔액이 바뀐 순서대로 저장되어야 한다.
+     */
+    @Test
+    @DisplayName("같은 사용자의 내역은 커밋 순서대로 저장되어야 한다.")
+    void history_is_written_in_commit_order() throws InterruptedException {
+        // given - 충전 금액이 모두 다른 2의 거듭제곱이므로, 내역 순서가 바뀌면 응답한 적 없는 누적 잔액이 생긴다.
+        DelayedPointRepository pointRepository = new DelayedPointRepository(1);
+        PointService pointService = createPointService(pointRepository, 1_000);
+        int numberOfThreads = 20;
+        Set<Long> charged = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        for (int i = 0; i < numberOfThreads; i++) {
+            long amount = 1L << i;
+            executorService.submit(() -> charged.add(pointService.chargePoint(1L, amount).point()));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        Set<Long> accumulated = new HashSet<>();
+        long point = 0;
+        for (PointHistory pointHistory : pointService.getHistory(1L)) {
+            point += pointHistory.amount();
+            accumulated.add(point);
+        }
+        assertEquals(charged, accumulated);
+    }
+
+    /**
+     * 6. 저널을 켠 채로는 생성할 수 없어야 한다.
+     */
+    @Test
+    @DisplayName("저널을 켜면 optimistic 모드를 사용할 수 없어야 한다.")
+    void reject_when_journal_enabled() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+        // when & then
+        assertThrows(IllegalStateException.class,
+                () -> new OptimisticBalanceUpdater(pointRepository, pointMetrics, 32, true));
+    }
+
+    /**
+     * 7. 메모리에 보관하는 사용자 수는 최대 사용자 수를 넘지 않고, 내보낸 사용자는 다시 불러와 변경을 이어가야 한다.
+     */
+    @Test
+    @DisplayName("보관하는 사용자 수는 제한되고, 내보낸 사용자의 잔액은 유지되어야 한다.")
+    void evict_idle_users_beyond_max_users() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        OptimisticBalanceUpdater balanceUpdater = new OptimisticBalanceUpdater(pointRepository, pointMetrics, 32, 2, false);
+        PointService pointService = PointService.builder(pointRepository)
+                .balanceUpdater(balanceUpdater)
+                .pointMetrics(pointMetrics)
+                .build();
+
+        // when
+        for (long id = 1; id <= 5; id++) {
+            pointService.chargePoint(id, id * 10);
+        }
+        pointService.chargePoint(1L, 1);
+
+        // then
+        assertTrue(balanceUpdater.size() <= 2, "size=" + balanceUpdater.size());
+        for (long id = 2; id <= 5; id++) {
+            assertEquals(id * 10, pointService.getPoint(id).point());
+        }
+        assertEquals(11, pointService.getPoint(1L).point());
+    }
+
+    /**
+     * 8. 확정한 잔액을 저장하지 못하면 다시 저장해, 응답한 잔액이 저장소에 반영되어 있어야 한다.
+     */
+    @Test
+    @DisplayName("잔액 저장에 실패하면 다시 저장한 뒤 응답해야 한다.")
+    void retry_failed_persist() {
+        // given - 저장이 두 번 실패한 뒤 성공한다.
+        AtomicInteger failures = new AtomicInteger();
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0) {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (failures.incrementAndGet() <= 2) {
+                    throw new IllegalStateException("저장소를 사용할 수 없습니다.");
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        PointService pointService = PointService.builder(pointRepository)
+                .balanceUpdater(new OptimisticBalanceUpdater(pointRepository, pointMetrics, 32))
+                .pointMetrics(pointMetrics)
+                .build();
+
+        // when
+        UserPoint userPoint = pointService.chargePoint(1L, 100);
+
+        // then
+        assertEquals(100, userPoint.point());
+        assertEquals(100, pointRepository.selectById(1L).point());
+        assertEquals(2.0, meterRegistry.counter("point.persist.retries").count());
+    }
+
+    private PointService createPointService(DelayedPointRepository pointRepository, int maxRetries) {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        return PointService.builder(pointRepository)
+                .balanceUpdater(new OptimisticBalanceUpdater(pointRepository, pointMetrics, maxRetries))
+                .pointMetrics(pointMetrics)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.cluster.PointCluster;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointClusterTest {
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    /**
+     * 1. 같은 노드 목록을 설정한 노드들은 사용자마다 같은 담당 노드를 골라야 하고, 자기 주소가 목록에 없으면 시작할 수 없어야 한다.
+     */
+    @Test
+    @DisplayName("같은 노드 목록을 설정한 노드들은 사용자마다 같은 담당 노드를 골라야 한다.")
+    void nodes_agree_on_owner() {
+        // given
+        List<String> nodes = List.of("http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+        PointCluster first = new PointCluster("http://localhost:8080", nodes, 128);
+        PointCluster second = new PointCluster("http://localhost:8081/", nodes, 128);
+
+        // when & then
+        for (long id = 0; id < 10_000; id++) {
+            assertEquals(first.ownerOf(id), second.ownerOf(id));
+            assertEquals(first.ownerOf(id).equals(first.self()), first.isLocal(id));
+        }
+        for (String node : nodes) {
+            URI address = URI.create(node);
+            assertTrue(LongStream.range(0, 10_000).anyMatch(id -> first.ownerOf(id).equals(address)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PointCluster("http://localhost:9090", nodes, 128));
+    }
+
+    /**
+     * 2. 담당 노드가 아닌 노드로 들어온 요청은 담당 노드에서 처리되어야 하고, 두 노드에 걸친 이체는 거절되어야 한다.
+     */
+    @Test
+    @DisplayName("담당 노드가 아닌 노드로 들어온 요청은 담당 노드에서 처리되어야 한다.")
+    void forwards_request_to_owner() throws Exception {
+        // given
+        int firstPort = freePort();
+        int secondPort = freePort();
+        List<String> nodes = List.of("http://localhost:" + firstPort, "http://localhost:" + secondPort);
+        PointCluster cluster = new PointCluster(nodes.get(0), nodes, 128);
+        long remoteId = LongStream.range(1, 1_000).filter(id -> !cluster.isLocal(id)).findFirst().orElseThrow();
+        long localId = LongStream.range(1, 1_000).filter(cluster::isLocal).findFirst().orElseThrow();
+
+        try (ConfigurableApplicationContext first = start(firstPort, nodes);
+             ConfigurableApplicationContext second = start(secondPort, nodes)) {
+            // when - 두 번째 노드가 담당하는 사용자를 첫 번째 노드로 충전한다.
+            HttpResponse<String> charged = send(firstPort, "PATCH", "/point/" + remoteId + "/charge", "100");
+
+            // then - 담당 노드에 직접 조회해도, 다른 노드를 거쳐 조회해도 같은 잔액이어야 한다.
+            assertEquals(200, charged.statusCode());
+            assertTrue(send(secondPort, "GET", "/point/" + remoteId, null).body().contains("\"point\":100"));
+            assertTrue(send(firstPort, "GET", "/point/" + remoteId, null).body().contains("\"point\":100"));
+            assertTrue(send(firstPort, "GET", "/point/" + localId, null).body().contains("\"point\":0"));
+
+            // then - 서로 다른 노드가 담당하는 사용자끼리의 이체는 거절한다.
+            String transfer = "{\"fromUserId\":" + remoteId + ",\"toUserId\":" + localId + ",\"amount\":10}";
+            assertEquals(400, send(firstPort, "POST", "/point/transfer", transfer).statusCode());
+        }
+    }
+
+    /**
+     * 3. 노드 목록의 순서가 달라도 같은 담당 노드를 골라야 하고, 노드를 추가하면 새 노드가 가져가는 사용자만 옮겨져야 한다.
+     */
+    @Test
+    @DisplayName("노드 목록의 순서가 달라도 같은 담당 노드를 골라야 한다.")
+    void owner_does_not_depend_on_node_order() {
+        // given
+        List<String> nodes = List.of("http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+        PointCluster cluster = new PointCluster("http://localhost:8080", nodes, 128);
+        PointCluster reordered = new PointCluster("http://localhost:8080", List.of(nodes.get(2), nodes.get(0), nodes.get(1)), 128);
+        PointCluster grown = new PointCluster("http://localhost:8080",
+                List.of("http://localhost:8083", nodes.get(0), nodes.get(1), nodes.get(2)), 128);
+
+        // when & then
+        URI added = URI.create("http://localhost:8083");
+        for (long id = 0; id < 10_000; id++) {
+            assertEquals(cluster.ownerOf(id), reordered.ownerOf(id));
+            if (!grown.ownerOf(id).equals(added)) {
+                assertEquals(cluster.ownerOf(id), grown.ownerOf(id));
+            }
+        }
+    }
+
+    /**
+     * 4. 잔액 순위는 모든 노드의 사용자를 합쳐 계산해야 하고, 어느 노드로 조회해도 같아야 한다.
+     */
+    @Test
+    @DisplayName("잔액 순위는 모든 노드의 사용자를 합쳐 계산해야 한다.")
+    void ranks_are_merged_across_nodes() throws Exception {
+        // given
+        int firstPort = freePort();
+        int secondPort = freePort();
+        List<String> nodes = List.of("http://localhost:" + firstPort, "http://localhost:" + secondPort);
+        PointCluster cluster = new PointCluster(nodes.get(0), nodes, 128);
+        long remoteId = LongStream.range(1, 1_000).filter(id -> !cluster.isLocal(id)).findFirst().orElseThrow();
+        long localId = LongStream.range(1, 1_000).filter(cluster::isLocal).findFirst().orElseThrow();
+
+        try (ConfigurableApplicationContext first = start(firstPort, nodes);
+             ConfigurableApplicationContext second = start(secondPort, nodes)) {
+            send(firstPort, "PATCH", "/point/" + remoteId + "/charge", "300");
+            send(firstPort, "PATCH", "/point/" + localId + "/charge", "100");
+
+            // when & then - 다른 노드가 담당하는 사용자도 순위에 포함된다.
+            for (int port : new int[]{firstPort, secondPort}) {
+                String leaderboard = send(port, "GET", "/point/leaderboard?limit=2", null).body();
+                assertTrue(leaderboard.contains("{\"rank\":1,\"userId\":" + remoteId + ",\"point\":300}"));
+                assertTrue(leaderboard.contains("{\"rank\":2,\"userId\":" + localId + ",\"point\":100}"));
+                assertTrue(send(port, "GET", "/point/" + localId + "/rank", null).body().contains("\"rank\":2"));
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(int port, List<String> nodes) {
+        return new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=" + port,
+                        "point.cluster.enabled=true",
+                        "point.cluster.self=http://localhost:" + port,
+                        "point.cluster.nodes=" + String.join(",", nodes))
+                .run();
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
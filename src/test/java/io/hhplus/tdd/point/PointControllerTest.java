@@ -1,5 +1,12 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.PointTransfer;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.service.PointService;
 import org.junit.jupiter.api.DisplayName;
@@ -11,14 +18,23 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc // MockMvc를 자동으로 구성한다
@@ -37,26 +53,116 @@ class PointControllerTest {
     void point() throws Exception {
         long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
         UserPoint userPoint = new UserPoint(id, 0, System.currentTimeMillis()); // 사용자 포인트 초기값을 설정한다
-        when(pointService.getPoint(id)).thenReturn(userPoint); // getPoint 메서드가 userPoint를 반환하도록 설정한다
+        when(pointService.getPointAsync(id)).thenReturn(CompletableFuture.completedFuture(userPoint)); // getPointAsync 메서드가 userPoint를 반환하도록 설정한다
 
-        mockMvc.perform(get("/point/{id}", id)) // GET 요청을 수행한다
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}", id)) // GET 요청을 수행한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
                 .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
                 .andExpect(jsonPath("$.id").value(id)) // JSON 응답에서 id 필드를 검증한다
                 .andExpect(jsonPath("$.point").value(0)) // JSON 응답에서 point 필드를 검증한다
                 .andExpect(jsonPath("$.updateMillis").isNumber()); // JSON 응답에서 updateMillis 필드를 검증한다
-        verify(pointService).getPoint(id); // getPoint 메서드가 호출되었는지 확인한다
+        verify(pointService).getPointAsync(id); // getPointAsync 메서드가 호출되었는지 확인한다
     }
 
     @Test
     @DisplayName("포인트 히스토리 조회 컨트롤러 테스트")
     void history() throws Exception {
         long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
-        when(pointService.getHistory(id)).thenReturn(List.of()); // getHistory 메서드가 빈 리스트를 반환하도록 설정한다
+        when(pointService.getHistoryAsync(id, PointHistoryQuery.all())).thenReturn(CompletableFuture.completedFuture(List.of())); // getHistoryAsync 메서드가 빈 리스트를 반환하도록 설정한다
+
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}/histories", id)) // GET 요청을 수행한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
 
-        mockMvc.perform(get("/point/{id}/histories", id)) // GET 요청을 수행한다
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
                 .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
                 .andExpect(jsonPath("$").isArray()); // JSON 응답이 배열인지 확인한다
-        verify(pointService).getHistory(id); // getHistory 메서드가 호출되었는지 확인한다
+        verify(pointService).getHistoryAsync(id, PointHistoryQuery.all()); // 조건 없이 getHistoryAsync 메서드가 호출되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("포인트 히스토리 페이지 조회 컨트롤러 테스트")
+    void history_with_query() throws Exception {
+        long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
+        PointHistoryQuery query = new PointHistoryQuery(10L, 1000L, 2000L, TransactionType.CHARGE, 2); // 요청 파라미터가 변환될 조회 조건을 설정한다
+        when(pointService.getHistoryAsync(id, query)).thenReturn(CompletableFuture.completedFuture(List.of( // getHistoryAsync 메서드가 조건에 맞는 내역을 반환하도록 설정한다
+                new PointHistory(11L, id, 100L, TransactionType.CHARGE, 1500L))));
+
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}/histories", id) // GET 요청을 수행한다
+                        .param("limit", "2") // 최대 조회 건수를 설정한다
+                        .param("afterId", "10") // 커서를 설정한다
+                        .param("from", "1000") // 조회 시작 시간을 설정한다
+                        .param("to", "2000") // 조회 종료 시간을 설정한다
+                        .param("type", "CHARGE")) // 거래 유형을 설정한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                .andExpect(jsonPath("$[0].id").value(11)); // JSON 응답에서 내역 id 필드를 검증한다
+        verify(pointService).getHistoryAsync(id, query); // 조회 조건과 함께 getHistoryAsync 메서드가 호출되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("포인트 집계 조회 컨트롤러 테스트")
+    void stats() throws Exception {
+        long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
+        PointStats stats = PointStats.empty(id).plus(1000L, TransactionType.CHARGE, 1000L).plus(300L, TransactionType.USE, 2000L); // 충전 한 번, 사용 한 번의 집계를 설정한다
+        when(pointService.getStatsAsync(id)).thenReturn(CompletableFuture.completedFuture(stats)); // getStatsAsync 메서드가 집계를 반환하도록 설정한다
+
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}/stats", id)) // GET 요청을 수행한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                .andExpect(jsonPath("$.totalCharged").value(1000)) // JSON 응답에서 충전 합계를 검증한다
+                .andExpect(jsonPath("$.totalUsed").value(300)) // JSON 응답에서 사용 합계를 검증한다
+                .andExpect(jsonPath("$.counts.CHARGE").value(1)) // JSON 응답에서 충전 건수를 검증한다
+                .andExpect(jsonPath("$.lastActivityMillis").value(2000)); // JSON 응답에서 마지막 거래 시간을 검증한다
+        verify(pointService).getStatsAsync(id); // getStatsAsync 메서드가 호출되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("포인트 순위 조회 컨트롤러 테스트")
+    void leaderboard() throws Exception {
+        when(pointService.getLeaderboardAsync(2)).thenReturn(CompletableFuture.completedFuture(List.of( // getLeaderboardAsync 메서드가 상위 두 명을 반환하도록 설정한다
+                new PointRank(1, 3L, 700L),
+                new PointRank(2, 2L, 500L))));
+
+        MvcResult mvcResult = mockMvc.perform(get("/point/leaderboard").param("limit", "2")) // GET 요청을 수행한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                .andExpect(jsonPath("$[0].userId").value(3)) // JSON 응답에서 1위 사용자를 검증한다
+                .andExpect(jsonPath("$[1].rank").value(2)); // JSON 응답에서 2위 순위를 검증한다
+        verify(pointService).getLeaderboardAsync(2); // 요청한 건수로 getLeaderboardAsync 메서드가 호출되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("포인트 히스토리 스트림 조회 컨트롤러 테스트")
+    void historyStream() throws Exception {
+        long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
+        when(pointService.streamHistory(id)).thenReturn(Stream.of( // streamHistory 메서드가 내역 두 건을 반환하도록 설정한다
+                new PointHistory(1L, id, 100L, TransactionType.CHARGE, 1000L),
+                new PointHistory(2L, id, 50L, TransactionType.USE, 2000L)));
+
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}/histories/stream", id)) // GET 요청을 수행한다
+                .andExpect(request().asyncStarted()) // 응답 본문이 비동기로 작성되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 작성된 응답을 받는다
+                .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                .andExpect(content().contentType("application/x-ndjson")) // 응답 본문 타입이 NDJSON인지 확인한다
+                .andExpect(content().string( // 한 줄에 하나의 내역이 JSON으로 작성되었는지 검증한다
+                        "{\"id\":1,\"userId\":1,\"amount\":100,\"type\":\"CHARGE\",\"updateMillis\":1000}\n"
+                                + "{\"id\":2,\"userId\":1,\"amount\":50,\"type\":\"USE\",\"updateMillis\":2000}\n"));
+        verify(pointService).streamHistory(id); // streamHistory 메서드가 호출되었는지 확인한다
     }
 
     @Test
@@ -65,18 +171,22 @@ class PointControllerTest {
         long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
         long amount = 100L; // 충전할 포인트 양을 설정한다
         UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis()); // 충전 후의 사용자 포인트를 설정한다
-        when(pointService.chargePoint(id, amount)).thenReturn(userPoint); // chargePoint 메서드가 userPoint를 반환하도록 설정한다
+        when(pointService.chargePointAsync(id, amount)).thenReturn(CompletableFuture.completedFuture(userPoint)); // chargePointAsync 메서드가 userPoint를 반환하도록 설정한다
 
         String jsonContent = String.valueOf(amount); // JSON 형식으로 포인트 양을 설정한다
 
-        mockMvc.perform(patch("/point/{id}/charge", id) // PATCH 요청을 수행한다
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", id) // PATCH 요청을 수행한다
                         .content(jsonContent) // 요청 본문에 포인트 양을 설정한다
                         .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
                 .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
                 .andExpect(jsonPath("$.id").value(id)) // JSON 응답에서 id 필드를 검증한다
                 .andExpect(jsonPath("$.point").value(amount)) // JSON 응응답에서 point 필드를 검증한다
                 .andExpect(jsonPath("$.updateMillis").isNumber()); // JSON 응답에서 updateMillis 필드를 검증한다
-        verify(pointService).chargePoint(id, amount); // chargePoint 메서드가 호출되었는지 확인한다
+        verify(pointService).chargePointAsync(id, amount); // chargePointAsync 메서드가 호출되었는지 확인한다
     }
 
     @Test
@@ -89,17 +199,131 @@ class PointControllerTest {
         UserPoint updatedUserPoint = new UserPoint(id, initialAmount - useAmount, System.currentTimeMillis()); // 사용 후의 사용자 포인트를 설정한다
 
         when(pointService.getPoint(id)).thenReturn(initialUserPoint); // getPoint 메서드가 초기 포인트를 반환하도록 설정한다
-        when(pointService.usePoint(id, useAmount)).thenReturn(updatedUserPoint); // usePoint 메서드가 사용 후 포인트를 반환하도록 설정한다
+        when(pointService.usePointAsync(id, useAmount)).thenReturn(CompletableFuture.completedFuture(updatedUserPoint)); // usePointAsync 메서드가 사용 후 포인트를 반환하도록 설정한다
 
         String jsonContent = String.valueOf(useAmount); // JSON 형식으로 사용할 포인트 양을 설정한다
 
-        mockMvc.perform(patch("/point/{id}/use", id) // PATCH 요청을 수행한다
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/use", id) // PATCH 요청을 수행한다
                         .content(jsonContent) // 요청 본문에 포인트 양을 설정한다
                         .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
                 .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
                 .andExpect(jsonPath("$.id").value(id)) // JSON 응답에서 id 필드를 검증한다
                 .andExpect(jsonPath("$.point").value(initialAmount - useAmount)) // JSON 응답에서 사용 후 포인트 양을 검증한다
                 .andExpect(jsonPath("$.updateMillis").isNumber()); // JSON 응답에서 updateMillis 필드를 검증한다
-        verify(pointService).usePoint(id, useAmount); // usePoint 메서드가 호출되었는지 확인한다
+        verify(pointService).usePointAsync(id, useAmount); // usePointAsync 메서드가 호출되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 재시도한 충전은 다시 실행하지 않는다")
+    void charge_retried_with_same_idempotency_key() throws Exception {
+        long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
+        long amount = 100L; // 충전할 포인트 양을 설정한다
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis()); // 충전 후의 사용자 포인트를 설정한다
+        when(pointService.chargePointAsync(id, amount)).thenReturn(CompletableFuture.completedFuture(userPoint)); // chargePointAsync 메서드가 userPoint를 반환하도록 설정한다
+
+        for (int i = 0; i < 2; i++) { // 같은 키로 두 번 요청한다
+            MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", id) // PATCH 요청을 수행한다
+                            .header("Idempotency-Key", "charge-1") // 재시도를 구분하는 키를 설정한다
+                            .content(String.valueOf(amount)) // 요청 본문에 포인트 양을 설정한다
+                            .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                    .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                    .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                    .andExpect(jsonPath("$.point").value(amount)); // 재시도에도 처음 결과가 반환되는지 확인한다
+        }
+        verify(pointService, times(1)).chargePointAsync(id, amount); // 충전은 한 번만 실행되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("비동기 실행기 대기 큐가 가득 차면 503을 반환한다")
+    void charge_rejected_when_queue_is_full() throws Exception {
+        long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
+        long amount = 100L; // 충전할 포인트 양을 설정한다
+        when(pointService.chargePointAsync(id, amount)) // 실행기가 작업을 거절한 상황을 설정한다
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException()));
+
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", id) // PATCH 요청을 수행한다
+                        .content(String.valueOf(amount)) // 요청 본문에 포인트 양을 설정한다
+                        .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                .andExpect(status().isServiceUnavailable()) // 응답 상태가 503인지 확인한다
+                .andExpect(jsonPath("$.code").value("503")); // 에러 코드를 검증한다
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다른 요청을 보내면 422를 반환한다")
+    void charge_with_reused_idempotency_key_returns_422() throws Exception {
+        long id = 1L; // 테스트에 사용할 사용자 ID를 설정한다
+        UserPoint userPoint = new UserPoint(id, 100L, System.currentTimeMillis()); // 충전 후의 사용자 포인트를 설정한다
+        when(pointService.chargePointAsync(id, 100L)).thenReturn(CompletableFuture.completedFuture(userPoint)); // 첫 충전이 성공하도록 설정한다
+
+        for (long amount : new long[]{100L, 200L}) { // 같은 키로 금액만 바꿔 두 번 요청한다
+            MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", id) // PATCH 요청을 수행한다
+                            .header("Idempotency-Key", "charge-1") // 재시도를 구분하는 키를 설정한다
+                            .content(String.valueOf(amount)) // 요청 본문에 포인트 양을 설정한다
+                            .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                    .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                    .andExpect(status().is(amount == 100L ? 200 : 422)); // 두 번째 요청은 422인지 확인한다
+        }
+        verify(pointService, times(1)).chargePointAsync(id, 100L); // 충전은 한 번만 실행되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("포인트 이체 컨트롤러 테스트")
+    void transfer() throws Exception {
+        long now = System.currentTimeMillis();
+        PointTransfer pointTransfer = new PointTransfer(new UserPoint(1L, 700L, now), new UserPoint(2L, 300L, now)); // 이체 후 두 사용자의 포인트를 설정한다
+        when(pointService.transferPointAsync(1L, 2L, 300L)).thenReturn(CompletableFuture.completedFuture(pointTransfer)); // transferPointAsync 메서드가 이체 결과를 반환하도록 설정한다
+
+        MvcResult mvcResult = mockMvc.perform(post("/point/transfer") // POST 요청을 수행한다
+                        .content("{\"fromUserId\":1,\"toUserId\":2,\"amount\":300}") // 요청 본문에 이체 요청을 설정한다
+                        .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                .andExpect(request().asyncStarted()) // 요청 스레드가 결과를 기다리지 않고 반환되는지 확인한다
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult)) // 비동기로 완료된 응답을 받는다
+                .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                .andExpect(jsonPath("$.from.id").value(1)) // 보낸 사용자를 검증한다
+                .andExpect(jsonPath("$.from.point").value(700)) // 보낸 사용자의 이체 후 포인트를 검증한다
+                .andExpect(jsonPath("$.to.id").value(2)) // 받은 사용자를 검증한다
+                .andExpect(jsonPath("$.to.point").value(300)); // 받은 사용자의 이체 후 포인트를 검증한다
+        verify(pointService).transferPointAsync(1L, 2L, 300L); // transferPointAsync 메서드가 호출되었는지 확인한다
+    }
+
+    @Test
+    @DisplayName("포인트 일괄 처리 컨트롤러 테스트")
+    void batch() throws Exception {
+        List<PointOperation> operations = List.of( // 요청 본문이 변환될 작업 목록을 설정한다
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.USE, 50L));
+        when(pointService.applyBatch(operations)).thenReturn(List.of( // applyBatch 메서드가 작업별 결과를 반환하도록 설정한다
+                PointOperationResult.succeeded(operations.get(0), 100L, System.currentTimeMillis()),
+                PointOperationResult.failed(operations.get(1), 0L, "포인트가 부족합니다.")));
+
+        String jsonContent = """
+                [{"userId":1,"type":"CHARGE","amount":100},{"userId":2,"type":"USE","amount":50}]
+                """; // JSON 형식으로 작업 목록을 설정한다
+
+        mockMvc.perform(post("/point/batch") // POST 요청을 수행한다
+                        .content(jsonContent) // 요청 본문에 작업 목록을 설정한다
+                        .contentType(MediaType.APPLICATION_JSON)) // 요청 본문 타입을 JSON으로 설정한다
+                .andExpect(status().isOk()) // 응답 상태가 200 OK인지 확인한다
+                .andExpect(jsonPath("$[0].success").value(true)) // 첫 번째 작업이 성공했는지 검증한다
+                .andExpect(jsonPath("$[0].point").value(100)) // 첫 번째 작업 후 포인트를 검증한다
+                .andExpect(jsonPath("$[1].success").value(false)) // 두 번째 작업이 실패했는지 검증한다
+                .andExpect(jsonPath("$[1].message").value("포인트가 부족합니다.")); // 실패 사유를 검증한다
+        verify(pointService).applyBatch(operations); // applyBatch 메서드가 호출되었는지 확인한다
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.PointHistoryWriter;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointHistoryWriterTest {
+
+    /**
+     * 1. 포인트 충전은 내역 저장을 기다리지 않고 반환되어야 한다.
+     */
+    @Test
+    @DisplayName("포인트 충전은 내역 저장을 기다리지 않고 반환되어야 한다.")
+    void charge_returns_before_history_is_written() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0, 500);
+        PointService pointService = PointService.builder(pointRepository)
+                .pointHistoryWriter(new PointHistoryWriter(pointRepository, 10))
+                .build();
+
+        // when
+        long start = System.nanoTime();
+        pointService.chargePoint(1L, 100);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then - 응답은 내역 저장 지연보다 빨라야 하고, 이후 조회에서는 내역이 보여야 한다.
+        assertTrue(elapsedMillis < 500, "elapsed=" + elapsedMillis + "ms");
+        assertEquals(1, pointService.getHistory(1L).size());
+    }
+
+    /**
+     * 2. 같은 사용자의 내역은 요청 순서대로 저장되어야 한다.
+     */
+    @Test
+    @DisplayName("같은 사용자의 내역은 요청 순서대로 저장되어야 한다.")
+    void history_is_written_in_order() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0, 1);
+        PointService pointService = PointService.builder(pointRepository)
+                .pointHistoryWriter(new PointHistoryWriter(pointRepository, 4))
+                .build(); // 작은 큐로 backpressure 상황을 함께 확인한다.
+
+        // when
+        for (long amount = 1; amount <= 30; amount++) {
+            pointService.chargePoint(1L, amount);
+        }
+        List<PointHistory> histories = pointService.getHistory(1L);
+
+        // then
+        assertEquals(30, histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            assertEquals(i + 1, histories.get(i).amount());
+        }
+    }
+
+    /**
+     * 3. 종료 시 큐에 남아있는 내역을 모두 저장해야 한다.
+     */
+    @Test
+    @DisplayName("종료 시 큐에 남아있는 내역을 모두 저장해야 한다.")
+    void shutdown_flushes_pending_history() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0, 20);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointRepository, 100);
+        for (int i = 0; i < 10; i++) {
+            pointHistoryWriter.append(1L, 1, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+
+        // when
+        pointHistoryWriter.shutdown();
+
+        // then
+        assertEquals(10, pointRepository.selectHistoriesById(1L).size());
+        assertThrows(IllegalStateException.class,
+                () -> pointHistoryWriter.append(1L, 1, TransactionType.CHARGE, System.currentTimeMillis()));
+    }
+
+    /**
+     * 4. 실패한 포인트 사용은 내역을 남기지 않아야 한다.
+     */
+    @Test
+    @DisplayName("실패한 포인트 사용은 내역을 남기지 않아야 한다.")
+    void failed_use_does_not_write_history() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0, 0);
+        try (PointService pointService = PointService.builder(pointRepository).build()) {
+            // when
+            assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(1L, 100));
+            UserPoint userPoint = pointService.getPoint(1L);
+
+            // then
+            assertEquals(0, userPoint.point());
+            assertTrue(pointService.getHistory(1L).isEmpty());
+        }
+    }
+
+    /**
+     * 5. 같은 사용자의 내역이 계속 추가되어도 awaitFlushed 는 호출한 시점까지 추가된 내역만 기다려야 한다.
+     */
+    @Test
+    @DisplayName("awaitFlushed 는 호출 이후에 추가된 내역을 기다리지 않아야 한다.")
+    void await_flushed_does_not_wait_for_later_appends() throws InterruptedException {
+        // given - 다른 스레드가 같은 사용자의 내역을 쉬지 않고 추가한다.
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0, 10);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointRepository, 100);
+        pointHistoryWriter.append(1L, 1, TransactionType.CHARGE, System.currentTimeMillis());
+        AtomicBoolean appending = new AtomicBoolean(true);
+        Thread appender = new Thread(() -> {
+            while (appending.get()) {
+                pointHistoryWriter.append(1L, 1, TransactionType.CHARGE, System.currentTimeMillis());
+                Thread.onSpinWait();
+            }
+        });
+        appender.start();
+
+        // when
+        long start = System.nanoTime();
+        pointHistoryWriter.awaitFlushed(1L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        appending.set(false);
+        appender.join();
+
+        // then - 대기 중인 내역이 없어질 때까지 기다렸다면 내역이 계속 추가되는 동안 반환되지 않는다.
+        assertTrue(elapsedMillis < 5_000, "elapsed=" + elapsedMillis + "ms");
+        assertFalse(pointRepository.selectHistoriesById(1L).isEmpty());
+        pointHistoryWriter.shutdown();
+    }
+
+    /**
+     * 6. 저장에 실패한 내역은 다시 저장하고, 끝내 실패하면 dead letter 로 세고 awaitFlushed 가 알려야 한다.
+     */
+    @Test
+    @DisplayName("저장에 실패한 내역은 다시 저장하고, 끝내 실패하면 dead letter 로 보내야 한다.")
+    void retry_failed_insert_and_dead_letter() {
+        // given - 사용자 1의 내역은 두 번 실패한 뒤 저장되고, 사용자 2의 내역은 항상 실패한다.
+        AtomicInteger failures = new AtomicInteger();
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0, 0) {
+            @Override
+            public PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+                if (id == 2L || failures.incrementAndGet() <= 2) {
+                    throw new IllegalStateException("저장소를 사용할 수 없습니다.");
+                }
+                return super.insertHistory(id, amount, type, updateMillis);
+            }
+        };
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointRepository, 10);
+
+        // when
+        pointHistoryWriter.append(1L, 1, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryWriter.append(2L, 1, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // then
+        pointHistoryWriter.awaitFlushed(1L);
+        assertEquals(1, pointRepository.selectHistoriesById(1L).size());
+        assertThrows(IllegalStateException.class, () -> pointHistoryWriter.awaitFlushed(2L));
+        assertEquals(1, pointHistoryWriter.deadLetterCount());
+        pointHistoryWriter.shutdown();
+    }
+}
@@ -0,0 +1,251 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.repository.HedgingPointRepository;
+import io.hhplus.tdd.point.repository.JournaledPointRepository;
+import io.hhplus.tdd.point.repository.MeteredPointRepository;
+import io.hhplus.tdd.point.repository.PointJournal;
+import io.hhplus.tdd.point.repository.PointJournal.Entry;
+import io.hhplus.tdd.point.repository.PointJournal.FsyncPolicy;
+import io.hhplus.tdd.point.repository.PointJournal.Kind;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 1. 저널을 다시 열면 기록된 레코드를 순서대로 재생해야 한다.
+     */
+    @Test
+    @DisplayName("저널을 다시 열면 기록된 레코드를 순서대로 재생해야 한다.")
+    void replay_records_in_order() {
+        // given
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.ALWAYS, 5)) {
+            pointJournal.appendBalance(1L, 100L, 1000L);
+            pointJournal.appendHistory(1L, 100L, TransactionType.CHARGE, 1000L);
+            pointJournal.appendHistory(1L, 40L, TransactionType.USE, 2000L);
+        }
+
+        // when
+        List<Entry> entries = replay(FsyncPolicy.ALWAYS, 1024);
+
+        // then
+        assertEquals(List.of(
+                new Entry(Kind.BALANCE, 1L, 100L, null, 1000L),
+                new Entry(Kind.HISTORY, 1L, 100L, TransactionType.CHARGE, 1000L),
+                new Entry(Kind.HISTORY, 1L, 40L, TransactionType.USE, 2000L)), entries);
+    }
+
+    /**
+     * 2. 세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 재생은 세그먼트 순서대로 이어져야 한다.
+     */
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트에 이어서 기록해야 한다.")
+    void rotate_segments() throws IOException {
+        // given - 세그먼트 하나에 레코드 4개
+        int segmentSize = PointJournal.RECORD_SIZE * 4;
+        try (PointJournal pointJournal = new PointJournal(directory, segmentSize, FsyncPolicy.INTERVAL, 1)) {
+            for (long i = 1; i <= 10; i++) {
+                pointJournal.appendBalance(1L, i, i);
+            }
+        }
+
+        // when
+        List<Entry> entries = replay(FsyncPolicy.INTERVAL, segmentSize);
+
+        // then
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertEquals(3, segments.count());
+        }
+        assertEquals(10, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).amount());
+        }
+    }
+
+    /**
+     * 3. 쓰다가 끊긴 마지막 레코드는 무시하고, 다시 열면 그 자리부터 이어 써야 한다.
+     */
+    @Test
+    @DisplayName("쓰다가 끊긴 마지막 레코드는 무시하고 그 자리부터 이어 써야 한다.")
+    void ignore_torn_tail() throws IOException {
+        // given
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.NONE, 5)) {
+            pointJournal.appendBalance(1L, 100L, 1000L);
+        }
+        Path segment;
+        try (Stream<Path> segments = Files.list(directory)) {
+            segment = segments.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 7, 0, 0, 0, 0, 0, 0, 0, 0, 1}),
+                    PointJournal.RECORD_SIZE); // 체크섬 없이 기록된 두 번째 레코드
+        }
+
+        // when
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.NONE, 5)) {
+            pointJournal.appendBalance(2L, 200L, 2000L);
+        }
+
+        // then
+        assertEquals(List.of(
+                new Entry(Kind.BALANCE, 1L, 100L, null, 1000L),
+                new Entry(Kind.BALANCE, 2L, 200L, null, 2000L)), replay(FsyncPolicy.NONE, 1024));
+    }
+
+    /**
+     * 4. 저널을 사용하는 저장소는 재시작하면 포인트와 내역을 복원해야 한다.
+     */
+    @Test
+    @DisplayName("저널을 사용하는 저장소는 재시작하면 포인트와 내역을 복원해야 한다.")
+    void restore_repository_from_journal() {
+        // given
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.INTERVAL, 1)) {
+            JournaledPointRepository pointRepository = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+            pointRepository.insertOrUpdate(1L, 100L);
+            pointRepository.insertHistory(1L, 100L, TransactionType.CHARGE, 1000L);
+            pointRepository.insertOrUpdate(1L, 60L);
+            pointRepository.insertHistory(1L, 40L, TransactionType.USE, 2000L);
+        }
+
+        // when - 빈 저장소로 재시작
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.INTERVAL, 1)) {
+            JournaledPointRepository restored = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+
+            // then
+            assertEquals(60L, restored.selectById(1L).point());
+            assertEquals(List.of(100L, 40L), restored.selectHistoriesById(1L).stream().map(history -> history.amount()).toList());
+        }
+    }
+
+    /**
+     * 5. 두 사용자의 잔액을 함께 기록하다 끊기면, 묶음 전체를 무시하고 그 자리부터 이어 써야 한다.
+     */
+    @Test
+    @DisplayName("함께 기록한 두 잔액 중 하나만 남으면 묶음 전체를 무시해야 한다.")
+    void ignore_torn_balance_pair() throws IOException {
+        // given
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.NONE, 5)) {
+            pointJournal.appendBalance(1L, 100L, 1000L);
+            pointJournal.appendBalances(1L, 70L, 2L, 30L, 2000L);
+        }
+        Path segment;
+        try (Stream<Path> segments = Files.list(directory)) {
+            segment = segments.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0, 0, 0, 0, 0}),
+                    PointJournal.RECORD_SIZE * 2); // 묶음의 두 번째 레코드가 기록되지 못한 상태
+        }
+
+        // when
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.NONE, 5)) {
+            pointJournal.appendBalance(3L, 300L, 3000L);
+        }
+
+        // then
+        assertEquals(List.of(
+                new Entry(Kind.BALANCE, 1L, 100L, null, 1000L),
+                new Entry(Kind.BALANCE, 3L, 300L, null, 3000L)), replay(FsyncPolicy.NONE, 1024));
+    }
+
+    /**
+     * 6. 잔액과 함께 기록한 내역은 저장소에 추가되기 전에 멈춰도 복원되고, 저장소에 추가할 때 다시 기록되지 않아야 한다.
+     */
+    @Test
+    @DisplayName("잔액과 함께 기록한 내역은 재시작하면 한 번만 복원되어야 한다.")
+    void restore_histories_recorded_with_balance() {
+        // given - 1번 사용자의 내역은 저장소에 추가했고, 2번 사용자의 내역은 추가하기 전에 멈춘다.
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.INTERVAL, 1)) {
+            JournaledPointRepository pointRepository = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+            pointRepository.insertOrUpdate(1L, 100L, List.of(new PointOperation(1L, TransactionType.CHARGE, 100L)));
+            pointRepository.insertRecordedHistory(1L, 100L, TransactionType.CHARGE, 1000L);
+            pointRepository.insertOrUpdate(2L, 50L, List.of(new PointOperation(2L, TransactionType.CHARGE, 50L)));
+        }
+
+        // when - 빈 저장소로 재시작
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.INTERVAL, 1)) {
+            JournaledPointRepository restored = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+
+            // then
+            assertEquals(List.of(100L), restored.selectHistoriesById(1L).stream().map(history -> history.amount()).toList());
+            assertEquals(50L, restored.selectById(2L).point());
+            assertEquals(List.of(50L), restored.selectHistoriesById(2L).stream().map(history -> history.amount()).toList());
+        }
+    }
+
+    /**
+     * 7. 저널, 헤징, 메트릭 데코레이터를 거쳐도 순위 조회는 감싼 저장소의 결과를 그대로 반환해야 한다.
+     */
+    @Test
+    @DisplayName("데코레이터를 거쳐도 순위 조회는 감싼 저장소에 위임되어야 한다.")
+    void decorators_delegate_rank_queries() {
+        // given
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.NONE, 0)) {
+            PointRepository pointRepository = new MeteredPointRepository(
+                    new JournaledPointRepository(new HedgingPointRepository(new DelayedPointRepository(0), 0.95, 20), pointJournal),
+                    new SimpleMeterRegistry());
+            pointRepository.insertOrUpdate(1L, 100L);
+            pointRepository.insertOrUpdate(2L, 300L);
+            pointRepository.insertOrUpdate(3L, 200L);
+
+            // when & then
+            assertEquals(List.of(new PointRank(1, 2L, 300L), new PointRank(2, 3L, 200L)), pointRepository.selectTopByPoint(2));
+            assertEquals(new PointRank(3, 1L, 100L), pointRepository.selectRankById(1L));
+            assertEquals(2, pointRepository.countAhead(150L, 4L));
+        }
+    }
+
+    private List<Entry> replay(FsyncPolicy fsyncPolicy, int segmentSize) {
+        List<Entry> entries = new ArrayList<>();
+        try (PointJournal pointJournal = new PointJournal(directory, segmentSize, fsyncPolicy, 5)) {
+            pointJournal.replay(entries::add);
+        }
+        return entries;
+    }
+
+    /**
+     * 8. 이체한 두 잔액과 이체 내역은 하나의 묶음으로 기록되어, 내역을 저장소에 추가하기 전에 멈춰도 함께 복원되어야 한다.
+     */
+    @Test
+    @DisplayName("이체 내역은 두 잔액과 함께 복원되어야 한다.")
+    void restore_transfer_histories_recorded_with_balances() {
+        // given - 이체한 두 잔액만 저장하고, 내역은 저장소에 추가하기 전에 멈춘다.
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.INTERVAL, 1)) {
+            JournaledPointRepository pointRepository = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+            pointRepository.insertOrUpdatePair(1L, 70L, 2L, 30L, List.of(
+                    new PointOperation(1L, TransactionType.TRANSFER_OUT, 30L),
+                    new PointOperation(2L, TransactionType.TRANSFER_IN, 30L)));
+        }
+
+        // when - 빈 저장소로 재시작
+        try (PointJournal pointJournal = new PointJournal(directory, 1024, FsyncPolicy.INTERVAL, 1)) {
+            JournaledPointRepository restored = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+
+            // then
+            assertEquals(70L, restored.selectById(1L).point());
+            assertEquals(30L, restored.selectById(2L).point());
+            assertEquals(List.of(TransactionType.TRANSFER_OUT), restored.selectHistoriesById(1L).stream().map(history -> history.type()).toList());
+            assertEquals(List.of(TransactionType.TRANSFER_IN), restored.selectHistoriesById(2L).stream().map(history -> history.type()).toList());
+        }
+    }
+}
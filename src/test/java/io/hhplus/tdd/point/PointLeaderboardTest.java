@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.repository.PointLeaderboard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointLeaderboardTest {
+
+    private static final Comparator<Map.Entry<Long, Long>> RANK_ORDER =
+            Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    /**
+     * 1. 잔액이 여러 번 바뀌어도 순위는 전체 정렬한 결과와 같아야 한다.
+     */
+    @Test
+    @DisplayName("잔액이 여러 번 바뀌어도 순위는 전체 정렬한 결과와 같아야 한다.")
+    void rank_and_top_match_sorted_balances() {
+        // given - 같은 잔액이 자주 나오도록 잔액 범위를 좁게 잡는다.
+        PointLeaderboard pointLeaderboard = new PointLeaderboard();
+        Map<Long, Long> balances = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long userId = random.nextInt(500) + 1;
+            long point = random.nextInt(100);
+            pointLeaderboard.update(userId, point);
+            balances.put(userId, point);
+        }
+        List<Map.Entry<Long, Long>> sorted = new ArrayList<>(balances.entrySet());
+        sorted.sort(RANK_ORDER);
+
+        // when
+        List<PointRank> top = pointLeaderboard.top(100);
+
+        // then
+        assertEquals(balances.size(), pointLeaderboard.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(new PointRank(i + 1, sorted.get(i).getKey(), sorted.get(i).getValue()), top.get(i));
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, pointLeaderboard.rank(sorted.get(i).getKey()).rank());
+        }
+    }
+
+    /**
+     * 2. 잔액이 저장된 적 없는 사용자는 잔액 0 인 사용자로 순위가 계산되어야 한다.
+     */
+    @Test
+    @DisplayName("잔액이 저장된 적 없는 사용자는 잔액 0 으로 순위가 계산되어야 한다.")
+    void rank_of_unknown_user() {
+        // given
+        PointLeaderboard pointLeaderboard = new PointLeaderboard();
+        pointLeaderboard.update(1L, 100L);
+        pointLeaderboard.update(2L, 0L);
+        pointLeaderboard.update(5L, 0L);
+
+        // when
+        PointRank pointRank = pointLeaderboard.rank(3L);
+
+        // then - 1번(100), 2번(0) 다음 순위
+        assertEquals(new PointRank(3, 3L, 0L), pointRank);
+    }
+
+    /**
+     * 3. 여러 스레드가 동시에 잔액을 바꿔도 색인은 사용자별 마지막 잔액만 가지고 있어야 한다.
+     */
+    @Test
+    @DisplayName("동시에 잔액을 바꿔도 사용자별 마지막 잔액만 남아야 한다.")
+    void concurrent_updates() throws Exception {
+        // given - 스레드마다 서로 다른 사용자를 맡아 마지막 잔액이 정해지도록 한다.
+        PointLeaderboard pointLeaderboard = new PointLeaderboard();
+        int numberOfThreads = 8;
+        int usersPerThread = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads + 1);
+
+        // when
+        for (int t = 0; t < numberOfThreads; t++) {
+            long firstUserId = (long) t * usersPerThread + 1;
+            executorService.submit(() -> {
+                for (int round = 0; round <= 100; round++) {
+                    for (long userId = firstUserId; userId < firstUserId + usersPerThread; userId++) {
+                        pointLeaderboard.update(userId, round * userId % 1_000);
+                    }
+                }
+            });
+        }
+        executorService.submit(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                List<PointRank> top = pointLeaderboard.top(50);
+                for (int j = 1; j < top.size(); j++) {
+                    assertTrue(top.get(j - 1).point() >= top.get(j).point());
+                }
+            }
+        }).get(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        int totalUsers = numberOfThreads * usersPerThread;
+        assertEquals(totalUsers, pointLeaderboard.size());
+        List<PointRank> all = pointLeaderboard.top(totalUsers);
+        for (PointRank pointRank : all) {
+            assertEquals(100 * pointRank.userId() % 1_000, pointRank.point());
+            assertEquals(pointRank, pointLeaderboard.rank(pointRank.userId()));
+        }
+    }
+}
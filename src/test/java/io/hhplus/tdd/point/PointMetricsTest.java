@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.repository.MeteredPointRepository;
+import io.hhplus.tdd.point.service.PointMetrics;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UserLockManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MeteredPointRepository pointRepository = new MeteredPointRepository(new DelayedPointRepository(0), meterRegistry);
+        UserLockManager userLockManager = new UserLockManager(false);
+        userLockManager.bindTo(meterRegistry);
+        pointService = PointService.builder(pointRepository)
+                .userLockManager(userLockManager)
+                .pointMetrics(new PointMetrics(meterRegistry))
+                .build();
+    }
+
+    /**
+     * 1. 서비스 메서드와 저장소 호출마다 소요 시간이 기록된다.
+     */
+    @Test
+    @DisplayName("서비스 메서드와 저장소 호출마다 소요 시간이 기록된다.")
+    void service_and_repository_calls_are_timed() {
+        // when
+        pointService.chargePoint(1L, 100);
+        pointService.getPoint(1L);
+
+        // then
+        assertEquals(1, meterRegistry.get("point.service").tag("method", "chargePoint").timer().count());
+        assertEquals(1, meterRegistry.get("point.service").tag("method", "getPoint").timer().count());
+        assertEquals(2, meterRegistry.get("point.repository").tag("method", "selectById").timer().count());
+        assertEquals(1, meterRegistry.get("point.repository").tag("method", "insertOrUpdate").timer().count());
+        assertEquals(1, meterRegistry.get("point.lock.wait").timer().count());
+        assertEquals(0.0, meterRegistry.get("point.lock.waiting").gauge().value());
+    }
+
+    /**
+     * 2. 충전/사용 포인트 합계와 거절 사유별 횟수가 기록된다.
+     */
+    @Test
+    @DisplayName("충전/사용 포인트 합계와 거절 사유별 횟수가 기록된다.")
+    void amounts_and_rejections_are_counted() {
+        // when
+        pointService.chargePoint(1L, 100);
+        pointService.usePoint(1L, 30);
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(1L, 1000));
+        assertThrows(IllegalArgumentException.class, () -> pointService.chargePoint(1L, 0));
+
+        // then
+        assertEquals(100.0, meterRegistry.get("point.amount").tag("type", "CHARGE").counter().count());
+        assertEquals(30.0, meterRegistry.get("point.amount").tag("type", "USE").counter().count());
+        assertEquals(1.0, meterRegistry.get("point.rejected").tag("reason", PointMetrics.INSUFFICIENT_BALANCE).counter().count());
+        assertEquals(1.0, meterRegistry.get("point.rejected").tag("reason", PointMetrics.INVALID_AMOUNT).counter().count());
+    }
+}
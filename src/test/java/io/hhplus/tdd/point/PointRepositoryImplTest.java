@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.repository.PointHistoryIndex;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointRepositoryImplTest {
+
+    /**
+     * 1. 저장한 내역은 사용자별로 저장된 순서대로 조회된다.
+     */
+    @Test
+    @DisplayName("저장한 내역은 사용자별로 저장된 순서대로 조회된다.")
+    void selectHistoriesById_returns_only_user_histories() {
+        // given
+        PointRepositoryImpl pointRepository = new PointRepositoryImpl();
+        pointRepository.insertHistory(1L, 100, TransactionType.CHARGE, 1L);
+        pointRepository.insertHistory(2L, 200, TransactionType.CHARGE, 2L);
+        pointRepository.insertHistory(1L, 50, TransactionType.USE, 3L);
+
+        // when
+        List<PointHistory> histories = pointRepository.selectHistoriesById(1L);
+
+        // then
+        assertEquals(2, histories.size());
+        assertEquals(TransactionType.CHARGE, histories.get(0).type());
+        assertEquals(TransactionType.USE, histories.get(1).type());
+        assertTrue(pointRepository.selectHistoriesById(3L).isEmpty());
+    }
+
+    /**
+     * 2. 색인에서 반환한 목록은 이후 추가된 내역의 영향을 받지 않는다.
+     */
+    @Test
+    @DisplayName("색인에서 반환한 목록은 이후 추가된 내역의 영향을 받지 않는다.")
+    void index_returns_snapshot() {
+        // given
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        pointHistoryIndex.add(new PointHistory(1L, 1L, 100, TransactionType.CHARGE, 1L));
+        List<PointHistory> snapshot = pointHistoryIndex.findAllByUserId(1L);
+
+        // when
+        pointHistoryIndex.add(new PointHistory(2L, 1L, 100, TransactionType.CHARGE, 2L));
+
+        // then
+        assertEquals(1, snapshot.size());
+        assertEquals(2, pointHistoryIndex.findAllByUserId(1L).size());
+    }
+
+    /**
+     * 3. 커서, 시간 범위, 거래 유형, 최대 건수 조건에 맞는 구간만 조회된다.
+     */
+    @Test
+    @DisplayName("커서, 시간 범위, 거래 유형, 최대 건수 조건에 맞는 구간만 조회된다.")
+    void index_find_returns_requested_slice() {
+        // given
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        for (long id = 1; id <= 10; id++) {
+            TransactionType type = id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            pointHistoryIndex.add(new PointHistory(id, 1L, id * 10, type, id * 1000));
+        }
+
+        // when
+        List<PointHistory> firstPage = pointHistoryIndex.find(1L, new PointHistoryQuery(null, null, null, TransactionType.CHARGE, 2));
+        List<PointHistory> nextPage = pointHistoryIndex.find(1L, new PointHistoryQuery(firstPage.get(1).id(), null, null, TransactionType.CHARGE, 2));
+        List<PointHistory> range = pointHistoryIndex.find(1L, new PointHistoryQuery(null, 4000L, 6000L, null, null));
+
+        // then
+        assertEquals(List.of(1L, 3L), firstPage.stream().map(PointHistory::id).toList());
+        assertEquals(List.of(5L, 7L), nextPage.stream().map(PointHistory::id).toList());
+        assertEquals(List.of(4L, 5L, 6L), range.stream().map(PointHistory::id).toList());
+    }
+
+    /**
+     * 4. 잘못된 조회 조건은 IllegalArgumentException을 발생시킨다.
+     */
+    @Test
+    @DisplayName("잘못된 조회 조건은 IllegalArgumentException을 발생시킨다.")
+    void invalid_query_throw_exception() {
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> new PointHistoryQuery(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PointHistoryQuery(null, 2000L, 1000L, null, null));
+    }
+}
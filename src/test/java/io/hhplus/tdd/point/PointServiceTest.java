@@ -1,9 +1,19 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.domain.PointStats;
+import io.hhplus.tdd.point.domain.PointTransfer;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.repository.PointRepository;
 import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.service.PointExecutors;
+import io.hhplus.tdd.point.service.PointMetrics;
 import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,9 +21,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +44,12 @@ class PointServiceTest {
     private PointRepository pointRepository;
     @BeforeEach
     void setUp() {
-        pointService = new PointService(pointRepository);
+        pointService = PointService.builder(pointRepository).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.close(); // 테스트마다 만든 내역 작성 스레드를 종료한다.
     }
 
     /**
@@ -300,4 +321,208 @@ class PointServiceTest {
         long actualPoints = pointService.getPoint(1L).point(); //모두 성공했다면 0이 나와야 함
         assertEquals(expectedPoints, actualPoints, "동시성 테스트 실패: 예상 포인트 값과 실제 포인트 값이 다릅니다.");
     }
-}
\ No newline at end of file
+
+    /**
+     * 12. 일괄 처리 테스트, 사용자별로 요청 순서대로 적용되고 실패한 요청만 실패로 반환한다.
+     */
+    @Test
+    @DisplayName("일괄 처리 테스트 - 사용자별로 요청 순서대로 적용되고 실패한 요청만 실패로 반환한다.")
+    void applyBatch_returns_result_per_operation() {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 1000L),
+                new PointOperation(2L, TransactionType.CHARGE, 500L),
+                new PointOperation(1L, TransactionType.USE, 300L),
+                new PointOperation(1L, TransactionType.USE, 5000L), // 잔액 부족
+                new PointOperation(2L, TransactionType.CHARGE, 0L) // 잘못된 금액
+        );
+        // when
+        List<PointOperationResult> results = pointService.applyBatch(operations);
+        // then
+        assertEquals(operations.size(), results.size());
+        assertTrue(results.get(0).success());
+        assertEquals(1000L, results.get(0).point());
+        assertTrue(results.get(1).success());
+        assertTrue(results.get(2).success());
+        assertEquals(700L, results.get(2).point());
+        assertFalse(results.get(3).success());
+        assertEquals("포인트가 부족합니다.", results.get(3).message());
+        assertFalse(results.get(4).success());
+        assertEquals(700L, pointService.getPoint(1L).point());
+        assertEquals(500L, pointService.getPoint(2L).point());
+        assertEquals(2, pointService.getHistory(1L).size()); // 성공한 요청만 내역이 남는다.
+    }
+
+    /**
+     * 13. 일괄 처리 테스트, 요청이 비어있으면 IllegalArgumentException을 발생시킨다.
+     */
+    @Test
+    @DisplayName("일괄 처리 테스트 - 요청이 비어있으면 IllegalArgumentException을 발생시킨다.")
+    void applyBatch_with_empty_operations_throw_exception() {
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> pointService.applyBatch(List.of()));
+    }
+
+    /**
+     * 14. 포인트 내역 스트림 테스트, 페이지 크기보다 많은 내역도 순서대로 모두 반환한다.
+     */
+    @Test
+    @DisplayName("포인트 내역 스트림 테스트 - 페이지 크기보다 많은 내역도 순서대로 모두 반환한다.")
+    void streamHistory_returns_all_pages_in_order() {
+        // given - 테이블 지연 없이 많은 내역을 쌓기 위해 고정 지연 저장소를 사용한다.
+        DelayedPointRepository delayedPointRepository = new DelayedPointRepository(0);
+        PointService streamingPointService = PointService.builder(delayedPointRepository).build();
+        int count = PointService.HISTORY_STREAM_PAGE_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            streamingPointService.chargePoint(1L, 1);
+        }
+        // when
+        List<Long> ids = streamingPointService.streamHistory(1L).map(history -> history.id()).toList();
+        // then
+        assertEquals(count, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    /**
+     * 15. 비동기 충전 테스트, 실행기 대기 큐가 가득 차면 RejectedExecutionException 으로 완료된 future 를 반환한다.
+     */
+    @Test
+    @DisplayName("비동기 충전 테스트 - 실행기 대기 큐가 가득 차면 거절된 future 를 반환한다.")
+    void chargePointAsync_rejected_when_queue_is_full() throws Exception {
+        // given - 스레드 1개, 대기 큐 1칸인 실행기
+        DelayedPointRepository delayedPointRepository = new DelayedPointRepository(100);
+        ThreadPoolExecutor asyncExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointService asyncPointService = PointService.builder(delayedPointRepository)
+                .pointMetrics(pointMetrics)
+                .pointAsyncExecutor(asyncExecutor)
+                .build();
+        // when
+        CompletableFuture<UserPoint> running = asyncPointService.chargePointAsync(1L, 100L);
+        CompletableFuture<UserPoint> queued = asyncPointService.chargePointAsync(1L, 100L);
+        CompletableFuture<UserPoint> rejected = asyncPointService.chargePointAsync(1L, 100L);
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(100L, running.get(1, TimeUnit.SECONDS).point());
+        assertEquals(200L, queued.get(1, TimeUnit.SECONDS).point());
+        asyncExecutor.shutdown();
+    }
+
+    /**
+     * 16. 포인트 집계 조회 테스트, 충전/사용 합계와 거래 유형별 건수, 첫/마지막 거래 시간을 반환한다.
+     */
+    @Test
+    @DisplayName("포인트 집계 조회 테스트 - 충전/사용 합계와 거래 유형별 건수를 반환한다.")
+    void getStats_returns_aggregated_stats() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        pointService.chargePoint(1L, 500L);
+        pointService.usePoint(1L, 300L);
+        List<PointHistory> histories = pointService.getHistory(1L);
+        // when
+        PointStats stats = pointService.getStats(1L);
+        // then
+        assertEquals(1500L, stats.totalCharged());
+        assertEquals(300L, stats.totalUsed());
+        assertEquals(2L, (long) stats.counts().get(TransactionType.CHARGE));
+        assertEquals(1L, (long) stats.counts().get(TransactionType.USE));
+        assertEquals(histories.get(0).updateMillis(), (long) stats.firstActivityMillis());
+        assertEquals(histories.get(histories.size() - 1).updateMillis(), (long) stats.lastActivityMillis());
+    }
+
+    /**
+     * 17. 포인트 순위 테스트, 충전/사용이 반영된 잔액 순으로 순위를 반환한다.
+     */
+    @Test
+    @DisplayName("포인트 순위 테스트 - 충전/사용이 반영된 잔액 순으로 순위를 반환한다.")
+    void getLeaderboard_and_getRank_reflect_balances() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        pointService.chargePoint(2L, 500L);
+        pointService.chargePoint(3L, 700L);
+        pointService.usePoint(1L, 600L);
+        // when
+        List<PointRank> leaderboard = pointService.getLeaderboard(2);
+        PointRank rank = pointService.getRank(1L);
+        // then
+        assertEquals(List.of(new PointRank(1, 3L, 700L), new PointRank(2, 2L, 500L)), leaderboard);
+        assertEquals(new PointRank(3, 1L, 400L), rank);
+        assertThrows(IllegalArgumentException.class, () -> pointService.getLeaderboard(PointService.MAX_LEADERBOARD_SIZE + 1));
+    }
+
+    /**
+     * 18. 포인트 이체 테스트, 보낸 사용자와 받은 사용자의 잔액과 내역이 함께 반영되고, 잔액이 부족하면 어느 쪽도 반영되지 않는다.
+     */
+    @Test
+    @DisplayName("포인트 이체 테스트 - 두 사용자의 잔액이 함께 반영되고, 잔액이 부족하면 어느 쪽도 반영되지 않는다.")
+    void transferPoint_moves_point_between_users() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        pointService.chargePoint(2L, 100L);
+        // when
+        PointTransfer transfer = pointService.transferPoint(1L, 2L, 300L);
+        // then
+        assertEquals(700L, transfer.from().point());
+        assertEquals(400L, transfer.to().point());
+        assertEquals(TransactionType.TRANSFER_OUT, pointService.getHistory(1L).get(1).type());
+        assertEquals(TransactionType.TRANSFER_IN, pointService.getHistory(2L).get(1).type());
+        assertEquals(300L, pointService.getStats(2L).totalTransferredIn());
+        assertThrows(IllegalArgumentException.class, () -> pointService.transferPoint(2L, 1L, 401L));
+        assertThrows(IllegalArgumentException.class, () -> pointService.transferPoint(1L, 1L, 100L));
+        assertEquals(700L, pointService.getPoint(1L).point());
+        assertEquals(400L, pointService.getPoint(2L).point());
+    }
+
+    /**
+     * 19. 동시성 테스트, 서로 다른 사용자의 충전이 동시에 테이블에 저장되어도 모든 사용자의 잔액이 반영되어야 한다.
+     */
+    @Test
+    @DisplayName("동시성 테스트 - 서로 다른 사용자의 동시 충전이 모든 사용자의 잔액에 반영되어야 한다.")
+    void charge_distinct_users_concurrently() throws InterruptedException {
+        // given
+        int numberOfUsers = 30;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfUsers);
+
+        // when
+        for (int i = 1; i <= numberOfUsers; i++) {
+            long id = i;
+            executorService.submit(() -> pointService.chargePoint(id, id * 100));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        for (long id = 1; id <= numberOfUsers; id++) {
+            assertEquals(id * 100, pointService.getPoint(id).point(), "id=" + id);
+        }
+    }
+
+    /**
+     * 20. 비동기 충전 테스트, 가상 스레드 모드에서도 동시 작업 한도를 넘으면 RejectedExecutionException 으로 완료된 future 를 반환한다.
+     */
+    @Test
+    @DisplayName("비동기 충전 테스트 - 가상 스레드 모드에서 동시 작업 한도를 넘으면 거절된 future 를 반환한다.")
+    void chargePointAsync_rejected_over_virtual_thread_limit() throws Exception {
+        // given - pool-size 1 + queue-capacity 1, 동시에 2개까지 접수하는 실행기
+        DelayedPointRepository delayedPointRepository = new DelayedPointRepository(100);
+        PointExecutors pointExecutors = new PointExecutors(true, 1, 1, 1, 0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointService asyncPointService = PointService.builder(delayedPointRepository)
+                .pointMetrics(pointMetrics)
+                .pointExecutors(pointExecutors)
+                .build();
+        // when
+        CompletableFuture<UserPoint> first = asyncPointService.chargePointAsync(1L, 100L);
+        CompletableFuture<UserPoint> second = asyncPointService.chargePointAsync(1L, 100L);
+        CompletableFuture<UserPoint> rejected = asyncPointService.chargePointAsync(1L, 100L);
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(300L, first.get(1, TimeUnit.SECONDS).point() + second.get(1, TimeUnit.SECONDS).point());
+        assertEquals(300L, asyncPointService.chargePointAsync(1L, 100L).get(1, TimeUnit.SECONDS).point()); // 끝난 작업의 한도는 반환된다.
+        pointExecutors.shutdown();
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.repository.PointShardRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointShardRingTest {
+
+    private static final int USERS = 100_000;
+
+    /**
+     * 1. 연속된 사용자 ID 도 샤드에 고르게 나뉘어야 한다.
+     */
+    @Test
+    @DisplayName("연속된 사용자 ID 도 샤드에 고르게 나뉘어야 한다.")
+    void distribute_users_evenly() {
+        // given
+        PointShardRing ring = new PointShardRing(8);
+        int[] counts = new int[ring.shardCount()];
+
+        // when
+        for (long id = 1; id <= USERS; id++) {
+            counts[ring.shardOf(id)]++;
+        }
+
+        // then - 샤드마다 평균의 ±25% 안에 들어야 한다.
+        int average = USERS / ring.shardCount();
+        for (int count : counts) {
+            assertTrue(Math.abs(count - average) < average / 4, "샤드별 사용자 수가 고르지 않습니다. count=" + count);
+        }
+    }
+
+    /**
+     * 2. 샤드를 하나 추가하면 새 샤드로 옮겨지는 사용자만 바뀌고, 나머지 사용자는 같은 샤드에 남아야 한다.
+     */
+    @Test
+    @DisplayName("샤드를 추가하면 새 샤드로 옮겨지는 사용자만 바뀌어야 한다.")
+    void add_shard_moves_only_users_of_new_shard() {
+        // given
+        PointShardRing before = new PointShardRing(8);
+        PointShardRing after = new PointShardRing(9);
+        int moved = 0;
+
+        // when
+        for (long id = 1; id <= USERS; id++) {
+            int previous = before.shardOf(id);
+            int current = after.shardOf(id);
+            if (previous != current) {
+                assertEquals(8, current); // 옮겨지는 사용자는 모두 새 샤드로 간다.
+                moved++;
+            }
+        }
+
+        // then - 약 1/9 의 사용자만 옮겨진다.
+        assertTrue(moved > USERS / 18 && moved < USERS / 6, "옮겨진 사용자 수=" + moved);
+    }
+}
@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.JournaledPointRepository;
+import io.hhplus.tdd.point.repository.PointJournal;
+import io.hhplus.tdd.point.repository.PointJournal.FsyncPolicy;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.repository.PointSnapshotter;
+import io.hhplus.tdd.point.repository.PointSnapshotter.Snapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 1. 스냅샷은 사용자 ID 순으로 정렬된 마지막 포인트를 저장해야 한다.
+     */
+    @Test
+    @DisplayName("스냅샷은 사용자 ID 순으로 정렬된 마지막 포인트를 저장해야 한다.")
+    void take_snapshot_sorted_by_user_id() {
+        // given
+        try (PointJournal pointJournal = new PointJournal(directory.resolve("journal"), 1024, FsyncPolicy.NONE, 0)) {
+            pointJournal.appendBalance(3L, 300L, 1000L);
+            pointJournal.appendBalance(1L, 100L, 1000L);
+            pointJournal.appendBalance(3L, 30L, 2000L);
+            PointSnapshotter pointSnapshotter = new PointSnapshotter(pointJournal, directory.resolve("snapshot"));
+
+            // when
+            pointSnapshotter.take();
+
+            // then
+            Snapshot snapshot = pointSnapshotter.latest().orElseThrow();
+            assertEquals(pointJournal.position(), snapshot.position());
+            assertEquals(List.of(new UserPoint(1L, 100L, 1000L), new UserPoint(3L, 30L, 2000L)), snapshot.balances());
+        }
+    }
+
+    /**
+     * 2. 재시작하면 스냅샷을 불러오고 스냅샷 이후의 저널만 재생해야 한다.
+     */
+    @Test
+    @DisplayName("재시작하면 스냅샷 이후의 저널만 재생해야 한다.")
+    void recover_from_snapshot_and_journal_tail() {
+        // given - 레코드 4개를 기록하고 스냅샷을 저장한 뒤, 레코드 2개를 더 기록한다.
+        try (PointJournal pointJournal = new PointJournal(directory.resolve("journal"), 1024, FsyncPolicy.NONE, 0)) {
+            JournaledPointRepository pointRepository = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+            pointRepository.insertOrUpdate(1L, 100L);
+            pointRepository.insertHistory(1L, 100L, TransactionType.CHARGE, 1000L);
+            pointRepository.insertOrUpdate(2L, 500L);
+            pointRepository.insertHistory(2L, 500L, TransactionType.CHARGE, 1000L);
+            new PointSnapshotter(pointJournal, directory.resolve("snapshot")).take();
+            pointRepository.insertOrUpdate(1L, 60L);
+            pointRepository.insertHistory(1L, 40L, TransactionType.USE, 2000L);
+        }
+
+        // when - 빈 저장소로 재시작
+        try (PointJournal pointJournal = new PointJournal(directory.resolve("journal"), 1024, FsyncPolicy.NONE, 0)) {
+            JournaledPointRepository restored = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal,
+                    new PointSnapshotter(pointJournal, directory.resolve("snapshot")));
+
+            // then
+            assertEquals(2, restored.replayedRecords());
+            assertEquals(60L, restored.selectById(1L).point());
+            assertEquals(500L, restored.selectById(2L).point());
+            assertEquals(List.of(100L, 40L), restored.selectHistoriesById(1L).stream().map(history -> history.amount()).toList());
+        }
+    }
+
+    /**
+     * 3. 스냅샷에 반영된 저널 세그먼트를 지운 뒤에도 재시작하면 포인트와 모든 내역을 복원해야 한다.
+     */
+    @Test
+    @DisplayName("스냅샷 이전의 저널을 지워도 포인트와 내역을 복원해야 한다.")
+    void recover_after_journal_truncated() throws IOException {
+        // given - 세그먼트 하나에 레코드 2개가 들어가므로 충전마다 세그먼트가 바뀐다.
+        Path journal = directory.resolve("journal");
+        try (PointJournal pointJournal = new PointJournal(journal, PointJournal.RECORD_SIZE * 2, FsyncPolicy.NONE, 0)) {
+            JournaledPointRepository pointRepository = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+            PointSnapshotter pointSnapshotter = new PointSnapshotter(pointJournal, directory.resolve("snapshot"));
+            for (long amount = 1; amount <= 4; amount++) {
+                pointRepository.insertOrUpdate(1L, amount * 10, List.of(new PointOperation(1L, TransactionType.CHARGE, amount)));
+                pointSnapshotter.take();
+            }
+            pointRepository.insertOrUpdate(1L, 50L, List.of(new PointOperation(1L, TransactionType.CHARGE, 5L)));
+        }
+        long segments;
+        try (Stream<Path> files = Files.list(journal)) {
+            segments = files.count();
+        }
+
+        // when - 빈 저장소로 재시작
+        try (PointJournal pointJournal = new PointJournal(journal, PointJournal.RECORD_SIZE * 2, FsyncPolicy.NONE, 0)) {
+            JournaledPointRepository restored = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal,
+                    new PointSnapshotter(pointJournal, directory.resolve("snapshot")));
+
+            // then
+            assertTrue(segments < 5, "segments=" + segments);
+            assertEquals(50L, restored.selectById(1L).point());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), restored.selectHistoriesById(1L).stream().map(history -> history.amount()).toList());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), restored.selectHistoriesById(1L).stream().map(history -> history.id()).toList());
+        }
+    }
+
+    /**
+     * 4. 스냅샷을 여러 번 저장해도 내역 파일은 늘어나지 않고, 재시작할 때 테이블 지연 없이 모든 내역을 복원해야 한다.
+     */
+    @Test
+    @DisplayName("내역 파일은 쌓이지 않고, 복원은 건마다 테이블 지연을 기다리지 않아야 한다.")
+    void compact_histories_and_restore_in_bulk() throws IOException {
+        // given - 사용자 20명이 한 번씩 충전할 때마다 스냅샷을 저장한다.
+        Path snapshot = directory.resolve("snapshot");
+        try (PointJournal pointJournal = new PointJournal(directory.resolve("journal"), PointJournal.RECORD_SIZE * 4, FsyncPolicy.NONE, 0)) {
+            JournaledPointRepository pointRepository = new JournaledPointRepository(new DelayedPointRepository(0), pointJournal);
+            PointSnapshotter pointSnapshotter = new PointSnapshotter(pointJournal, snapshot);
+            for (long id = 1; id <= 20; id++) {
+                pointRepository.insertOrUpdate(id, id, List.of(new PointOperation(id, TransactionType.CHARGE, id)));
+                pointSnapshotter.take();
+            }
+        }
+        long historyFiles;
+        try (Stream<Path> files = Files.list(snapshot)) {
+            historyFiles = files.filter(file -> file.getFileName().toString().endsWith(".hist")).count();
+        }
+
+        // when - 실제 테이블을 사용하는 저장소로 재시작
+        try (PointJournal pointJournal = new PointJournal(directory.resolve("journal"), PointJournal.RECORD_SIZE * 4, FsyncPolicy.NONE, 0)) {
+            PointRepositoryImpl pointRepositoryImpl = new PointRepositoryImpl();
+            JournaledPointRepository restored = new JournaledPointRepository(pointRepositoryImpl, pointJournal,
+                    new PointSnapshotter(pointJournal, snapshot));
+
+            // then - 테이블에 하나씩 넣었다면 수 초가 걸린다.
+            assertTrue(historyFiles <= 2, "historyFiles=" + historyFiles);
+            assertTrue(restored.recoveryMillis() < 1_000, "recoveryMillis=" + restored.recoveryMillis());
+            for (long id = 1; id <= 20; id++) {
+                assertEquals(id, restored.selectById(id).point());
+                assertEquals(List.of(id), restored.selectHistoriesById(id).stream().map(history -> history.amount()).toList());
+            }
+            // 복원 뒤에 저장한 내역은 복원한 내역 뒤에 이어진다.
+            restored.insertHistory(1L, 5L, TransactionType.USE, 3000L);
+            List<PointHistory> histories = restored.selectHistoriesById(1L);
+            assertEquals(2, histories.size());
+            assertTrue(histories.get(0).id() < histories.get(1).id());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.hhplus.tdd.point.repository.PointShardRing;
+import io.hhplus.tdd.point.repository.ShardedPointRepository;
+import io.hhplus.tdd.point.service.BalanceUpdater;
+import io.hhplus.tdd.point.service.CoalescingBalanceUpdater;
+import io.hhplus.tdd.point.service.LockingBalanceUpdater;
+import io.hhplus.tdd.point.service.OptimisticBalanceUpdater;
+import io.hhplus.tdd.point.service.PointMetrics;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.RingBufferBalanceUpdater;
+import io.hhplus.tdd.point.service.ShardedBalanceUpdater;
+import io.hhplus.tdd.point.service.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointTransferTest {
+
+    private static final int USERS = 10;
+    private static final long INITIAL_POINT = 1_000L;
+    private static final int TRANSFERS = 5_000;
+    private static final int THREADS = 16;
+
+    /**
+     * 1. 사용자 락 전략에서 임의의 동시 이체가 교착 상태 없이 끝나고, 포인트 총합이 보존되어야 한다.
+     */
+    @Test
+    @DisplayName("사용자 락 전략에서 동시 이체는 교착 상태 없이 끝나고 포인트 총합이 보존되어야 한다.")
+    void concurrent_transfers_with_user_lock() throws InterruptedException {
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        assertTransfersConserveTotal(pointRepository, pointMetrics,
+                new LockingBalanceUpdater(pointRepository, new UserLockManager(false), pointMetrics));
+    }
+
+    /**
+     * 2. 낙관적 갱신 전략에서 임의의 동시 이체가 교착 상태 없이 끝나고, 포인트 총합이 보존되어야 한다.
+     */
+    @Test
+    @DisplayName("낙관적 갱신 전략에서 동시 이체는 교착 상태 없이 끝나고 포인트 총합이 보존되어야 한다.")
+    void concurrent_transfers_with_optimistic_update() throws InterruptedException {
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        assertTransfersConserveTotal(pointRepository, pointMetrics,
+                new OptimisticBalanceUpdater(pointRepository, pointMetrics, 100_000));
+    }
+
+    /**
+     * 3. 요청 병합 전략에서 임의의 동시 이체가 충전과 섞여도 교착 상태 없이 끝나고, 포인트 총합이 보존되어야 한다.
+     */
+    @Test
+    @DisplayName("요청 병합 전략에서 동시 이체는 교착 상태 없이 끝나고 포인트 총합이 보존되어야 한다.")
+    void concurrent_transfers_with_coalescing_update() throws InterruptedException {
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        assertTransfersConserveTotal(pointRepository, pointMetrics,
+                new CoalescingBalanceUpdater(pointRepository, new UserLockManager(false), pointMetrics, 256));
+    }
+
+    /**
+     * 4. 샤드 전략에서 서로 다른 샤드의 사용자 사이의 동시 이체가 교착 상태 없이 끝나고, 포인트 총합이 보존되어야 한다.
+     */
+    @Test
+    @DisplayName("샤드 전략에서 동시 이체는 교착 상태 없이 끝나고 포인트 총합이 보존되어야 한다.")
+    void concurrent_transfers_with_sharded_update() throws InterruptedException {
+        PointShardRing ring = new PointShardRing(4);
+        List<PointRepository> shards = new ArrayList<>();
+        for (int i = 0; i < ring.shardCount(); i++) {
+            shards.add(new DelayedPointRepository(0));
+        }
+        ShardedPointRepository pointRepository = new ShardedPointRepository(ring, shards);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        ShardedBalanceUpdater balanceUpdater = new ShardedBalanceUpdater(pointRepository, ring, pointMetrics, 1_000);
+        assertTransfersConserveTotal(pointRepository, pointMetrics, balanceUpdater);
+        balanceUpdater.shutdown();
+    }
+
+    /**
+     * 5. 고리 버퍼 전략에서 임의의 동시 이체가 교착 상태 없이 끝나고, 포인트 총합이 보존되어야 한다.
+     */
+    @Test
+    @DisplayName("고리 버퍼 전략에서 동시 이체는 교착 상태 없이 끝나고 포인트 총합이 보존되어야 한다.")
+    void concurrent_transfers_with_ring_buffer() throws InterruptedException {
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        RingBufferBalanceUpdater balanceUpdater = new RingBufferBalanceUpdater(pointRepository, 64, 16);
+        assertTransfersConserveTotal(pointRepository, pointMetrics, balanceUpdater);
+        balanceUpdater.shutdown();
+    }
+
+    private void assertTransfersConserveTotal(PointRepository pointRepository, PointMetrics pointMetrics,
+                                              BalanceUpdater balanceUpdater) throws InterruptedException {
+        // given
+        PointService pointService = PointService.builder(pointRepository)
+                .balanceUpdater(balanceUpdater)
+                .pointMetrics(pointMetrics)
+                .build();
+        for (long id = 1; id <= USERS; id++) {
+            pointService.chargePoint(id, INITIAL_POINT);
+        }
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+        // when - 임의의 두 사용자 사이에서 양방향으로 이체한다.
+        for (int i = 0; i < TRANSFERS; i++) {
+            executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long fromId = random.nextLong(1, USERS + 1);
+                long toId = (fromId + random.nextLong(0, USERS - 1)) % USERS + 1; // 자기 자신을 제외한 사용자
+                try {
+                    pointService.transferPoint(fromId, toId, random.nextLong(1, 300));
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    insufficient.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+
+        // then - 교착 상태가 생기면 제한 시간 안에 끝나지 않는다.
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES), "이체가 제한 시간 안에 끝나지 않았습니다.");
+        assertEquals(TRANSFERS, succeeded.get() + insufficient.get());
+        if (balanceUpdater instanceof RingBufferBalanceUpdater ringBufferBalanceUpdater) {
+            ringBufferBalanceUpdater.awaitPersisted(); // 잔액을 저장소에 나중에 반영하므로 반영이 끝난 뒤 비교한다.
+        }
+        long total = 0;
+        long storedTotal = 0;
+        for (long id = 1; id <= USERS; id++) {
+            long point = pointService.getPoint(id).point();
+            assertTrue(point >= 0);
+            long historyPoint = 0;
+            for (PointHistory history : pointService.getHistory(id)) {
+                historyPoint += switch (history.type()) {
+                    case CHARGE, TRANSFER_IN -> history.amount();
+                    case USE, TRANSFER_OUT -> -history.amount();
+                };
+            }
+            assertEquals(point, historyPoint); // 내역을 모두 더하면 잔액과 같아야 한다.
+            total += point;
+            storedTotal += pointRepository.selectById(id).point();
+        }
+        assertEquals(USERS * INITIAL_POINT, total);
+        assertEquals(USERS * INITIAL_POINT, storedTotal);
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointLeaderboard;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.repository.PrimitivePointRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitivePointRepositoryTest {
+
+    /**
+     * 1. 저장한 잔액은 그대로 조회되고, 저장된 적 없는 사용자는 잔액 0 으로 조회되며, 내역은 내역 저장소에 저장되어야 한다.
+     */
+    @Test
+    @DisplayName("저장한 잔액은 그대로 조회되고 저장된 적 없는 사용자는 잔액 0 으로 조회되어야 한다.")
+    void store_and_select_balance() {
+        // given
+        PointRepositoryImpl historyRepository = new PointRepositoryImpl();
+        PrimitivePointRepository pointRepository = new PrimitivePointRepository(historyRepository);
+
+        // when
+        UserPoint stored = pointRepository.insertOrUpdate(1L, 100);
+        pointRepository.insertOrUpdatePair(2L, 200, 3L, 300);
+        pointRepository.insertHistory(1L, 100, TransactionType.CHARGE, stored.updateMillis());
+
+        // then
+        assertEquals(stored, pointRepository.selectById(1L));
+        assertEquals(200, pointRepository.selectById(2L).point());
+        assertEquals(300, pointRepository.selectById(3L).point());
+        assertEquals(0, pointRepository.selectById(4L).point());
+        assertEquals(3, pointRepository.size());
+        assertEquals(1, pointRepository.selectHistoriesById(1L).size());
+        assertEquals(1, historyRepository.selectHistoriesById(1L).size());
+    }
+
+    /**
+     * 2. 잔액을 여러 번 덮어써도 상위 사용자와 순위는 같은 잔액을 반영한 순위 색인(PointLeaderboard)의 결과와 같아야 한다.
+     */
+    @Test
+    @DisplayName("잔액을 덮어써도 상위 사용자와 순위는 순위 색인의 결과와 같아야 한다.")
+    void rank_like_leaderboard() {
+        // given - 잔액이 겹치도록 좁은 범위에서 고른다.
+        PrimitivePointRepository pointRepository = new PrimitivePointRepository(new PointRepositoryImpl());
+        PointLeaderboard pointLeaderboard = new PointLeaderboard();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(2_000);
+            long point = random.nextInt(100);
+            if (i % 2 == 0) {
+                pointRepository.insertOrUpdate(id, point);
+                pointLeaderboard.update(id, point);
+            } else {
+                pointRepository.insertOrUpdatePair(id, point, id + 2_000, point + 1);
+                pointLeaderboard.update(id, point);
+                pointLeaderboard.update(id + 2_000, point + 1);
+            }
+        }
+
+        // when & then
+        assertEquals(pointLeaderboard.top(100), pointRepository.selectTopByPoint(100));
+        assertEquals(pointLeaderboard.top(5_000), pointRepository.selectTopByPoint(5_000));
+        for (long id = 0; id < 4_100; id += 7) {
+            assertEquals(pointLeaderboard.rank(id), pointRepository.selectRankById(id));
+            assertEquals(pointLeaderboard.countAhead(50, id), pointRepository.countAhead(50, id));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.RingBufferBalanceUpdater;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferBalanceUpdaterTest {
+
+    /**
+     * 1. 버퍼보다 많은 동시 충전도 모두 작성 스레드에서 반영되고, 내역은 커밋 순서로 쌓이며, 잔액은 저장소에 반영되어야 한다.
+     */
+    @Test
+    @DisplayName("버퍼보다 많은 동시 충전도 작성 스레드에서 모두 반영되고 저장소에 반영되어야 한다.")
+    void charge_concurrently_through_ring_buffer() throws InterruptedException {
+        // given - 버퍼를 작게 만들어 칸이 여러 바퀴 재사용되도록 한다.
+        DelayedPointRepository pointRepository = new DelayedPointRepository(1, 0);
+        RingBufferBalanceUpdater balanceUpdater = new RingBufferBalanceUpdater(pointRepository, 8, 4);
+        PointService pointService = PointService.builder(pointRepository)
+                .balanceUpdater(balanceUpdater)
+                .build();
+        int users = 20;
+        int chargesPerUser = 50;
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Map<Long, Set<Long>> committedPoints = new ConcurrentHashMap<>(); // 사용자별 충전 직후 잔액
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+
+        // when
+        for (int i = 1; i <= chargesPerUser; i++) {
+            long amount = i;
+            for (long id = 1; id <= users; id++) {
+                long userId = id;
+                executorService.submit(() -> {
+                    long charged = pointService.chargePoint(userId, amount).point();
+                    committedPoints.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(charged);
+                    balanceUpdater.update(userId, point -> point, userPoint -> threadNames.add(Thread.currentThread().getName()));
+                });
+            }
+        }
+        executorService.shutdown();
+
+        // then
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        balanceUpdater.awaitPersisted();
+        long expected = (long) chargesPerUser * (chargesPerUser + 1) / 2;
+        for (long id = 1; id <= users; id++) {
+            assertEquals(expected, pointService.getPoint(id).point());
+            assertEquals(expected, pointRepository.selectById(id).point());
+            // 내역을 순서대로 더한 잔액이 충전 직후 잔액과 같은 순서여야 한다.
+            List<Long> balances = new ArrayList<>();
+            long balance = 0;
+            for (PointHistory history : pointService.getHistory(id)) {
+                balance += history.amount();
+                balances.add(balance);
+            }
+            assertEquals(committedPoints.get(id).stream().sorted().toList(), balances);
+        }
+        assertEquals(Set.of("point-ring-writer"), threadNames);
+        balanceUpdater.shutdown();
+    }
+
+    /**
+     * 2. 계산식이 실패하면 잔액은 바뀌지 않고 요청 스레드에 같은 예외가 전달되어야 한다.
+     */
+    @Test
+    @DisplayName("계산식이 실패하면 잔액은 바뀌지 않고 요청 스레드에 예외가 전달되어야 한다.")
+    void propagate_calculation_failure() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        pointRepository.insertOrUpdate(1L, 100);
+        RingBufferBalanceUpdater balanceUpdater = new RingBufferBalanceUpdater(pointRepository, 4, 4);
+        PointService pointService = PointService.builder(pointRepository)
+                .balanceUpdater(balanceUpdater)
+                .build();
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(1L, 500));
+        IllegalArgumentException transferException = assertThrows(IllegalArgumentException.class,
+                () -> pointService.transferPoint(1L, 2L, 500));
+
+        // then
+        assertEquals("포인트가 부족합니다.", exception.getMessage());
+        assertEquals("포인트가 부족합니다.", transferException.getMessage());
+        assertEquals(100, pointService.getPoint(1L).point());
+        assertEquals(0, pointService.getPoint(2L).point());
+        assertTrue(pointService.getHistory(1L).isEmpty());
+        balanceUpdater.shutdown();
+    }
+
+    /**
+     * 3. 저장에 실패한 잔액은 버리지 않고 성공할 때까지 다시 저장해야 하며, 그동안 awaitPersisted 는 실패를 알려야 한다.
+     */
+    @Test
+    @DisplayName("저장에 실패한 잔액은 성공할 때까지 다시 저장해야 한다.")
+    void retry_failed_persist() throws InterruptedException {
+        // given - 복구되기 전까지 저장이 실패하는 저장소
+        AtomicBoolean unavailable = new AtomicBoolean(true);
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0) {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (unavailable.get()) {
+                    throw new IllegalStateException("저장소에 연결할 수 없습니다.");
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        RingBufferBalanceUpdater balanceUpdater = new RingBufferBalanceUpdater(pointRepository, 4, 4);
+
+        // when - 저장이 실패하는 동안 기다리면 실패를 알리고, 저장소가 복구되면 다시 저장한다.
+        balanceUpdater.update(1L, point -> point + 150, userPoint -> { });
+        IllegalStateException failure = assertThrows(IllegalStateException.class, balanceUpdater::awaitPersisted);
+        unavailable.set(false);
+        for (int attempt = 0; ; attempt++) { // 다시 저장할 차례가 올 때까지는 이전 실패를 알린다.
+            try {
+                balanceUpdater.awaitPersisted();
+                break;
+            } catch (IllegalStateException e) {
+                if (attempt == 300) {
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+
+        // then
+        assertEquals("저장소에 연결할 수 없습니다.", failure.getCause().getMessage());
+        assertEquals(150, pointRepository.selectById(1L).point());
+        balanceUpdater.shutdown();
+    }
+
+    /**
+     * 4. 저널을 켠 채로는 생성할 수 없어야 한다.
+     */
+    @Test
+    @DisplayName("저널을 켜면 ring 모드를 사용할 수 없어야 한다.")
+    void reject_when_journal_enabled() {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> new RingBufferBalanceUpdater(pointRepository, 4, 4, true));
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointRank;
+import io.hhplus.tdd.point.repository.PointRepository;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.repository.PointShardRing;
+import io.hhplus.tdd.point.repository.ShardedPointRepository;
+import io.hhplus.tdd.point.service.PointMetrics;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.ShardedBalanceUpdater;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedBalanceUpdaterTest {
+
+    private static final int SHARDS = 4;
+
+    /**
+     * 1. 여러 샤드에 나뉜 사용자의 동시 충전은 각 샤드의 스레드에서 모두 반영되고, 사용자가 배정된 샤드의 저장소에만 저장되어야 한다.
+     */
+    @Test
+    @DisplayName("여러 샤드에 나뉜 사용자의 동시 충전은 샤드 스레드에서 모두 반영되어야 한다.")
+    void charge_users_across_shards_concurrently() throws InterruptedException {
+        // given
+        PointShardRing ring = new PointShardRing(SHARDS);
+        List<PointRepository> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new DelayedPointRepository(1, 0));
+        }
+        ShardedPointRepository pointRepository = new ShardedPointRepository(ring, shards);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        ShardedBalanceUpdater balanceUpdater = new ShardedBalanceUpdater(pointRepository, ring, pointMetrics, 1_000);
+        PointService pointService = PointService.builder(pointRepository)
+                .balanceUpdater(balanceUpdater)
+                .pointMetrics(pointMetrics)
+                .build();
+        int users = 40;
+        int chargesPerUser = 10;
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+
+        // when
+        for (int i = 0; i < chargesPerUser; i++) {
+            for (long id = 1; id <= users; id++) {
+                long userId = id;
+                executorService.submit(() -> {
+                    pointService.chargePoint(userId, 1);
+                    balanceUpdater.update(userId, point -> point, userPoint -> threadNames.add(Thread.currentThread().getName()));
+                });
+            }
+        }
+        executorService.shutdown();
+
+        // then
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        for (long id = 1; id <= users; id++) {
+            assertEquals(chargesPerUser, pointService.getPoint(id).point());
+            assertEquals(chargesPerUser, pointRepository.shard(id).selectById(id).point());
+            assertEquals(chargesPerUser, pointService.getHistory(id).size());
+        }
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("point-shard-")), "샤드 스레드 밖에서 갱신되었습니다. " + threadNames);
+        balanceUpdater.shutdown();
+    }
+
+    /**
+     * 2. 상위 사용자와 사용자 순위는 모든 샤드의 순위를 합쳐 계산해야 한다.
+     */
+    @Test
+    @DisplayName("상위 사용자와 사용자 순위는 모든 샤드의 순위를 합쳐 계산해야 한다.")
+    void merge_ranks_across_shards() {
+        // given
+        PointShardRing ring = new PointShardRing(SHARDS);
+        List<PointRepository> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new PointRepositoryImpl());
+        }
+        ShardedPointRepository pointRepository = new ShardedPointRepository(ring, shards);
+        long[] points = {0, 500, 300, 900, 300, 100}; // 사용자 1~5 의 잔액
+        for (long id = 1; id < points.length; id++) {
+            pointRepository.insertOrUpdate(id, points[(int) id]);
+        }
+
+        // when
+        List<PointRank> top = pointRepository.selectTopByPoint(3);
+        PointRank rank = pointRepository.selectRankById(4L);
+
+        // then
+        assertEquals(List.of(new PointRank(1, 3L, 900L), new PointRank(2, 1L, 500L), new PointRank(3, 2L, 300L)), top);
+        assertEquals(new PointRank(4, 4L, 300L), rank);
+    }
+}
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.repository.UserBalanceMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBalanceMapTest {
+
+    /**
+     * 1. 임의의 저장과 제거를 반복해도 HashMap 과 같은 결과를 가져야 한다. (배열 확장, 빈 칸 키 값의 ID 포함)
+     */
+    @Test
+    @DisplayName("임의의 저장과 제거를 반복해도 HashMap 과 같은 결과를 가져야 한다.")
+    void behave_like_hash_map() {
+        // given
+        UserBalanceMap userBalanceMap = new UserBalanceMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // when - 좁은 ID 범위에서 저장과 제거를 섞어 충돌과 당겨 채우기가 자주 일어나도록 한다.
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(10) == 0 ? Long.MIN_VALUE : random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id) != null, userBalanceMap.remove(id));
+            } else {
+                long point = random.nextLong(1_000_000);
+                expected.put(id, point);
+                int index = userBalanceMap.put(id, point, i);
+                assertEquals(id, userBalanceMap.id(index));
+            }
+        }
+
+        // then
+        assertEquals(expected.size(), userBalanceMap.size());
+        for (long id = 0; id < 5_000; id++) {
+            int index = userBalanceMap.indexOf(id);
+            assertEquals(expected.containsKey(id), index >= 0);
+            if (index >= 0) {
+                assertEquals(expected.get(id).longValue(), userBalanceMap.point(index));
+            }
+        }
+        int minIndex = userBalanceMap.indexOf(Long.MIN_VALUE);
+        assertEquals(expected.get(Long.MIN_VALUE), minIndex < 0 ? null : userBalanceMap.point(minIndex));
+    }
+}
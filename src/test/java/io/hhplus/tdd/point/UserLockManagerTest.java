@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.Deadline;
+import io.hhplus.tdd.point.domain.DeadlineExceededException;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UserLockManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLockManagerTest {
+
+    /**
+     * 1. 같은 사용자에 대한 동시 충전은 순차적으로 처리되어 모두 반영되어야 한다.
+     */
+    @Test
+    @DisplayName("같은 사용자에 대한 동시 충전은 모두 반영되어야 한다.")
+    void same_user_charge_concurrently() throws InterruptedException {
+        // given
+        DelayedPointRepository pointRepository = new DelayedPointRepository(0);
+        PointService pointService = PointService.builder(pointRepository)
+                .userLockManager(new UserLockManager(true))
+                .build();
+        int numberOfThreads = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+        // when
+        for (int i = 0; i < numberOfThreads; i++) {
+            executorService.submit(() -> pointService.chargePoint(1L, 1));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(numberOfThreads, pointService.getPoint(1L).point());
+    }
+
+    /**
+     * 2. 서로 다른 사용자의 요청은 병렬로 처리되어 사용자 수만큼 처리량이 늘어나야 한다.
+     * 실제 테이블을 사용하는 PointRepositoryImpl 로 측정해, 저장소의 테이블 락도 사용자 사이의 요청을 직렬화하지 않는지 확인한다.
+     */
+    @Test
+    @DisplayName("서로 다른 사용자의 요청은 병렬로 처리되어야 한다.")
+    void distinct_users_scale_throughput() throws InterruptedException {
+        // given
+        int numberOfRequests = PointRepositoryImpl.DEFAULT_STRIPES;
+
+        // when
+        long sameUserMillis = measure(numberOfRequests, i -> 1L);
+        long distinctUserMillis = measure(numberOfRequests, i -> i + 1);
+
+        // then - 같은 사용자는 요청 수만큼 직렬로 처리되므로 서로 다른 사용자보다 최소 몇 배는 느려야 한다.
+        assertTrue(distinctUserMillis * 3 < sameUserMillis,
+                "distinct=" + distinctUserMillis + "ms, same=" + sameUserMillis + "ms");
+    }
+
+    /**
+     * 3. 작업이 끝난 사용자 락은 레지스트리에서 제거되어야 한다.
+     */
+    @Test
+    @DisplayName("작업이 끝난 사용자 락은 제거되어야 한다.")
+    void idle_lock_is_evicted() {
+        // given
+        UserLockManager userLockManager = new UserLockManager(false);
+
+        // when
+        userLockManager.executeWithLock(1L, () -> {
+            assertEquals(1, userLockManager.activeLockCount());
+            return null;
+        });
+
+        // then
+        assertEquals(0, userLockManager.activeLockCount());
+    }
+
+    /**
+     * 4. 요청 기한 안에 락을 얻지 못하면 기다리지 않고 실패하고, 사용자 락은 정리되어야 한다.
+     */
+    @Test
+    @DisplayName("요청 기한 안에 락을 얻지 못하면 DeadlineExceededException 이 발생해야 한다.")
+    void lock_wait_fails_when_deadline_exceeded() throws InterruptedException {
+        // given - 다른 스레드가 락을 잡고 있다.
+        UserLockManager userLockManager = new UserLockManager(false);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> userLockManager.executeWithLock(1L, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        locked.await();
+
+        // when
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> Deadline.after(50, TimeUnit.MILLISECONDS)
+                .run(() -> userLockManager.executeWithLock(1L, () -> null)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        holder.join();
+
+        // then
+        assertTrue(elapsedMillis < 1_000);
+        assertEquals(0, userLockManager.waitingCount());
+        assertEquals(0, userLockManager.activeLockCount());
+    }
+
+    /**
+     * 5. 일괄 처리의 사용자 묶음은 실행기 스레드에서도 요청 기한을 지켜, 기한이 지나면 락을 기다리지 않고 실패로 기록되어야 한다.
+     */
+    @Test
+    @DisplayName("일괄 처리도 요청 기한 안에 락을 얻지 못하면 실패로 기록되어야 한다.")
+    void batch_group_inherits_deadline() throws InterruptedException {
+        // given - 다른 스레드가 사용자 1의 락을 잡고 있다.
+        UserLockManager userLockManager = new UserLockManager(false);
+        PointService pointService = PointService.builder(new DelayedPointRepository(0))
+                .userLockManager(userLockManager)
+                .build();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> userLockManager.executeWithLock(1L, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        locked.await();
+
+        // when
+        long start = System.nanoTime();
+        List<PointOperationResult> results = Deadline.after(50, TimeUnit.MILLISECONDS)
+                .run(() -> pointService.applyBatch(List.of(new PointOperation(1L, TransactionType.CHARGE, 100L))));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        holder.join();
+
+        // then
+        assertTrue(elapsedMillis < 1_000, "elapsed=" + elapsedMillis + "ms");
+        assertFalse(results.get(0).success());
+        assertEquals(new DeadlineExceededException().getMessage(), results.get(0).message());
+        pointService.close();
+    }
+
+    private long measure(int numberOfRequests, LongUnaryOperator userIdOf) throws InterruptedException {
+        PointRepositoryImpl pointRepository = new PointRepositoryImpl();
+        PointService pointService = PointService.builder(pointRepository).build();
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfRequests);
+        long start = System.nanoTime();
+        for (int i = 0; i < numberOfRequests; i++) {
+            long id = userIdOf.applyAsLong(i);
+            executorService.submit(() -> pointService.chargePoint(id, 1));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
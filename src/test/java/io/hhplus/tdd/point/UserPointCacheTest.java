@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointRepositoryImpl;
+import io.hhplus.tdd.point.repository.UserPointCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPointCacheTest {
+
+    /**
+     * 1. 최대 크기를 넘으면 가장 오래 사용되지 않은 사용자부터 제거한다.
+     */
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 사용자부터 제거한다.")
+    void evict_least_recently_used() {
+        // given
+        UserPointCache userPointCache = new UserPointCache(2);
+        userPointCache.put(new UserPoint(1L, 100, 1L));
+        userPointCache.put(new UserPoint(2L, 200, 1L));
+        userPointCache.get(1L); // 1번 사용자를 최근 사용으로 만든다.
+
+        // when
+        userPointCache.put(new UserPoint(3L, 300, 1L));
+
+        // then
+        assertNotNull(userPointCache.get(1L));
+        assertNull(userPointCache.get(2L));
+        assertNotNull(userPointCache.get(3L));
+        assertEquals(1, userPointCache.evictionCount());
+        assertEquals(3, userPointCache.hitCount());
+        assertEquals(1, userPointCache.missCount());
+    }
+
+    /**
+     * 2. 조회한 값은 이미 저장된 최신 값을 덮어쓰지 않는다.
+     */
+    @Test
+    @DisplayName("조회한 값은 이미 저장된 최신 값을 덮어쓰지 않는다.")
+    void putIfAbsent_keeps_written_value() {
+        // given
+        UserPointCache userPointCache = new UserPointCache(10);
+        userPointCache.put(new UserPoint(1L, 500, 2L));
+
+        // when
+        userPointCache.putIfAbsent(new UserPoint(1L, 0, 1L));
+
+        // then
+        assertEquals(500, userPointCache.get(1L).point());
+    }
+
+    /**
+     * 3. 저장한 포인트는 테이블을 거치지 않고 캐시에서 바로 조회된다.
+     */
+    @Test
+    @DisplayName("저장한 포인트는 테이블을 거치지 않고 캐시에서 바로 조회된다.")
+    void repository_reads_through_cache() {
+        // given
+        PointRepositoryImpl pointRepository = new PointRepositoryImpl(10);
+        pointRepository.insertOrUpdate(1L, 1000);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1000, pointRepository.selectById(1L).point());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then - 테이블을 거쳤다면 100번 조회에 수 초가 걸린다.
+        assertTrue(elapsedMillis < 100, "elapsed=" + elapsedMillis + "ms");
+        assertEquals(100, pointRepository.getUserPointCache().hitCount());
+    }
+
+    /**
+     * 4. 최대 크기가 0이면 캐시를 사용하지 않는다.
+     */
+    @Test
+    @DisplayName("최대 크기가 0이면 캐시를 사용하지 않는다.")
+    void disabled_cache_stores_nothing() {
+        // given
+        UserPointCache userPointCache = new UserPointCache(0);
+
+        // when
+        userPointCache.put(new UserPoint(1L, 100, 1L));
+
+        // then
+        assertNull(userPointCache.get(1L));
+        assertEquals(0, userPointCache.size());
+    }
+}
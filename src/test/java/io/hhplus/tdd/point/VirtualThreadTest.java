@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.service.PointService;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadTest {
+
+    private static final int TOMCAT_THREADS = 20; // 플랫폼 스레드 모드에서 요청 처리 스레드 수를 줄여 차이를 빠르게 확인한다.
+    private static final int CONCURRENT_REQUESTS = 200;
+
+    /**
+     * 1. 가상 스레드에서 포인트 충전/내역 조회를 해도 캐리어 스레드가 점유(pinning)되지 않아야 한다.
+     */
+    @Test
+    @DisplayName("가상 스레드에서 포인트 충전/내역 조회를 해도 캐리어 스레드가 점유되지 않아야 한다.")
+    void point_operations_do_not_pin_carrier_threads() throws InterruptedException {
+        // given
+        AtomicInteger pinnedEvents = new AtomicInteger();
+        try (PointService pointService = PointService.builder(new DelayedPointRepository(5)).build();
+             RecordingStream recordingStream = new RecordingStream()) {
+            recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recordingStream.onEvent("jdk.VirtualThreadPinned", event -> pinnedEvents.incrementAndGet());
+            recordingStream.startAsync();
+
+            // when - 10명의 사용자에 요청을 몰아 락 대기와 내역 저장 대기가 함께 생기도록 한다.
+            try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 100; i++) {
+                    long id = i % 10;
+                    executorService.submit(() -> {
+                        pointService.chargePoint(id, 1);
+                        pointService.getHistory(id);
+                    });
+                }
+            }
+            recordingStream.stop();
+        }
+
+        // then
+        assertEquals(0, pinnedEvents.get());
+    }
+
+    /**
+     * 2. 요청 처리 스레드 수보다 많은 동시 요청은 가상 스레드 모드에서 더 빨리 처리되어야 한다.
+     */
+    @Test
+    @DisplayName("요청 처리 스레드 수보다 많은 동시 요청은 가상 스레드 모드에서 더 빨리 처리되어야 한다.")
+    void virtual_threads_serve_more_concurrent_requests() {
+        // when
+        long platformMillis = measureConcurrentRequests(false);
+        long virtualMillis = measureConcurrentRequests(true);
+
+        // then - 플랫폼 스레드 모드는 20개씩 나누어 처리하므로 가상 스레드 모드보다 몇 배 느려야 한다.
+        assertTrue(virtualMillis * 2 < platformMillis,
+                "virtual=" + virtualMillis + "ms, platform=" + platformMillis + "ms");
+    }
+
+    private long measureConcurrentRequests(boolean virtualThreads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "point.cache.max-size=0") // 모든 조회가 테이블 지연을 거치도록 캐시를 끈다.
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            httpClient.sendAsync(request(port, 0), HttpResponse.BodyHandlers.discarding()).join(); // DispatcherServlet 초기화
+
+            long start = System.nanoTime();
+            CompletableFuture.allOf(IntStream.range(0, CONCURRENT_REQUESTS)
+                    .mapToObj(i -> httpClient.sendAsync(request(port, i), HttpResponse.BodyHandlers.discarding()))
+                    .toArray(CompletableFuture[]::new)).join();
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    private HttpRequest request(int port, long id) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + id)).GET().build();
+    }
+}